@@ -0,0 +1,8 @@
+-- Entities now draw ids from their sequences in blocks of 50 (pooled optimizer)
+-- instead of relying on the serial column default, so Hibernate can batch inserts.
+-- The sequence increment must match allocationSize in the entity mappings.
+
+alter sequence users_id_seq increment by 50;
+alter sequence locations_id_seq increment by 50;
+alter sequence events_id_seq increment by 50;
+alter sequence tickets_id_seq increment by 50;
@@ -0,0 +1,31 @@
+-- A purchase is now stored as one ticket row carrying a quantity
+-- instead of one identical row per admission.
+-- Existing rows of the same user, event and price are collapsed into the row with the lowest id.
+
+begin;
+
+alter table tickets
+    add column quantity integer default 1 not null
+        check (quantity > 0);
+
+with line_items as (
+    select min(id) as id, count(*) as quantity
+    from tickets
+    group by user_id, event_id, purchase_price
+)
+update tickets t
+set quantity = l.quantity
+from line_items l
+where t.id = l.id;
+
+delete from tickets t
+where exists (
+    select 1
+    from tickets k
+    where k.user_id = t.user_id
+      and k.event_id = t.event_id
+      and k.purchase_price = t.purchase_price
+      and k.id < t.id
+);
+
+commit;
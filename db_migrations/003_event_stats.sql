@@ -0,0 +1,36 @@
+-- Per-event sales rollups, kept up to date incrementally by the application.
+-- Existing events are backfilled from their tickets and wishlists;
+-- refunds made before this migration are not known and start at zero.
+
+begin;
+
+create table event_stats
+(
+    event_id        integer                  not null
+        primary key
+        references events
+            on delete cascade,
+    tickets_sold    bigint         default 0 not null,
+    gross_revenue   numeric(14, 2) default 0 not null,
+    refunds         bigint         default 0 not null,
+    refunded_amount numeric(14, 2) default 0 not null,
+    wishlist_count  bigint         default 0 not null
+);
+
+alter table event_stats
+    owner to postgres;
+
+insert into event_stats (event_id, tickets_sold, gross_revenue, wishlist_count)
+select e.id,
+       coalesce(t.tickets_sold, 0),
+       coalesce(t.gross_revenue, 0),
+       coalesce(w.wishlist_count, 0)
+from events e
+         left join (select event_id, sum(quantity) as tickets_sold, sum(purchase_price * quantity) as gross_revenue
+                    from tickets
+                    group by event_id) t on t.event_id = e.id
+         left join (select event_id, count(*) as wishlist_count
+                    from wishlist
+                    group by event_id) w on w.event_id = e.id;
+
+commit;
@@ -0,0 +1,22 @@
+-- Hourly purchase and refund totals per event, compacted by the application
+-- from its in-memory per-minute sales timeline.
+
+begin;
+
+create table event_sales_hourly
+(
+    event_id        integer                  not null
+        references events
+            on delete cascade,
+    hour_start      timestamp with time zone not null,
+    purchases       bigint         default 0 not null,
+    revenue         numeric(14, 2) default 0 not null,
+    refunds         bigint         default 0 not null,
+    refunded_amount numeric(14, 2) default 0 not null,
+    primary key (event_id, hour_start)
+);
+
+alter table event_sales_hourly
+    owner to postgres;
+
+commit;
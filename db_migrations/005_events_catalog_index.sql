@@ -0,0 +1,6 @@
+-- Index backing the keyset-paginated event catalog, which reads events ordered by date then id
+-- and resumes right after the last (event_date, id) pair it returned.
+-- Built concurrently so that events stay writable, which cannot run inside a transaction block.
+
+create index concurrently if not exists idx_events_event_date_id
+    on events (event_date, id);
@@ -0,0 +1,19 @@
+-- Composite indexes backing the event search. Every search is ordered by date then id,
+-- so each index leads with an equality-filtered column and ends with (event_date, id):
+-- the planner reads the matching events already in order and stops after one page.
+-- Searches filtering only on dates, prices or availability use idx_events_event_date_id from migration 005.
+-- Built concurrently so that events stay writable, which cannot run inside a transaction block.
+
+create index concurrently if not exists idx_events_type_date_id
+    on events (event_type, event_date, id);
+
+create index concurrently if not exists idx_events_location_date_id
+    on events (location_id, event_date, id);
+
+create index concurrently if not exists idx_events_organizer_date_id
+    on events (organizer_id, event_date, id);
+
+-- Only a small share of events is on sale at any time.
+create index concurrently if not exists idx_events_on_sale_date_id
+    on events (event_date, id)
+    where on_sale > 0;
@@ -0,0 +1,6 @@
+-- Events now last for a number of minutes, so that a location cannot be booked by two events at once.
+-- Existing events get the default of two hours.
+
+alter table events
+    add column duration_minutes integer default 120 not null
+        check (duration_minutes > 0);
@@ -0,0 +1,64 @@
+-- Cold storage for events that are over, together with their tickets.
+-- The application moves events some days past their date out of events and tickets in small chunks,
+-- so the catalog, search and ticket queries only ever read current data.
+-- Archived events keep their sales totals; their wishlists and hourly sales are dropped with them.
+-- location_id is not a foreign key: a location may be deleted long after its events are archived.
+
+begin;
+
+create table events_archive
+(
+    id                integer                                   not null
+        primary key,
+    name              varchar(255)                              not null,
+    event_type        varchar(100)                              not null,
+    event_date        date                                      not null,
+    event_time        time,
+    location_id       integer,
+    tickets_available integer                                   not null,
+    price             numeric(10, 2)                            not null,
+    organizer_id      integer                                   not null
+        references users
+            on delete cascade,
+    on_sale           integer                                   not null,
+    duration_minutes  integer                                   not null,
+    tickets_sold      bigint                   default 0        not null,
+    gross_revenue     numeric(14, 2)           default 0        not null,
+    refunds           bigint                   default 0        not null,
+    refunded_amount   numeric(14, 2)           default 0        not null,
+    archived_at       timestamp with time zone default now()    not null
+);
+
+alter table events_archive
+    owner to postgres;
+
+create index idx_events_archive_event_date_id
+    on events_archive (event_date, id);
+
+create index idx_events_archive_organizer_date_id
+    on events_archive (organizer_id, event_date, id);
+
+create table tickets_archive
+(
+    id             integer        not null
+        primary key,
+    user_id        integer        not null
+        references users
+            on delete cascade,
+    event_id       integer        not null
+        references events_archive
+            on delete cascade,
+    purchase_price numeric(10, 2) not null,
+    quantity       integer        not null
+);
+
+alter table tickets_archive
+    owner to postgres;
+
+create index idx_tickets_archive_event_id
+    on tickets_archive (event_id);
+
+create index idx_tickets_archive_user_id
+    on tickets_archive (user_id);
+
+commit;
@@ -0,0 +1,5 @@
+-- The archival job copies and deletes the tickets of a chunk of events at a time by event id.
+-- Built concurrently so that tickets stay writable, which cannot run inside a transaction block.
+
+create index concurrently if not exists idx_tickets_event_id
+    on tickets (event_id);
@@ -0,0 +1,29 @@
+-- Ticket holds were only kept in memory, so the tickets of the holds outstanding when the application
+-- crashed were never given back. Holds are now stored, in the same transaction as their reservation,
+-- and the application releases the expired ones at startup.
+
+begin;
+
+create table ticket_holds
+(
+    id             varchar(36)              not null
+        primary key,
+    user_id        integer                  not null
+        references users
+            on delete cascade,
+    event_id       integer                  not null
+        references events
+            on delete cascade,
+    quantity       integer                  not null
+        check (quantity > 0),
+    purchase_price numeric(10, 2)           not null,
+    expires_at     timestamp with time zone not null
+);
+
+alter table ticket_holds
+    owner to postgres;
+
+create index idx_ticket_holds_event_id
+    on ticket_holds (event_id);
+
+commit;
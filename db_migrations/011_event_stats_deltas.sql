@@ -0,0 +1,26 @@
+-- Stats deltas were kept in memory until the next flush, so the changes of the last second before a crash
+-- never reached event_stats. Each purchase, refund and wishlist change now appends its delta here,
+-- inside the transaction of the change it records, so it commits or rolls back with that change,
+-- and the application folds the deltas into event_stats and deletes them in one statement.
+-- Rows are not tied to events by a foreign key, so appending a delta never waits on the event row;
+-- the deltas of deleted events are dropped when they are folded.
+
+begin;
+
+create table event_stats_deltas
+(
+    event_id        integer                  not null,
+    tickets_sold    bigint         default 0 not null,
+    gross_revenue   numeric(14, 2) default 0 not null,
+    refunds         bigint         default 0 not null,
+    refunded_amount numeric(14, 2) default 0 not null,
+    wishlist_count  bigint         default 0 not null
+);
+
+alter table event_stats_deltas
+    owner to postgres;
+
+create index idx_event_stats_deltas_event_id
+    on event_stats_deltas (event_id);
+
+commit;
@@ -48,12 +48,30 @@ create table events
             on delete cascade,
     on_sale           integer default 0 not null
         constraint chk_on_sale
-            check ((on_sale >= 0) AND (on_sale <= 100))
+            check ((on_sale >= 0) AND (on_sale <= 100)),
+    duration_minutes  integer default 120 not null
+        check (duration_minutes > 0)
 );
 
 alter table events
     owner to postgres;
 
+create index idx_events_event_date_id
+    on events (event_date, id);
+
+create index idx_events_type_date_id
+    on events (event_type, event_date, id);
+
+create index idx_events_location_date_id
+    on events (location_id, event_date, id);
+
+create index idx_events_organizer_date_id
+    on events (organizer_id, event_date, id);
+
+create index idx_events_on_sale_date_id
+    on events (event_date, id)
+    where on_sale > 0;
+
 create table tickets
 (
     id             serial
@@ -64,12 +82,17 @@ create table tickets
     event_id       integer        not null
         references events
             on delete cascade,
-    purchase_price numeric(10, 2) not null
+    purchase_price numeric(10, 2) not null,
+    quantity       integer default 1 not null
+        check (quantity > 0)
 );
 
 alter table tickets
     owner to postgres;
 
+create index idx_tickets_event_id
+    on tickets (event_id);
+
 create table wishlist
 (
     user_id  integer not null
@@ -84,3 +107,133 @@ create table wishlist
 alter table wishlist
     owner to postgres;
 
+create table event_stats
+(
+    event_id        integer                  not null
+        primary key
+        references events
+            on delete cascade,
+    tickets_sold    bigint         default 0 not null,
+    gross_revenue   numeric(14, 2) default 0 not null,
+    refunds         bigint         default 0 not null,
+    refunded_amount numeric(14, 2) default 0 not null,
+    wishlist_count  bigint         default 0 not null
+);
+
+alter table event_stats
+    owner to postgres;
+
+create table event_stats_deltas
+(
+    event_id        integer                  not null,
+    tickets_sold    bigint         default 0 not null,
+    gross_revenue   numeric(14, 2) default 0 not null,
+    refunds         bigint         default 0 not null,
+    refunded_amount numeric(14, 2) default 0 not null,
+    wishlist_count  bigint         default 0 not null
+);
+
+alter table event_stats_deltas
+    owner to postgres;
+
+create index idx_event_stats_deltas_event_id
+    on event_stats_deltas (event_id);
+
+create table event_sales_hourly
+(
+    event_id        integer                  not null
+        references events
+            on delete cascade,
+    hour_start      timestamp with time zone not null,
+    purchases       bigint         default 0 not null,
+    revenue         numeric(14, 2) default 0 not null,
+    refunds         bigint         default 0 not null,
+    refunded_amount numeric(14, 2) default 0 not null,
+    primary key (event_id, hour_start)
+);
+
+alter table event_sales_hourly
+    owner to postgres;
+
+create table ticket_holds
+(
+    id             varchar(36)              not null
+        primary key,
+    user_id        integer                  not null
+        references users
+            on delete cascade,
+    event_id       integer                  not null
+        references events
+            on delete cascade,
+    quantity       integer                  not null
+        check (quantity > 0),
+    purchase_price numeric(10, 2)           not null,
+    expires_at     timestamp with time zone not null
+);
+
+alter table ticket_holds
+    owner to postgres;
+
+create index idx_ticket_holds_event_id
+    on ticket_holds (event_id);
+
+create table events_archive
+(
+    id                integer                                   not null
+        primary key,
+    name              varchar(255)                              not null,
+    event_type        varchar(100)                              not null,
+    event_date        date                                      not null,
+    event_time        time,
+    location_id       integer,
+    tickets_available integer                                   not null,
+    price             numeric(10, 2)                            not null,
+    organizer_id      integer                                   not null
+        references users
+            on delete cascade,
+    on_sale           integer                                   not null,
+    duration_minutes  integer                                   not null,
+    tickets_sold      bigint                   default 0        not null,
+    gross_revenue     numeric(14, 2)           default 0        not null,
+    refunds           bigint                   default 0        not null,
+    refunded_amount   numeric(14, 2)           default 0        not null,
+    archived_at       timestamp with time zone default now()    not null
+);
+
+alter table events_archive
+    owner to postgres;
+
+create index idx_events_archive_event_date_id
+    on events_archive (event_date, id);
+
+create index idx_events_archive_organizer_date_id
+    on events_archive (organizer_id, event_date, id);
+
+create table tickets_archive
+(
+    id             integer        not null
+        primary key,
+    user_id        integer        not null
+        references users
+            on delete cascade,
+    event_id       integer        not null
+        references events_archive
+            on delete cascade,
+    purchase_price numeric(10, 2) not null,
+    quantity       integer        not null
+);
+
+alter table tickets_archive
+    owner to postgres;
+
+create index idx_tickets_archive_event_id
+    on tickets_archive (event_id);
+
+create index idx_tickets_archive_user_id
+    on tickets_archive (user_id);
+
+
+alter sequence users_id_seq increment by 50;
+alter sequence locations_id_seq increment by 50;
+alter sequence events_id_seq increment by 50;
+alter sequence tickets_id_seq increment by 50;
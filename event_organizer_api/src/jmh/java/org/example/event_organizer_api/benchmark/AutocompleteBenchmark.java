@@ -0,0 +1,75 @@
+package org.example.event_organizer_api.benchmark;
+
+import org.example.event_organizer_api.dto.event.EventSuggestionDTO;
+import org.example.event_organizer_api.utilities.TrigramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of autocomplete lookups on an index of generated event names.
+ * Queries range from a single letter, which matches a large share of the events, to a misspelt full word.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.benchmark=org.example.event_organizer_api.benchmark.AutocompleteBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutocompleteBenchmark {
+    private static final String[] WORDS = {
+            "Untold", "Festival", "Rock", "Concert", "Jazz", "Night", "Opera", "Națională", "Symphony", "Orchestra",
+            "Electric", "Castle", "Summer", "Well", "Theatre", "Comedy", "Stand-up", "Gala", "Winter", "Ballet",
+            "Piano", "Recital", "Open", "Air", "Cinema", "Folk", "Techno", "Live", "Tour", "Acoustic"};
+    private static final String[] TYPES = {"Concert", "Festival", "Theatre", "Opera", "Comedy", "Sports", "Conference"};
+
+    @Param({"10000", "100000"})
+    private int events;
+
+    @Param({"c", "con", "rock conc", "simphony"})
+    private String query;
+
+    private final TrigramIndex<EventSuggestionDTO> index = new TrigramIndex<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<EventSuggestionDTO> suggestions = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + (2025 + i % 10);
+            suggestions.add(new EventSuggestionDTO(i, name, TYPES[random.nextInt(TYPES.length)], LocalDate.parse("2030-01-01")));
+        }
+        index.replaceAll(suggestions, EventSuggestionDTO::getId, event -> new String[]{event.getName(), event.getEventType()});
+    }
+
+    @Benchmark
+    public List<EventSuggestionDTO> suggest() {
+        return index.search(query, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AutocompleteBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
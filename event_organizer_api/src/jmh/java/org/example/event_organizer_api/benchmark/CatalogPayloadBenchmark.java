@@ -0,0 +1,145 @@
+package org.example.event_organizer_api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.dto.ticket.TicketSummaryDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
+import org.example.event_organizer_api.entity.Ticket;
+import org.example.event_organizer_api.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON responses built from entities with those built from the summary projections,
+ * for a catalog page of events and for the tickets of a user. Every operation serializes one response.
+ * The size of each response is printed during setup; the GC profiler reports the allocation per response
+ * as gc.alloc.rate.norm, in bytes per operation.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.benchmark=org.example.event_organizer_api.benchmark.CatalogPayloadBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogPayloadBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<Event> events;
+    private List<EventSummaryDTO> eventSummaries;
+    private List<Ticket> tickets;
+    private List<TicketSummaryDTO> ticketSummaries;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        User organizer = new User();
+        organizer.setId(12);
+        organizer.setUsername("electric.castle");
+        organizer.setName("Electric Castle Events");
+        organizer.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z9S1pG7yQ0b4Xh3v5Hk8JcKu");
+        organizer.setUserType("ORGANIZER");
+        organizer.setEmail("contact@electriccastle.example.org");
+
+        User buyer = new User();
+        buyer.setId(89_012);
+        buyer.setUsername("ana.popescu");
+        buyer.setName("Ana-Maria Popescu");
+        buyer.setPassword("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy");
+        buyer.setUserType("USER");
+        buyer.setEmail("ana.popescu@example.org");
+
+        Location location = new Location();
+        location.setId(3);
+        location.setName("Sala Polivalentă, Cluj-Napoca");
+        location.setAddress("Aleea Stadionului 4, Cluj-Napoca 400114, România");
+        location.setCapacity(10_000);
+
+        events = new ArrayList<>(PAGE_SIZE);
+        tickets = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Event event = new Event();
+            event.setId(1_000 + i);
+            event.setName("Untold Festival " + (2030 + i % 5) + ", day " + (i % 4 + 1));
+            event.setEventType("Festival");
+            event.setEventDate(LocalDate.parse("2030-08-01").plusDays(i));
+            event.setEventTime(LocalTime.parse("19:30"));
+            event.setLocation(location);
+            event.setTicketsAvailable(2_500 - i);
+            event.setPrice(new BigDecimal("249.90"));
+            event.setOrganizer(organizer);
+            event.setOnSale(i % 3 == 0 ? 15 : 0);
+            events.add(event);
+
+            Ticket ticket = new Ticket();
+            ticket.setId(1_234_567 + i);
+            ticket.setUser(buyer);
+            ticket.setEvent(event);
+            ticket.setPurchasePrice(new BigDecimal("249.90"));
+            ticket.setQuantity(1);
+            tickets.add(ticket);
+        }
+        eventSummaries = events.stream().map(EventSummaryDTO::from).toList();
+        ticketSummaries = tickets.stream().map(TicketSummaryDTO::from).toList();
+
+        System.out.printf("%nCatalog page of %d events: %d bytes as entities, %d bytes as summaries%n",
+                PAGE_SIZE, entityCatalog().length, summaryCatalog().length);
+        System.out.printf("Tickets of a user, %d tickets: %d bytes as entities, %d bytes as summaries%n",
+                PAGE_SIZE, entityTickets().length, summaryTickets().length);
+    }
+
+    @Benchmark
+    public byte[] entityCatalog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] summaryCatalog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(eventSummaries);
+    }
+
+    @Benchmark
+    public byte[] entityTickets() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tickets);
+    }
+
+    @Benchmark
+    public byte[] summaryTickets() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ticketSummaries);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CatalogPayloadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
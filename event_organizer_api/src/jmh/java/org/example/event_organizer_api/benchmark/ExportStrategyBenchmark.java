@@ -0,0 +1,168 @@
+package org.example.event_organizer_api.benchmark;
+
+import org.example.event_organizer_api.dto.ticket.AttendeeDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
+import org.example.event_organizer_api.entity.Ticket;
+import org.example.event_organizer_api.utilities.CsvExportStrategy;
+import org.example.event_organizer_api.utilities.ExportWriter;
+import org.example.event_organizer_api.utilities.TicketExportStrategy;
+import org.example.event_organizer_api.utilities.TxtExportStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput and the allocation per ticket of the export strategies with the
+ * String.format based implementation they replaced. Every operation exports one ticket or one attendee row.
+ * Run with {@code mvn -Pjmh test-compile exec:exec}; the GC profiler reports the allocation rate
+ * as gc.alloc.rate.norm, in bytes per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExportStrategyBenchmark {
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private final TicketExportStrategy csv = new CsvExportStrategy();
+    private final TicketExportStrategy txt = new TxtExportStrategy();
+    private final ExportWriter writer = new ExportWriter(sink);
+
+    private final LegacyCsvExportStrategy legacyCsv = new LegacyCsvExportStrategy();
+    private final LegacyTxtExportStrategy legacyTxt = new LegacyTxtExportStrategy();
+    private final Writer legacyWriter = new BufferedWriter(new OutputStreamWriter(sink));
+
+    private Ticket ticket;
+    private AttendeeDTO attendee;
+
+    @Setup
+    public void setUp() {
+        Location location = new Location();
+        location.setName("Sala Polivalentă, Cluj-Napoca");
+
+        Event event = new Event();
+        event.setName("Untold Festival 2030");
+        event.setEventDate(LocalDate.parse("2030-08-01"));
+        event.setEventTime(LocalTime.parse("19:30"));
+        event.setLocation(location);
+
+        ticket = new Ticket();
+        ticket.setId(1_234_567);
+        ticket.setEvent(event);
+        ticket.setPurchasePrice(new BigDecimal("249.90"));
+        ticket.setQuantity(2);
+
+        attendee = new AttendeeDTO(1_234_567, 89_012, "Ana-Maria Popescu", "ana.popescu@example.org", 2, new BigDecimal("249.90"));
+    }
+
+    @Benchmark
+    public void legacyCsvTicket() throws IOException {
+        legacyCsv.export(ticket, sink);
+    }
+
+    @Benchmark
+    public void csvTicket() throws IOException {
+        csv.export(ticket, sink);
+    }
+
+    @Benchmark
+    public void csvTicketReusedWriter() throws IOException {
+        csv.writeTicket(ticket, writer);
+    }
+
+    @Benchmark
+    public void legacyTxtTicket() throws IOException {
+        legacyTxt.export(ticket, sink);
+    }
+
+    @Benchmark
+    public void txtTicket() throws IOException {
+        txt.export(ticket, sink);
+    }
+
+    @Benchmark
+    public void txtTicketReusedWriter() throws IOException {
+        txt.writeTicket(ticket, writer);
+    }
+
+    @Benchmark
+    public void legacyCsvAttendee() throws IOException {
+        legacyWriter.write(String.format("%d,%d,%s,%s,%d,%.2f\n",
+                attendee.getTicketId(), attendee.getUserId(), attendee.getName(), attendee.getEmail(),
+                attendee.getQuantity(), attendee.getPurchasePrice()));
+    }
+
+    @Benchmark
+    public void csvAttendee() throws IOException {
+        csv.writeAttendee(attendee, writer);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ExportStrategyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    // The implementations replaced by the ExportWriter based strategies, kept as the baseline.
+    static final class LegacyCsvExportStrategy {
+        void export(Ticket ticket, OutputStream outputStream) throws IOException {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream));
+            writer.write("Event Name,Event Date,Event Time,Location,Purchase Price\n");
+
+            Event event = ticket.getEvent();
+            String line = String.format("%s,%s,%s,%s,%.2f\n",
+                    event.getName(),
+                    event.getEventDate(),
+                    event.getEventTime() != null ? event.getEventTime().toString() : "N/A",
+                    event.getLocation().getName(),
+                    ticket.getPurchasePrice());
+            writer.write(line);
+
+            writer.flush();
+        }
+    }
+
+    static final class LegacyTxtExportStrategy {
+        void export(Ticket ticket, OutputStream outputStream) throws IOException {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream));
+
+            Event event = ticket.getEvent();
+            String block = String.format("Event: %s\nDate: %s\nTime: %s\nLocation: %s\nPurchase Price: %.2f\n\n",
+                    event.getName(),
+                    event.getEventDate(),
+                    event.getEventTime() != null ? event.getEventTime().toString() : "N/A",
+                    event.getLocation().getName(),
+                    ticket.getPurchasePrice());
+            writer.write(block);
+
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.event_organizer_api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.event_organizer_api.dto.admission.AdmissionStatusDTO;
+import org.example.event_organizer_api.security.CustomUserDetails;
+import org.example.event_organizer_api.service.AdmissionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/api/queue")
+@RequiredArgsConstructor
+public class AdmissionController {
+
+    private final AdmissionService admissionService;
+
+    @PutMapping("/{eventId}/open")
+    @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and @eventServiceImpl.isOrganizer(#eventId, authentication.principal.id))")
+    public ResponseEntity<AdmissionStatusDTO> openQueue(@PathVariable Integer eventId, @RequestParam double ratePerSecond) {
+        AdmissionStatusDTO status = admissionService.openQueue(eventId, ratePerSecond);
+        return ResponseEntity.ok(status);
+    }
+
+    @DeleteMapping("/{eventId}")
+    @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and @eventServiceImpl.isOrganizer(#eventId, authentication.principal.id))")
+    public ResponseEntity<Void> closeQueue(@PathVariable Integer eventId) {
+        admissionService.closeQueue(eventId);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/{eventId}/join")
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<AdmissionStatusDTO> joinQueue(@PathVariable Integer eventId, @AuthenticationPrincipal CustomUserDetails user) {
+        AdmissionStatusDTO status = admissionService.joinQueue(eventId, user.getId());
+        return ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/{eventId}/status")
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<AdmissionStatusDTO> getStatus(@PathVariable Integer eventId, @RequestParam String token,
+                                                        @AuthenticationPrincipal CustomUserDetails user) {
+        AdmissionStatusDTO status = admissionService.getStatus(eventId, token, user.getId());
+        return ResponseEntity.ok(status);
+    }
+}
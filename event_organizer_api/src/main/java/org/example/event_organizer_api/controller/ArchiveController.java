@@ -0,0 +1,61 @@
+package org.example.event_organizer_api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.event_organizer_api.dto.archive.ArchivedEventDTO;
+import org.example.event_organizer_api.dto.archive.ArchivedTicketDTO;
+import org.example.event_organizer_api.service.EventArchiveService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final EventArchiveService eventArchiveService;
+
+    @GetMapping("/events")
+    @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and #organizerId == authentication.principal.id)")
+    public ResponseEntity<List<ArchivedEventDTO>> getArchivedEvents(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                    @RequestParam(required = false) Integer organizerId) {
+        List<ArchivedEventDTO> events = eventArchiveService.getArchivedEvents(from, to, organizerId);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/events/{id}")
+    @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and @eventArchiveServiceImpl.isOrganizer(#id, authentication.principal.id))")
+    public ResponseEntity<ArchivedEventDTO> getArchivedEvent(@PathVariable Integer id) {
+        ArchivedEventDTO event = eventArchiveService.getArchivedEvent(id)
+                .orElseThrow(() -> new NoSuchElementException("Archived event not found with id: " + id));
+        return ResponseEntity.ok(event);
+    }
+
+    @GetMapping("/events/{id}/tickets")
+    @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and @eventArchiveServiceImpl.isOrganizer(#id, authentication.principal.id))")
+    public ResponseEntity<List<ArchivedTicketDTO>> getArchivedTicketsByEvent(@PathVariable Integer id) {
+        List<ArchivedTicketDTO> tickets = eventArchiveService.getArchivedTicketsByEvent(id);
+        return ResponseEntity.ok(tickets);
+    }
+
+    @GetMapping("/tickets/user/{userId}")
+    @PreAuthorize("hasRole('CLIENT') and #userId == authentication.principal.id")
+    public ResponseEntity<List<ArchivedTicketDTO>> getArchivedTicketsByUser(@PathVariable Integer userId) {
+        List<ArchivedTicketDTO> tickets = eventArchiveService.getArchivedTicketsByUser(userId);
+        return ResponseEntity.ok(tickets);
+    }
+
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<Integer> archivePastEvents() {
+        int archived = eventArchiveService.archivePastEvents();
+        return ResponseEntity.ok(archived);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.event_organizer_api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.event_organizer_api.dto.cache.CacheStatsDTO;
+import org.example.event_organizer_api.service.EntityCacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<List<CacheStatsDTO>> getStats() {
+        return ResponseEntity.ok(entityCacheService.getStats());
+    }
+}
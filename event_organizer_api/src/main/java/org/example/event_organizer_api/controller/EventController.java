@@ -2,11 +2,24 @@ package org.example.event_organizer_api.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.event_organizer_api.dto.event.EventDTO;
+import org.example.event_organizer_api.dto.event.EventPageDTO;
+import org.example.event_organizer_api.dto.event.EventSearchDTO;
+import org.example.event_organizer_api.dto.event.EventSuggestionDTO;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.dto.event.EventSalesDTO;
+import org.example.event_organizer_api.dto.event.OrganizerStatsDTO;
+import org.example.event_organizer_api.dto.event.SalesTimelineDTO;
 import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.service.CatalogSnapshotService;
 import org.example.event_organizer_api.service.EventService;
+import org.example.event_organizer_api.service.EventUpdateService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -18,34 +31,76 @@ import java.util.NoSuchElementException;
 public class EventController {
 
     private final EventService eventService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final EventUpdateService eventUpdateService;
 
+    // Served from the pre-encoded snapshot; a matching If-None-Match is answered with 304 Not Modified by Spring.
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('CLIENT', 'ADMINISTRATOR', 'ORGANIZER')")
-    public ResponseEntity<List<Event>> getAllEvents() {
-        List<Event> events = eventService.getAllEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<byte[]> getAllEvents(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot();
+        boolean gzip = CatalogSnapshotService.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .eTag(snapshot.etag(gzip));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(snapshot.body(gzip));
+    }
+
+    @GetMapping(value = "/updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('CLIENT', 'ADMINISTRATOR', 'ORGANIZER')")
+    public SseEmitter subscribeToEventUpdates(@RequestParam List<Integer> ids) {
+        return eventUpdateService.subscribe(ids);
+    }
+
+    @GetMapping("/catalog")
+    @PreAuthorize("hasAnyRole('CLIENT', 'ADMINISTRATOR', 'ORGANIZER')")
+    public ResponseEntity<EventPageDTO> getEventCatalog(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "${event.catalog.page-size:20}") int size) {
+        EventPageDTO page = eventService.getEventCatalog(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('CLIENT', 'ADMINISTRATOR', 'ORGANIZER')")
+    public ResponseEntity<EventPageDTO> searchEvents(@ModelAttribute EventSearchDTO criteria,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "${event.catalog.page-size:20}") int size) {
+        EventPageDTO page = eventService.searchEvents(criteria, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasAnyRole('CLIENT', 'ADMINISTRATOR', 'ORGANIZER')")
+    public ResponseEntity<List<EventSuggestionDTO>> suggestEvents(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        List<EventSuggestionDTO> suggestions = eventService.suggestEvents(q, limit);
+        return ResponseEntity.ok(suggestions);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('CLIENT', 'ADMINISTRATOR', 'ORGANIZER')")
-    public ResponseEntity<Event> getEventById(@PathVariable Integer id) {
-        Event event = eventService.getEventById(id)
+    public ResponseEntity<EventSummaryDTO> getEventById(@PathVariable Integer id) {
+        EventSummaryDTO event = eventService.getEventById(id)
                 .orElseThrow(() -> new NoSuchElementException("Event not found with id: " + id));
         return ResponseEntity.ok(event);
     }
 
     @PostMapping("/create")
     @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'ORGANIZER')")
-    public ResponseEntity<Event> createEvent(@RequestBody EventDTO eventDTO) {
+    public ResponseEntity<EventSummaryDTO> createEvent(@RequestBody EventDTO eventDTO) {
         Event event = eventService.createEvent(eventDTO);
-        return ResponseEntity.ok(event);
+        return ResponseEntity.ok(EventSummaryDTO.from(event));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and @eventServiceImpl.isOrganizer(#id, authentication.principal.id))")
-    public ResponseEntity<Event> updateEvent(@PathVariable Integer id, @RequestBody EventDTO eventDTO) {
+    public ResponseEntity<EventSummaryDTO> updateEvent(@PathVariable Integer id, @RequestBody EventDTO eventDTO) {
         Event updatedEvent = eventService.updateEvent(id, eventDTO);
-        return ResponseEntity.ok(updatedEvent);
+        return ResponseEntity.ok(EventSummaryDTO.from(updatedEvent));
     }
 
     @DeleteMapping("/{id}")
@@ -57,15 +112,36 @@ public class EventController {
 
     @GetMapping("/organizer/{organizerId}")
     @PreAuthorize("hasRole('ORGANIZER') and #organizerId == authentication.principal.id")
-    public ResponseEntity<List<Event>> getEventsByOrganizer(@PathVariable Integer organizerId) {
-        List<Event> events = eventService.getEventsByOrganizer(organizerId);
+    public ResponseEntity<List<EventSummaryDTO>> getEventsByOrganizer(@PathVariable Integer organizerId) {
+        List<EventSummaryDTO> events = eventService.getEventsByOrganizer(organizerId);
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/organizer/{organizerId}/stats")
+    @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and #organizerId == authentication.principal.id)")
+    public ResponseEntity<OrganizerStatsDTO> getOrganizerStats(@PathVariable Integer organizerId) {
+        OrganizerStatsDTO stats = eventService.getOrganizerStats(organizerId);
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/sales/{id}")
+    @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and @eventServiceImpl.isOrganizer(#id, authentication.principal.id))")
+    public ResponseEntity<EventSalesDTO> getEventSales(@PathVariable Integer id) {
+        EventSalesDTO sales = eventService.getEventSales(id);
+        return ResponseEntity.ok(sales);
+    }
+
+    @GetMapping("/{id}/sales-timeline")
+    @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and @eventServiceImpl.isOrganizer(#id, authentication.principal.id))")
+    public ResponseEntity<SalesTimelineDTO> getSalesTimeline(@PathVariable Integer id) {
+        SalesTimelineDTO timeline = eventService.getSalesTimeline(id);
+        return ResponseEntity.ok(timeline);
+    }
+
     @PutMapping("/sale/{id}")
     @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and @eventServiceImpl.isOrganizer(#id, authentication.principal.id))")
-    public ResponseEntity<Event> setEventOnSale(@PathVariable Integer id, @RequestParam Integer salePercent) {
+    public ResponseEntity<EventSummaryDTO> setEventOnSale(@PathVariable Integer id, @RequestParam Integer salePercent) {
         Event event = eventService.setEventOnSale(id, salePercent);
-        return ResponseEntity.ok(event);
+        return ResponseEntity.ok(EventSummaryDTO.from(event));
     }
 }
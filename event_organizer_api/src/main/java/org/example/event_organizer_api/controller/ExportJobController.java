@@ -0,0 +1,65 @@
+package org.example.event_organizer_api.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.event_organizer_api.dto.export.ExportJobDTO;
+import org.example.event_organizer_api.service.ExportJobService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+
+@CrossOrigin
+@RestController
+@RequestMapping("/api/export/jobs")
+@RequiredArgsConstructor
+public class ExportJobController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private final ExportJobService exportJobService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<ExportJobDTO> submitJob(@RequestParam String type) {
+        ExportJobDTO job = exportJobService.submitJob(type);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<ExportJobDTO> getJob(@PathVariable String jobId) {
+        ExportJobDTO job = exportJobService.getJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/{jobId}/download")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public void downloadJob(@PathVariable String jobId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = exportJobService.getResultFile(jobId);
+        ExportJobDTO job = exportJobService.getJob(jobId);
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getType() + "-" + jobId + ".csv\"");
+        response.setContentLengthLong(job.getSizeBytes());
+
+        // Tomcat sends the file with sendfile once the handler returns, other containers get a transferTo copy.
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+            request.setAttribute("org.apache.tomcat.sendfile.end", job.getSizeBytes());
+        } else {
+            exportJobService.transferResult(jobId, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    @DeleteMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMINISTRATOR')")
+    public ResponseEntity<Void> deleteJob(@PathVariable String jobId) {
+        exportJobService.deleteJob(jobId);
+        return ResponseEntity.ok().build();
+    }
+}
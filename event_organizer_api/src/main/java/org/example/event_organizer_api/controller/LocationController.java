@@ -2,12 +2,15 @@ package org.example.event_organizer_api.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.event_organizer_api.dto.location.LocationDTO;
+import org.example.event_organizer_api.dto.location.TimeSlotDTO;
 import org.example.event_organizer_api.entity.Location;
 import org.example.event_organizer_api.service.LocationService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -34,6 +37,16 @@ public class LocationController {
         return ResponseEntity.ok(location);
     }
 
+    @GetMapping("/{id}/free-slots")
+    @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'ORGANIZER')")
+    public ResponseEntity<List<TimeSlotDTO>> getFreeSlots(@PathVariable Integer id,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                          @RequestParam(defaultValue = "120") int minutes) {
+        List<TimeSlotDTO> slots = locationService.getFreeSlots(id, from, to, minutes);
+        return ResponseEntity.ok(slots);
+    }
+
     @PostMapping("/create")
     @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'ORGANIZER')")
     public ResponseEntity<Location> addLocation(@RequestBody LocationDTO locationDTO) {
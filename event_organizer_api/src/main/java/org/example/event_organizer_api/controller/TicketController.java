@@ -1,20 +1,31 @@
 package org.example.event_organizer_api.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.event_organizer_api.dto.ticket.CartDTO;
+import org.example.event_organizer_api.dto.ticket.CartItemDTO;
 import org.example.event_organizer_api.dto.ticket.TicketDTO;
+import org.example.event_organizer_api.dto.ticket.TicketHoldDTO;
+import org.example.event_organizer_api.dto.ticket.TicketSummaryDTO;
 import org.example.event_organizer_api.entity.Ticket;
+import org.example.event_organizer_api.service.AdmissionService;
+import org.example.event_organizer_api.service.EventService;
+import org.example.event_organizer_api.service.ExportStreamLimiter;
+import org.example.event_organizer_api.service.TicketHoldService;
 import org.example.event_organizer_api.service.TicketService;
-import org.example.event_organizer_api.utilities.CsvExportStrategy;
 import org.example.event_organizer_api.utilities.TicketExportStrategy;
-import org.example.event_organizer_api.utilities.TxtExportStrategy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 @CrossOrigin
 @RestController
@@ -23,19 +34,61 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketHoldService ticketHoldService;
+    private final AdmissionService admissionService;
+    private final EventService eventService;
+    private final ExportStreamLimiter exportStreamLimiter;
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('CLIENT') and #ticketDTO.userId == authentication.principal.id")
-    public ResponseEntity<List<Ticket>> createTickets(@RequestBody TicketDTO ticketDTO, @RequestParam int quantity) throws Exception {
-        List<Ticket> tickets = ticketService.addTickets(ticketDTO, quantity);
-        return ResponseEntity.ok(tickets);
+    public ResponseEntity<List<TicketSummaryDTO>> createTickets(@RequestBody TicketDTO ticketDTO, @RequestParam int quantity,
+                                                                @RequestHeader(value = "X-Admission-Token", required = false) String admissionToken) throws Exception {
+        List<Ticket> tickets = admissionService.admit(ticketDTO.getEventId(), ticketDTO.getUserId(), admissionToken, () -> ticketService.addTickets(ticketDTO, quantity));
+        return ResponseEntity.ok(tickets.stream().map(TicketSummaryDTO::from).toList());
+    }
+
+    @PostMapping("/checkout")
+    @PreAuthorize("hasRole('CLIENT') and #cartDTO.userId == authentication.principal.id")
+    public ResponseEntity<List<TicketSummaryDTO>> checkoutCart(@RequestBody CartDTO cartDTO) {
+        Map<Integer, String> admissionTokens = new HashMap<>();
+        if (cartDTO.getItems() != null) {
+            for (CartItemDTO item : cartDTO.getItems()) {
+                if (item.getEventId() != null && (item.getAdmissionToken() != null || !admissionTokens.containsKey(item.getEventId()))) {
+                    admissionTokens.put(item.getEventId(), item.getAdmissionToken());
+                }
+            }
+        }
+        List<Ticket> tickets = admissionService.admitAll(cartDTO.getUserId(), admissionTokens, () -> ticketService.checkoutCart(cartDTO));
+        return ResponseEntity.ok(tickets.stream().map(TicketSummaryDTO::from).toList());
+    }
+
+    @PostMapping("/hold")
+    @PreAuthorize("hasRole('CLIENT') and #ticketDTO.userId == authentication.principal.id")
+    public ResponseEntity<TicketHoldDTO> holdTickets(@RequestBody TicketDTO ticketDTO, @RequestParam int quantity,
+                                                     @RequestHeader(value = "X-Admission-Token", required = false) String admissionToken) {
+        TicketHoldDTO hold = admissionService.admit(ticketDTO.getEventId(), ticketDTO.getUserId(), admissionToken, () -> ticketHoldService.holdTickets(ticketDTO, quantity));
+        return ResponseEntity.ok(hold);
+    }
+
+    @PostMapping("/hold/{holdId}/confirm")
+    @PreAuthorize("hasRole('CLIENT') and @ticketHoldServiceImpl.getHold(#holdId).userId == authentication.principal.id")
+    public ResponseEntity<List<TicketSummaryDTO>> confirmHold(@PathVariable String holdId) {
+        List<Ticket> tickets = ticketHoldService.confirmHold(holdId);
+        return ResponseEntity.ok(tickets.stream().map(TicketSummaryDTO::from).toList());
+    }
+
+    @DeleteMapping("/hold/{holdId}")
+    @PreAuthorize("hasRole('CLIENT') and @ticketHoldServiceImpl.getHold(#holdId).userId == authentication.principal.id")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdId) {
+        ticketHoldService.releaseHold(holdId);
+        return ResponseEntity.ok().build();
     }
 
     @PutMapping("/update")
     @PreAuthorize("hasRole('CLIENT') and #ticketDTO.userId == authentication.principal.id")
-    public ResponseEntity<Ticket> updateTicket(@RequestParam Integer ticketId, @RequestBody TicketDTO ticketDTO) throws Exception {
+    public ResponseEntity<TicketSummaryDTO> updateTicket(@RequestParam Integer ticketId, @RequestBody TicketDTO ticketDTO) throws Exception {
         Ticket updatedTicket = ticketService.updateTicket(ticketId, ticketDTO);
-        return ResponseEntity.ok(updatedTicket);
+        return ResponseEntity.ok(TicketSummaryDTO.from(updatedTicket));
     }
 
     @DeleteMapping("/{id}")
@@ -47,43 +100,72 @@ public class TicketController {
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'ORGANIZER') or (@ticketServiceImpl.getTicketById(#id).user.id == authentication.principal.id)")
-    public ResponseEntity<Ticket> getTicketById(@PathVariable Integer id) throws Exception {
+    public ResponseEntity<TicketSummaryDTO> getTicketById(@PathVariable Integer id) throws Exception {
         Ticket ticket = ticketService.getTicketById(id);
-        return ResponseEntity.ok(ticket);
+        return ResponseEntity.ok(TicketSummaryDTO.from(ticket));
     }
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMINISTRATOR')")
-    public ResponseEntity<List<Ticket>> getAllTickets() {
-        List<Ticket> tickets = ticketService.getAllTickets();
+    public ResponseEntity<List<TicketSummaryDTO>> getAllTickets() {
+        List<TicketSummaryDTO> tickets = ticketService.getAllTickets();
         return ResponseEntity.ok(tickets);
     }
 
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('CLIENT') and #userId == authentication.principal.id")
-    public ResponseEntity<List<Ticket>> getAllTicketsByUser(@PathVariable Integer userId) {
-        List<Ticket> tickets = ticketService.getAllTicketsByUser(userId);
+    public ResponseEntity<List<TicketSummaryDTO>> getAllTicketsByUser(@PathVariable Integer userId) {
+        List<TicketSummaryDTO> tickets = ticketService.getAllTicketsByUser(userId);
         return ResponseEntity.ok(tickets);
     }
 
     @GetMapping("/event/{eventId}")
     @PreAuthorize("hasAnyRole('ADMINISTRATOR', 'ORGANIZER')")
-    public ResponseEntity<List<Ticket>> getAllTicketsByEvent(@PathVariable Integer eventId) {
-        List<Ticket> tickets = ticketService.getAllTicketsByEvent(eventId);
+    public ResponseEntity<List<TicketSummaryDTO>> getAllTicketsByEvent(@PathVariable Integer eventId) {
+        List<TicketSummaryDTO> tickets = ticketService.getAllTicketsByEvent(eventId);
         return ResponseEntity.ok(tickets);
     }
 
     @GetMapping("/export/{ticketId}")
     @PreAuthorize("hasRole('CLIENT') and @ticketServiceImpl.getTicketById(#ticketId).user.id == authentication.principal.id")
     public ResponseEntity<byte[]> exportTicket(@PathVariable Integer ticketId, @RequestParam String format) throws Exception {
+        TicketExportStrategy strategy = TicketExportStrategy.forFormat(format);
         Ticket ticket = ticketService.getTicketById(ticketId);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        TicketExportStrategy strategy = format.equals("csv") ? new CsvExportStrategy() : new TxtExportStrategy();
         ticketService.exportTicket(ticket, outputStream, strategy);
         byte[] data = outputStream.toByteArray();
         return ResponseEntity.ok()
-                .contentType(format.equals("csv") ? MediaType.valueOf("text/csv") : MediaType.valueOf("text/plain"))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ticket." + format + "\"")
+                .contentType(MediaType.valueOf(strategy.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ticket." + strategy.fileExtension() + "\"")
                 .body(data);
     }
+
+    @GetMapping("/event/{eventId}/export")
+    @PreAuthorize("hasRole('ADMINISTRATOR') or (hasRole('ORGANIZER') and @eventServiceImpl.isOrganizer(#eventId, authentication.principal.id))")
+    public ResponseEntity<StreamingResponseBody> exportEventTickets(@PathVariable Integer eventId, @RequestParam String format,
+                                                                    WebRequest request) {
+        TicketExportStrategy strategy = TicketExportStrategy.forFormat(format);
+        if (eventService.getEventById(eventId).isEmpty()) {
+            throw new NoSuchElementException("Event not found with ID: " + eventId);
+        }
+        StreamingResponseBody body = exportStreamLimiter.stream(request,
+                outputStream -> ticketService.exportEventTickets(eventId, outputStream, strategy));
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf(strategy.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"event-" + eventId + "-tickets." + strategy.fileExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/user/{userId}/export")
+    @PreAuthorize("hasRole('CLIENT') and #userId == authentication.principal.id")
+    public ResponseEntity<StreamingResponseBody> exportUserTickets(@PathVariable Integer userId, @RequestParam String format,
+                                                                   WebRequest request) {
+        TicketExportStrategy strategy = TicketExportStrategy.forFormat(format);
+        StreamingResponseBody body = exportStreamLimiter.stream(request,
+                outputStream -> ticketService.exportUserTickets(userId, outputStream, strategy));
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tickets.zip\"")
+                .body(body);
+    }
 }
@@ -1,8 +1,8 @@
 package org.example.event_organizer_api.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
 import org.example.event_organizer_api.dto.user.*;
-import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.entity.User;
 import org.example.event_organizer_api.security.JwtUtil;
 import org.example.event_organizer_api.service.UserService;
@@ -13,7 +13,6 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 @CrossOrigin
 @RestController
@@ -107,8 +106,8 @@ public class UserController {
 
     @GetMapping("/{userId}/wishlist")
     @PreAuthorize("hasRole('CLIENT') and #userId == authentication.principal.id")
-    public ResponseEntity<Set<Event>> getUserWishlistEvents(@PathVariable Integer userId) {
-        Set<Event> wishlistEvents = userService.getUserWishlistEvents(userId);
+    public ResponseEntity<List<EventSummaryDTO>> getUserWishlistEvents(@PathVariable Integer userId) {
+        List<EventSummaryDTO> wishlistEvents = userService.getUserWishlistEvents(userId);
         return ResponseEntity.ok(wishlistEvents);
     }
 }
@@ -0,0 +1,19 @@
+package org.example.event_organizer_api.dto.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AdmissionStatusDTO {
+    private Integer eventId;
+    private String token;
+    private Long position;
+    private Long ahead;
+    private Boolean admitted;
+    private Long etaSeconds;
+}
@@ -0,0 +1,34 @@
+package org.example.event_organizer_api.dto.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedEventDTO {
+    private Integer id;
+    private String name;
+    private String eventType;
+    private LocalDate eventDate;
+    private LocalTime eventTime;
+    private Integer locationId;
+    private Integer ticketsAvailable;
+    private BigDecimal price;
+    private Integer organizerId;
+    private Integer onSale;
+    private Integer durationMinutes;
+    private Long ticketsSold;
+    private BigDecimal grossRevenue;
+    private Long refunds;
+    private BigDecimal refundedAmount;
+    private Instant archivedAt;
+}
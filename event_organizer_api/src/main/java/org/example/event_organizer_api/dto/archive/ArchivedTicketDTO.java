@@ -0,0 +1,20 @@
+package org.example.event_organizer_api.dto.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedTicketDTO {
+    private Integer id;
+    private Integer userId;
+    private Integer eventId;
+    private BigDecimal purchasePrice;
+    private Integer quantity;
+}
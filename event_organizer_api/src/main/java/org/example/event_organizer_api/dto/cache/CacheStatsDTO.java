@@ -0,0 +1,20 @@
+package org.example.event_organizer_api.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsDTO {
+    private String name;
+    private Integer size;
+    private Integer maxEntries;
+    private Long hits;
+    private Long misses;
+    private Long invalidations;
+    private Double hitRate;
+}
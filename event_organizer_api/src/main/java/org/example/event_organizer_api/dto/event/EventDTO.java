@@ -22,4 +22,5 @@ public class EventDTO {
     private BigDecimal price;
     private Integer organizer;
     private Integer onSale;
+    private Integer durationMinutes;
 }
@@ -0,0 +1,17 @@
+package org.example.event_organizer_api.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventPageDTO {
+    private List<EventSummaryDTO> events;
+    private String nextCursor;
+}
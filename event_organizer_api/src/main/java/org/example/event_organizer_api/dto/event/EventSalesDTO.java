@@ -0,0 +1,19 @@
+package org.example.event_organizer_api.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSalesDTO {
+    private Integer eventId;
+    private Long ticketsSold;
+    private BigDecimal revenue;
+    private Long buyers;
+}
@@ -0,0 +1,28 @@
+package org.example.event_organizer_api.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSearchDTO {
+    private String eventType;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateTo;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer location;
+    private Integer organizer;
+    private boolean onSale;
+    private boolean available;
+}
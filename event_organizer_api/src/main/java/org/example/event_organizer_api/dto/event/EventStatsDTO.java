@@ -0,0 +1,26 @@
+package org.example.event_organizer_api.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventStatsDTO {
+    private Integer eventId;
+    private String name;
+    private LocalDate eventDate;
+    private Integer capacity;
+    private Integer ticketsAvailable;
+    private Long ticketsSold;
+    private BigDecimal grossRevenue;
+    private Long refunds;
+    private BigDecimal refundedAmount;
+    private Long wishlistCount;
+}
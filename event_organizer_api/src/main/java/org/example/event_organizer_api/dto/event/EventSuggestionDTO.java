@@ -0,0 +1,19 @@
+package org.example.event_organizer_api.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSuggestionDTO {
+    private Integer id;
+    private String name;
+    private String eventType;
+    private LocalDate eventDate;
+}
@@ -0,0 +1,55 @@
+package org.example.event_organizer_api.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.event_organizer_api.dto.location.LocationSummaryDTO;
+import org.example.event_organizer_api.dto.user.UserSummaryDTO;
+import org.example.event_organizer_api.entity.Event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The fields of an event shown in listings, with the name and capacity of its location and the name of its organizer.
+ * Read queries select these columns straight into this class, so no entity, email or password hash is loaded.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSummaryDTO {
+    private Integer id;
+    private String name;
+    private String eventType;
+    private LocalDate eventDate;
+    private LocalTime eventTime;
+    private Integer ticketsAvailable;
+    private BigDecimal price;
+    private Integer onSale;
+    private LocationSummaryDTO location;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UserSummaryDTO organizer;
+
+    /**
+     * Constructor for the select clause of a query, which can only pass flat columns.
+     * The location is null when the event has none.
+     */
+    public EventSummaryDTO(Integer id, String name, String eventType, LocalDate eventDate, LocalTime eventTime,
+                           Integer ticketsAvailable, BigDecimal price, Integer onSale,
+                           Integer locationId, String locationName, Integer locationCapacity,
+                           Integer organizerId, String organizerName) {
+        this(id, name, eventType, eventDate, eventTime, ticketsAvailable, price, onSale,
+                locationId != null ? new LocationSummaryDTO(locationId, locationName, locationCapacity) : null,
+                new UserSummaryDTO(organizerId, organizerName));
+    }
+
+    public static EventSummaryDTO from(Event event) {
+        return new EventSummaryDTO(event.getId(), event.getName(), event.getEventType(), event.getEventDate(), event.getEventTime(),
+                event.getTicketsAvailable(), event.getPrice(), event.getOnSale(),
+                LocationSummaryDTO.from(event.getLocation()), UserSummaryDTO.from(event.getOrganizer()));
+    }
+}
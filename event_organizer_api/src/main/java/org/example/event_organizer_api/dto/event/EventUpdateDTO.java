@@ -0,0 +1,22 @@
+package org.example.event_organizer_api.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * The fields of an event that change while it is on sale, pushed to the clients watching it.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventUpdateDTO {
+    private Integer id;
+    private Integer ticketsAvailable;
+    private BigDecimal price;
+    private Integer onSale;
+}
@@ -0,0 +1,23 @@
+package org.example.event_organizer_api.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrganizerStatsDTO {
+    private Integer organizerId;
+    private Long ticketsSold;
+    private BigDecimal grossRevenue;
+    private Long refunds;
+    private BigDecimal refundedAmount;
+    private Long wishlistCount;
+    private List<EventStatsDTO> events;
+}
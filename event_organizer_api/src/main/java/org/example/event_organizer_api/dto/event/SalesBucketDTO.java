@@ -0,0 +1,21 @@
+package org.example.event_organizer_api.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalesBucketDTO {
+    private Instant start;
+    private Long purchases;
+    private BigDecimal revenue;
+    private Long refunds;
+    private BigDecimal refundedAmount;
+}
@@ -0,0 +1,20 @@
+package org.example.event_organizer_api.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalesTimelineDTO {
+    private Integer eventId;
+    private Instant from;
+    private Instant to;
+    private List<SalesBucketDTO> minutes;
+}
@@ -0,0 +1,23 @@
+package org.example.event_organizer_api.dto.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExportJobDTO {
+    private String id;
+    private String type;
+    private String status;
+    private Long rows;
+    private Long sizeBytes;
+    private Instant createdAt;
+    private Instant completedAt;
+    private String error;
+}
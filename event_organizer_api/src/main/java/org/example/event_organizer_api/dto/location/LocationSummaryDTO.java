@@ -0,0 +1,21 @@
+package org.example.event_organizer_api.dto.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.event_organizer_api.entity.Location;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LocationSummaryDTO {
+    private Integer id;
+    private String name;
+    private Integer capacity;
+
+    public static LocationSummaryDTO from(Location location) {
+        return location != null ? new LocationSummaryDTO(location.getId(), location.getName(), location.getCapacity()) : null;
+    }
+}
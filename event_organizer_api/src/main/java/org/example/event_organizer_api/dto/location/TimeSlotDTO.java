@@ -0,0 +1,17 @@
+package org.example.event_organizer_api.dto.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimeSlotDTO {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,21 @@
+package org.example.event_organizer_api.dto.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttendeeDTO {
+    private Integer ticketId;
+    private Integer userId;
+    private String name;
+    private String email;
+    private Integer quantity;
+    private BigDecimal purchasePrice;
+}
@@ -0,0 +1,17 @@
+package org.example.event_organizer_api.dto.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CartDTO {
+    private Integer userId;
+    private List<CartItemDTO> items;
+}
@@ -0,0 +1,19 @@
+package org.example.event_organizer_api.dto.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CartItemDTO {
+    private Integer eventId;
+    private Integer quantity;
+    private BigDecimal purchasePrice;
+    private String admissionToken;
+}
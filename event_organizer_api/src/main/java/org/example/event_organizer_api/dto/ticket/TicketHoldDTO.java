@@ -0,0 +1,22 @@
+package org.example.event_organizer_api.dto.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketHoldDTO {
+    private String id;
+    private Integer userId;
+    private Integer eventId;
+    private Integer quantity;
+    private BigDecimal purchasePrice;
+    private Instant expiresAt;
+}
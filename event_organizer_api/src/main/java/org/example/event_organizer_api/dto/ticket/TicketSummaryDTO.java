@@ -0,0 +1,56 @@
+package org.example.event_organizer_api.dto.ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.dto.location.LocationSummaryDTO;
+import org.example.event_organizer_api.dto.user.UserSummaryDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Ticket;
+import org.example.event_organizer_api.utilities.TicketUnits;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A ticket with the name of its holder and a summary of its event, without the event organizer.
+ * The ID is the one of the stored line item, shared by every single ticket it is expanded into,
+ * while the unit ID tells those single tickets apart and is null for a line item that has not been expanded.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketSummaryDTO {
+    private Integer id;
+    private Integer quantity;
+    private BigDecimal purchasePrice;
+    private UserSummaryDTO user;
+    private EventSummaryDTO event;
+    private String unitId;
+
+    /**
+     * Constructor for the select clause of a query, which can only pass flat columns.
+     * The location is null when the event has none.
+     */
+    public TicketSummaryDTO(Integer id, Integer quantity, BigDecimal purchasePrice, Integer userId, String userName,
+                            Integer eventId, String eventName, String eventType, LocalDate eventDate, LocalTime eventTime,
+                            Integer ticketsAvailable, BigDecimal price, Integer onSale,
+                            Integer locationId, String locationName, Integer locationCapacity) {
+        this(id, quantity, purchasePrice, new UserSummaryDTO(userId, userName),
+                new EventSummaryDTO(eventId, eventName, eventType, eventDate, eventTime, ticketsAvailable, price, onSale,
+                        locationId != null ? new LocationSummaryDTO(locationId, locationName, locationCapacity) : null, null), null);
+    }
+
+    public static TicketSummaryDTO from(Ticket ticket) {
+        // The organizer is left out, so mapping a ticket never loads it.
+        Event event = ticket.getEvent();
+        EventSummaryDTO eventSummary = new EventSummaryDTO(event.getId(), event.getName(), event.getEventType(), event.getEventDate(), event.getEventTime(),
+                event.getTicketsAvailable(), event.getPrice(), event.getOnSale(), LocationSummaryDTO.from(event.getLocation()), null);
+        return new TicketSummaryDTO(ticket.getId(), ticket.getQuantity(), ticket.getPurchasePrice(), UserSummaryDTO.from(ticket.getUser()), eventSummary,
+                ticket.getUnit() != null ? TicketUnits.unitId(ticket.getId(), ticket.getUnit()) : null);
+    }
+}
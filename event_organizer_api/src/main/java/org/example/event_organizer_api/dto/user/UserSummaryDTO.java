@@ -0,0 +1,20 @@
+package org.example.event_organizer_api.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.example.event_organizer_api.entity.User;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummaryDTO {
+    private Integer id;
+    private String name;
+
+    public static UserSummaryDTO from(User user) {
+        return user != null ? new UserSummaryDTO(user.getId(), user.getName()) : null;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -17,11 +18,15 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
+@DynamicUpdate
 @NoArgsConstructor
 @Table(name = "events")
+@NamedEntityGraph(name = "Event.location", attributeNodes = @NamedAttributeNode("location"))
+@NamedEntityGraph(name = "Event.locationAndOrganizer", attributeNodes = {@NamedAttributeNode("location"), @NamedAttributeNode("organizer")})
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_id_seq")
+    @SequenceGenerator(name = "events_id_seq", sequenceName = "events_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Integer id;
 
@@ -37,7 +42,10 @@ public class Event {
     @Column(name = "event_time")
     private LocalTime eventTime;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @Column(name = "duration_minutes", nullable = false, columnDefinition = "integer default 120 check(duration_minutes > 0)")
+    private Integer durationMinutes = 120;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "location_id")
     @OnDelete(action = OnDeleteAction.SET_NULL)
     private Location location;
@@ -48,7 +56,7 @@ public class Event {
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "organizer_id", nullable = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
     private User organizer;
@@ -0,0 +1,42 @@
+package org.example.event_organizer_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = "event_stats")
+public class EventStats {
+    @Id
+    @Column(name = "event_id", nullable = false)
+    private Integer eventId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @Column(name = "tickets_sold", nullable = false)
+    private Long ticketsSold = 0L;
+
+    @Column(name = "gross_revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal grossRevenue = BigDecimal.ZERO;
+
+    @Column(name = "refunds", nullable = false)
+    private Long refunds = 0L;
+
+    @Column(name = "refunded_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal refundedAmount = BigDecimal.ZERO;
+
+    @Column(name = "wishlist_count", nullable = false)
+    private Long wishlistCount = 0L;
+}
@@ -14,22 +14,33 @@ import java.math.BigDecimal;
 @Entity
 @NoArgsConstructor
 @Table(name = "tickets")
+@NamedEntityGraph(name = "Ticket.userAndEvent",
+        attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode(value = "event", subgraph = "event")},
+        subgraphs = @NamedSubgraph(name = "event", attributeNodes = @NamedAttributeNode("location")))
 public class Ticket {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_id_seq")
+    @SequenceGenerator(name = "tickets_id_seq", sequenceName = "tickets_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Integer id;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "event_id", nullable = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
     private Event event;
 
     @Column(name = "purchase_price", nullable = false, precision = 10, scale = 2)
     private BigDecimal purchasePrice;
+
+    @Column(name = "quantity", nullable = false, columnDefinition = "integer default 1 check(quantity > 0)")
+    private Integer quantity = 1;
+
+    // Set on the single tickets a line item is expanded into, see TicketUnits; never stored.
+    @Transient
+    private Integer unit;
 }
@@ -14,9 +14,11 @@ import java.util.Set;
 @Entity
 @NoArgsConstructor
 @Table(name = "users")
+@NamedEntityGraph(name = "User.wishlistEvents", attributeNodes = @NamedAttributeNode("wishlistEvents"))
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Integer id;
 
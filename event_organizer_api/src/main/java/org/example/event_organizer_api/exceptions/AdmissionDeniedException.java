@@ -0,0 +1,13 @@
+package org.example.event_organizer_api.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class AdmissionDeniedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public AdmissionDeniedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.event_organizer_api.exceptions;
+
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
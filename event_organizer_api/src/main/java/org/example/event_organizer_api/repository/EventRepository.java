@@ -1,18 +1,80 @@
 package org.example.event_organizer_api.repository;
 
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.dto.event.EventUpdateDTO;
 import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.entity.Location;
 import org.example.event_organizer_api.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Integer> {
+public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event>, EventSummaryRepository {
+    String SUMMARY = "SELECT new org.example.event_organizer_api.dto.event.EventSummaryDTO(e.id, e.name, e.eventType, e.eventDate, e.eventTime, " +
+            "e.ticketsAvailable, e.price, e.onSale, l.id, l.name, l.capacity, o.id, o.name) ";
+    String SUMMARY_JOINS = "LEFT JOIN e.location l JOIN e.organizer o ";
+
     List<Event> findByOrganizer(User organizer);
     List<Event> findByLocation(Location location);
     Optional<Event> findByName(String name);
     List<Event> findByEventType(String eventType);
+    boolean existsByIdAndLocationId(Integer id, Integer locationId);
+
+    @EntityGraph("Event.location")
+    Optional<Event> findWithLocationById(Integer id);
+
+    @EntityGraph("Event.location")
+    List<Event> findWithLocationByIdIn(Collection<Integer> ids);
+
+    @EntityGraph("Event.locationAndOrganizer")
+    Optional<Event> findWithLocationAndOrganizerById(Integer id);
+
+    @Query(SUMMARY + "FROM Event e " + SUMMARY_JOINS)
+    List<EventSummaryDTO> findAllSummaries();
+
+    @Query(SUMMARY + "FROM Event e " + SUMMARY_JOINS + "WHERE e.id = :id")
+    Optional<EventSummaryDTO> findSummaryById(@Param("id") Integer id);
+
+    @Query("SELECT new org.example.event_organizer_api.dto.event.EventUpdateDTO(e.id, e.ticketsAvailable, e.price, e.onSale) " +
+            "FROM Event e WHERE e.id IN :ids")
+    List<EventUpdateDTO> findUpdatesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(SUMMARY + "FROM Event e " + SUMMARY_JOINS + "WHERE e.organizer.id = :organizerId")
+    List<EventSummaryDTO> findSummariesByOrganizerId(@Param("organizerId") Integer organizerId);
+
+    @Query(SUMMARY + "FROM User u JOIN u.wishlistEvents e " + SUMMARY_JOINS + "WHERE u.id = :userId")
+    List<EventSummaryDTO> findWishlistSummaries(@Param("userId") Integer userId);
+
+    @Query(SUMMARY + "FROM Event e " + SUMMARY_JOINS + "ORDER BY e.eventDate, e.id")
+    List<EventSummaryDTO> findCatalogPage(Limit limit);
+
+    @Query(SUMMARY + "FROM Event e " + SUMMARY_JOINS + "WHERE (e.eventDate, e.id) > (:eventDate, :id) ORDER BY e.eventDate, e.id")
+    List<EventSummaryDTO> findCatalogPageAfter(@Param("eventDate") LocalDate eventDate, @Param("id") Integer id, Limit limit);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.ticketsAvailable = e.ticketsAvailable - :quantity WHERE e.id = :id AND e.ticketsAvailable >= :quantity")
+    int reserveTickets(@Param("id") Integer id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.ticketsAvailable = e.ticketsAvailable + :quantity WHERE e.id = :id")
+    int releaseTickets(@Param("id") Integer id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.ticketsAvailable = e.ticketsAvailable + :delta WHERE e.id = :id AND e.ticketsAvailable + :delta >= 0")
+    int adjustTicketsAvailable(@Param("id") Integer id, @Param("delta") int delta);
 }
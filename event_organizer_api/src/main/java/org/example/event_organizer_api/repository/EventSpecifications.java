@@ -0,0 +1,122 @@
+package org.example.event_organizer_api.repository;
+
+import org.example.event_organizer_api.entity.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Composable filters for searching events. Each filter is a single sargable predicate on a column of the
+ * events table, so a search combining them can be served by the composite indexes of migration 006.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    /**
+     * Keeps the events of a type.
+     *
+     * @param eventType the event type
+     * @return the specification
+     */
+    public static Specification<Event> hasEventType(String eventType) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("eventType"), eventType);
+    }
+
+    /**
+     * Keeps the events taking place on or after a date.
+     *
+     * @param date the first date of the window
+     * @return the specification
+     */
+    public static Specification<Event> startsOnOrAfter(LocalDate date) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get("eventDate"), date);
+    }
+
+    /**
+     * Keeps the events taking place on or before a date.
+     *
+     * @param date the last date of the window
+     * @return the specification
+     */
+    public static Specification<Event> startsOnOrBefore(LocalDate date) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThanOrEqualTo(root.get("eventDate"), date);
+    }
+
+    /**
+     * Keeps the events costing at least a price.
+     *
+     * @param price the lowest price
+     * @return the specification
+     */
+    public static Specification<Event> priceAtLeast(BigDecimal price) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get("price"), price);
+    }
+
+    /**
+     * Keeps the events costing at most a price.
+     *
+     * @param price the highest price
+     * @return the specification
+     */
+    public static Specification<Event> priceAtMost(BigDecimal price) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThanOrEqualTo(root.get("price"), price);
+    }
+
+    /**
+     * Keeps the events taking place at a location.
+     *
+     * @param locationId the location ID
+     * @return the specification
+     */
+    public static Specification<Event> atLocation(Integer locationId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("location").get("id"), locationId);
+    }
+
+    /**
+     * Keeps the events of an organizer.
+     *
+     * @param organizerId the organizer ID
+     * @return the specification
+     */
+    public static Specification<Event> organizedBy(Integer organizerId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("organizer").get("id"), organizerId);
+    }
+
+    /**
+     * Keeps the events currently on sale.
+     *
+     * @return the specification
+     */
+    public static Specification<Event> onSale() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("onSale"), 0);
+    }
+
+    /**
+     * Keeps the events that still have tickets available.
+     *
+     * @return the specification
+     */
+    public static Specification<Event> hasTicketsAvailable() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("ticketsAvailable"), 0);
+    }
+
+    /**
+     * Keeps the events that come after a position in the date then ID order.
+     * The redundant lower bound on the date gives the index scan a starting point,
+     * which the disjunction alone would not.
+     *
+     * @param eventDate the date of the last event already returned
+     * @param id the ID of the last event already returned
+     * @return the specification
+     */
+    public static Specification<Event> after(LocalDate eventDate, Integer id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(root.get("eventDate"), eventDate),
+                criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(root.get("eventDate"), eventDate),
+                        criteriaBuilder.greaterThan(root.get("id"), id)));
+    }
+}
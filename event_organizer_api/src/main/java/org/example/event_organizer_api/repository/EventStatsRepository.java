@@ -0,0 +1,20 @@
+package org.example.event_organizer_api.repository;
+
+import org.example.event_organizer_api.dto.event.EventStatsDTO;
+import org.example.event_organizer_api.entity.EventStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EventStatsRepository extends JpaRepository<EventStats, Integer> {
+
+    @Query("SELECT new org.example.event_organizer_api.dto.event.EventStatsDTO(e.id, e.name, e.eventDate, l.capacity, e.ticketsAvailable, " +
+            "COALESCE(s.ticketsSold, 0L), COALESCE(s.grossRevenue, 0), COALESCE(s.refunds, 0L), COALESCE(s.refundedAmount, 0), COALESCE(s.wishlistCount, 0L)) " +
+            "FROM Event e LEFT JOIN e.location l LEFT JOIN EventStats s ON s.eventId = e.id " +
+            "WHERE e.organizer.id = :organizerId ORDER BY e.eventDate, e.id")
+    List<EventStatsDTO> findStatsByOrganizerId(@Param("organizerId") Integer organizerId);
+}
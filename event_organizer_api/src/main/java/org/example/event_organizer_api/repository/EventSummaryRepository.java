@@ -0,0 +1,24 @@
+package org.example.event_organizer_api.repository;
+
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Searches that select event summaries rather than entities, for filters only known at runtime.
+ */
+public interface EventSummaryRepository {
+
+    /**
+     * Finds the summaries of the events matching a specification.
+     *
+     * @param specification the filters, which must not fetch associations
+     * @param sort the order of the results
+     * @param limit the maximum number of results
+     * @return the matching event summaries
+     */
+    List<EventSummaryDTO> findSummaries(Specification<Event> specification, Sort sort, int limit);
+}
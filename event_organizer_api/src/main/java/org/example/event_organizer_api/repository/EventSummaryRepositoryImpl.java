@@ -0,0 +1,50 @@
+package org.example.event_organizer_api.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
+import org.example.event_organizer_api.entity.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Builds the same select list as {@link EventRepository#SUMMARY} with the criteria API,
+ * so specifications can filter it.
+ */
+class EventSummaryRepositoryImpl implements EventSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EventSummaryDTO> findSummaries(Specification<Event> specification, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventSummaryDTO> query = criteriaBuilder.createQuery(EventSummaryDTO.class);
+        Root<Event> event = query.from(Event.class);
+        Join<Event, Location> location = event.join("location", JoinType.LEFT);
+        Join<Event, User> organizer = event.join("organizer");
+        query.select(criteriaBuilder.construct(EventSummaryDTO.class,
+                event.get("id"), event.get("name"), event.get("eventType"), event.get("eventDate"), event.get("eventTime"),
+                event.get("ticketsAvailable"), event.get("price"), event.get("onSale"),
+                location.get("id"), location.get("name"), location.get("capacity"),
+                organizer.get("id"), organizer.get("name")));
+
+        Predicate predicate = specification.toPredicate(event, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, event, criteriaBuilder));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -1,15 +1,59 @@
 package org.example.event_organizer_api.repository;
 
+import org.example.event_organizer_api.dto.event.EventSalesDTO;
+import org.example.event_organizer_api.dto.ticket.TicketSummaryDTO;
 import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.entity.Ticket;
 import org.example.event_organizer_api.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Integer> {
+    String SUMMARY = "SELECT new org.example.event_organizer_api.dto.ticket.TicketSummaryDTO(t.id, t.quantity, t.purchasePrice, u.id, u.name, " +
+            "e.id, e.name, e.eventType, e.eventDate, e.eventTime, e.ticketsAvailable, e.price, e.onSale, l.id, l.name, l.capacity) " +
+            "FROM Ticket t JOIN t.user u JOIN t.event e LEFT JOIN e.location l ";
+
     List<Ticket> findByEvent(Event event);
     List<Ticket> findByUser(User user);
+
+    @EntityGraph("Ticket.userAndEvent")
+    Optional<Ticket> findWithUserAndEventById(Integer id);
+
+    @Query(SUMMARY)
+    List<TicketSummaryDTO> findAllSummaries();
+
+    @Query(SUMMARY + "WHERE t.user.id = :userId")
+    List<TicketSummaryDTO> findSummariesByUserId(@Param("userId") Integer userId);
+
+    @Query(SUMMARY + "WHERE t.event.id = :eventId")
+    List<TicketSummaryDTO> findSummariesByEventId(@Param("eventId") Integer eventId);
+
+    @Query("SELECT COALESCE(SUM(t.quantity), 0) FROM Ticket t WHERE t.event.id = :eventId")
+    long countSoldByEventId(@Param("eventId") Integer eventId);
+
+    @Query(value = "SELECT COALESCE(SUM(quantity), 0) FROM ticket_holds WHERE event_id = :eventId", nativeQuery = true)
+    long countHeldByEventId(@Param("eventId") Integer eventId);
+
+    @Query("SELECT new org.example.event_organizer_api.dto.event.EventSalesDTO(t.event.id, SUM(t.quantity), SUM(t.purchasePrice * t.quantity), COUNT(DISTINCT t.user.id)) " +
+            "FROM Ticket t WHERE t.event.id = :eventId GROUP BY t.event.id")
+    Optional<EventSalesDTO> getSalesByEventId(@Param("eventId") Integer eventId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.quantity = t.quantity - 1 WHERE t.id = :id AND t.quantity > 1")
+    int decrementQuantity(@Param("id") Integer id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Ticket t WHERE t.id = :id AND t.quantity = 1")
+    int deleteSingle(@Param("id") Integer id);
 }
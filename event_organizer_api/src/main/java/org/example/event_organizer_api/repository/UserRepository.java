@@ -1,6 +1,7 @@
 package org.example.event_organizer_api.repository;
 
 import org.example.event_organizer_api.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +13,7 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByUsername(String username);
     List<User> findByUserType(String userType);
     Optional<User> findByName(String name);
+
+    @EntityGraph("User.wishlistEvents")
+    Optional<User> findWithWishlistEventsById(Integer id);
 }
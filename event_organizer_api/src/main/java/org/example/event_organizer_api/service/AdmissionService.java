@@ -0,0 +1,15 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.admission.AdmissionStatusDTO;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+public interface AdmissionService {
+    AdmissionStatusDTO openQueue(Integer eventId, double ratePerSecond);
+    void closeQueue(Integer eventId);
+    AdmissionStatusDTO joinQueue(Integer eventId, Integer userId);
+    AdmissionStatusDTO getStatus(Integer eventId, String token, Integer userId);
+    <T> T admit(Integer eventId, Integer userId, String token, Supplier<T> purchase);
+    <T> T admitAll(Integer userId, Map<Integer, String> tokens, Supplier<T> purchase);
+}
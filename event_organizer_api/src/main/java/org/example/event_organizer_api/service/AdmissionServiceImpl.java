@@ -0,0 +1,300 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.admission.AdmissionStatusDTO;
+import org.example.event_organizer_api.exceptions.AdmissionDeniedException;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Service implementation for the virtual waiting room in front of the purchase endpoints.
+ * Each open queue hands out positions in arrival order and admits them at a fixed rate,
+ * so admission is computed from the clock instead of being pushed to every waiting client.
+ * Queue tokens are signed and carry their own position and the user they were issued to.
+ * Each room remembers the position of every user who joined, so joining again does not jump
+ * the queue with extra positions, and the positions already spent, so a token buys only once.
+ * Independently of the queues, purchases run behind a semaphore that bounds how many
+ * of them can hold a database connection at once.
+ */
+@Service
+public class AdmissionServiceImpl implements AdmissionService {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final EventRepository eventRepository;
+    private final Semaphore purchasePermits;
+    private final long permitWaitMillis;
+    private final long grantNanos;
+    private final LongSupplier clock;
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<Integer, WaitingRoom> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for AdmissionServiceImpl.
+     *
+     * @param eventRepository the event repository
+     * @param maxConcurrentPurchases how many purchases may run at the same time
+     * @param permitWaitMillis how long a purchase waits for a free slot before being turned away
+     * @param grantSeconds how long an admitted token stays valid
+     */
+    @Autowired
+    public AdmissionServiceImpl(EventRepository eventRepository,
+                                @Value("${admission.max-concurrent-purchases:8}") int maxConcurrentPurchases,
+                                @Value("${admission.permit-wait-ms:2000}") long permitWaitMillis,
+                                @Value("${admission.grant-seconds:300}") long grantSeconds) {
+        this(eventRepository, maxConcurrentPurchases, permitWaitMillis, grantSeconds, System::nanoTime);
+    }
+
+    AdmissionServiceImpl(EventRepository eventRepository, int maxConcurrentPurchases, long permitWaitMillis, long grantSeconds, LongSupplier clock) {
+        this.eventRepository = eventRepository;
+        this.purchasePermits = new Semaphore(maxConcurrentPurchases, true);
+        this.permitWaitMillis = permitWaitMillis;
+        this.grantNanos = TimeUnit.SECONDS.toNanos(grantSeconds);
+        this.clock = clock;
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    /**
+     * Opens the waiting room for an event. Reopening starts a new queue and invalidates old tokens.
+     *
+     * @param eventId the event ID
+     * @param ratePerSecond how many buyers are admitted per second
+     * @return the status of the head of the new queue
+     */
+    @Override
+    public AdmissionStatusDTO openQueue(Integer eventId, double ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Admission rate must be greater than zero");
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new NoSuchElementException("Event not found with ID: " + eventId);
+        }
+        WaitingRoom room = new WaitingRoom(random.nextLong(), ratePerSecond, clock.getAsLong());
+        rooms.put(eventId, room);
+        return status(eventId, room, null, room.nextPosition.get(), clock.getAsLong());
+    }
+
+    /**
+     * Closes the waiting room for an event, after which purchases no longer need a token.
+     *
+     * @param eventId the event ID
+     */
+    @Override
+    public void closeQueue(Integer eventId) {
+        if (rooms.remove(eventId) == null) {
+            throw new NoSuchElementException("No open queue for event with ID: " + eventId);
+        }
+    }
+
+    /**
+     * Takes a position in an event's queue.
+     * A user who joins again keeps the position they already hold, and only gets a new one
+     * at the back of the queue once that position has been spent on a purchase or its admission has expired.
+     *
+     * @param eventId the event ID
+     * @param userId the ID of the user joining
+     * @return the queue status, including the token to present when buying
+     */
+    @Override
+    public AdmissionStatusDTO joinQueue(Integer eventId, Integer userId) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return new AdmissionStatusDTO(eventId, null, 0L, 0L, true, 0L);
+        }
+        long now = clock.getAsLong();
+        long position = room.positions.compute(userId, (user, held) ->
+                held != null && !room.used.contains(held) && !expired(room, held, now) ? held : room.nextPosition.getAndIncrement());
+        return status(eventId, room, sign(eventId, room.id, position, userId), position, now);
+    }
+
+    /**
+     * Retrieves the queue status of a token.
+     *
+     * @param eventId the event ID
+     * @param token the queue token
+     * @param userId the ID of the user presenting the token
+     * @return the current position, whether it has been admitted and the estimated wait
+     */
+    @Override
+    public AdmissionStatusDTO getStatus(Integer eventId, String token, Integer userId) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return new AdmissionStatusDTO(eventId, token, 0L, 0L, true, 0L);
+        }
+        long position = verify(eventId, room, token, userId);
+        return status(eventId, room, token, position, clock.getAsLong());
+    }
+
+    /**
+     * Runs a purchase if the caller has been admitted and a purchase slot is free.
+     * A successful purchase spends the token, a failed one leaves it valid for a retry.
+     *
+     * @param eventId the event ID
+     * @param userId the ID of the user buying
+     * @param token the queue token, only required while the event's queue is open
+     * @param purchase the purchase to run
+     * @return the result of the purchase
+     * @throws AdmissionDeniedException if the caller has to wait
+     */
+    @Override
+    public <T> T admit(Integer eventId, Integer userId, String token, Supplier<T> purchase) {
+        return admitAll(userId, Collections.singletonMap(eventId, token), purchase);
+    }
+
+    /**
+     * Runs a purchase spanning several events if the caller has been admitted to every one of them.
+     * The purchase takes a single slot, however many events it spans, and spends every token it was admitted with.
+     *
+     * @param userId the ID of the user buying
+     * @param tokens the queue token for each event, only required for events whose queue is open
+     * @param purchase the purchase to run
+     * @return the result of the purchase
+     * @throws AdmissionDeniedException if the caller has to wait for any of the events
+     */
+    @Override
+    public <T> T admitAll(Integer userId, Map<Integer, String> tokens, Supplier<T> purchase) {
+        List<Runnable> claims = new ArrayList<>();
+        boolean purchased = false;
+        try {
+            tokens.forEach((eventId, token) -> claim(eventId, userId, token, claims));
+            T result = withPurchasePermit(purchase);
+            purchased = true;
+            return result;
+        } finally {
+            if (!purchased) {
+                // Nothing was bought, so the positions stay available for a retry.
+                claims.forEach(Runnable::run);
+            }
+        }
+    }
+
+    private void claim(Integer eventId, Integer userId, String token, List<Runnable> claims) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long position = verify(eventId, room, token, userId);
+        if (position >= room.admittedCount(now)) {
+            throw new AdmissionDeniedException("Not admitted yet, position in queue: " + (position - room.admittedCount(now)), room.etaSeconds(position, now));
+        }
+        if (expired(room, position, now)) {
+            throw new AdmissionDeniedException("Admission has expired, please join the queue again", 0);
+        }
+        if (!room.used.add(position)) {
+            throw new AdmissionDeniedException("Queue token has already been used, please join the queue again", 0);
+        }
+        claims.add(() -> room.used.remove(position));
+    }
+
+    private boolean expired(WaitingRoom room, long position, long now) {
+        return position < room.admittedCount(now) && now - room.admittedAt(position) > grantNanos;
+    }
+
+    private <T> T withPurchasePermit(Supplier<T> purchase) {
+        try {
+            if (!purchasePermits.tryAcquire(permitWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new AdmissionDeniedException("Too many purchases in progress, please retry", 1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdmissionDeniedException("Purchase was interrupted, please retry", 1);
+        }
+        try {
+            return purchase.get();
+        } finally {
+            purchasePermits.release();
+        }
+    }
+
+    private AdmissionStatusDTO status(Integer eventId, WaitingRoom room, String token, long position, long now) {
+        long ahead = Math.max(0, position - room.admittedCount(now));
+        boolean admitted = position < room.admittedCount(now);
+        return new AdmissionStatusDTO(eventId, token, position, ahead, admitted, admitted ? 0 : room.etaSeconds(position, now));
+    }
+
+    private String sign(Integer eventId, long roomId, long position, Integer userId) {
+        String payload = eventId + "." + roomId + "." + position + "." + userId;
+        return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(payload));
+    }
+
+    private long verify(Integer eventId, WaitingRoom room, String token, Integer userId) {
+        if (token == null || token.isEmpty()) {
+            throw new AdmissionDeniedException("A queue token is required while the waiting room is open", room.etaSeconds(room.nextPosition.get(), clock.getAsLong()));
+        }
+        int signatureStart = token.lastIndexOf('.');
+        String[] parts = token.substring(0, Math.max(0, signatureStart)).split("\\.");
+        if (signatureStart < 0 || parts.length != 4
+                || !MessageDigest.isEqual(mac(token.substring(0, signatureStart)), Base64.getUrlDecoder().decode(token.substring(signatureStart + 1)))) {
+            throw new IllegalArgumentException("Invalid queue token");
+        }
+        if (!parts[0].equals(String.valueOf(eventId)) || !parts[1].equals(String.valueOf(room.id))) {
+            throw new AdmissionDeniedException("Queue token is not valid for this queue, please join again", 0);
+        }
+        if (!parts[3].equals(String.valueOf(userId))) {
+            throw new IllegalArgumentException("Queue token was issued to another user");
+        }
+        return Long.parseLong(parts[2]);
+    }
+
+    private byte[] mac(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign queue token", e);
+        }
+    }
+
+    private static final class WaitingRoom {
+        private final long id;
+        private final double ratePerSecond;
+        private final long openedAt;
+        private final AtomicLong nextPosition = new AtomicLong();
+        private final Map<Integer, Long> positions = new ConcurrentHashMap<>();
+        private final Set<Long> used = ConcurrentHashMap.newKeySet();
+
+        private WaitingRoom(long id, double ratePerSecond, long openedAt) {
+            this.id = id;
+            this.ratePerSecond = ratePerSecond;
+            this.openedAt = openedAt;
+        }
+
+        // One second's worth of buyers is admitted as soon as the queue opens.
+        private long admittedCount(long now) {
+            return (long) (ratePerSecond * ((now - openedAt) / NANOS_PER_SECOND + 1));
+        }
+
+        private long admittedAt(long position) {
+            return openedAt + (long) (((position + 1) / ratePerSecond - 1) * NANOS_PER_SECOND);
+        }
+
+        private long etaSeconds(long position, long now) {
+            return Math.max(0, (long) Math.ceil((admittedAt(position) - now) / NANOS_PER_SECOND));
+        }
+    }
+}
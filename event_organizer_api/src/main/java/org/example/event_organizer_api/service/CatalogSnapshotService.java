@@ -0,0 +1,206 @@
+package org.example.event_organizer_api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service that keeps the list of all events as ready-to-send JSON, plain and gzip-compressed,
+ * so serving it copies bytes instead of querying the database and serializing every event again.
+ * The snapshot is built on the first request. Writes that change an event mark it stale through the entity cache,
+ * and a scheduled task rebuilds it at most once per interval, however many writes happened in between,
+ * so a change shows up within one interval.
+ * Each encoding has a strong ETag derived from the JSON, so clients can revalidate their copy for free.
+ */
+@Service
+public class CatalogSnapshotService implements EventChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+    private static final int ETAG_BYTES = 16;
+
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructor for CatalogSnapshotService.
+     *
+     * @param eventRepository the event repository
+     * @param objectMapper the object mapper used for every other response
+     */
+    @Autowired
+    public CatalogSnapshotService(EventRepository eventRepository, ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Retrieves the current snapshot, building it if there is none yet.
+     *
+     * @return the snapshot
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = build();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Marks the snapshot stale, so the next refresh rebuilds it.
+     */
+    public void markStale() {
+        stale.set(true);
+    }
+
+    @Override
+    public void eventChanged(Integer eventId) {
+        markStale();
+    }
+
+    @Override
+    public void allEventsChanged() {
+        markStale();
+    }
+
+    /**
+     * Rebuilds the snapshot if it was marked stale since the last rebuild.
+     * A failed rebuild keeps serving the current snapshot and is retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${catalog.snapshot.refresh-interval-ms:1000}")
+    public void refreshIfStale() {
+        if (!stale.getAndSet(false)) {
+            return;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                // Nobody asked for the catalog yet, the first request builds it.
+                return;
+            }
+            try {
+                snapshot = build();
+            } catch (DataAccessException e) {
+                stale.set(true);
+                logger.warn("Unable to rebuild the catalog snapshot, keeping the one built at {} events", snapshot.events(), e);
+            }
+        }
+    }
+
+    /**
+     * Checks if a client accepts gzip-compressed responses.
+     *
+     * @param acceptEncoding the Accept-Encoding header of the request, or null
+     * @return true if gzip is listed and not refused with a zero weight
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if (!parameters[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private Snapshot build() {
+        List<EventSummaryDTO> events = eventRepository.findAllSummaries();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(events);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize the event catalog", e);
+        }
+        String hash = HexFormat.of().formatHex(sha256(json), 0, ETAG_BYTES);
+        return new Snapshot(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"", events.size());
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 4 + 64);
+        // Compressed once and sent many times, so the slowest, smallest setting pays off.
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The encoded catalog. The arrays are shared by every request and must not be modified.
+     *
+     * @param json the catalog as JSON
+     * @param gzip the JSON compressed with gzip
+     * @param etag the quoted strong ETag of the JSON
+     * @param gzipEtag the quoted strong ETag of the compressed JSON
+     * @param events the number of events in the catalog
+     */
+    public record Snapshot(byte[] json, byte[] gzip, String etag, String gzipEtag, int events) {
+
+        /**
+         * Retrieves the body to send.
+         *
+         * @param compressed whether the client accepts gzip
+         * @return the compressed or the plain JSON
+         */
+        public byte[] body(boolean compressed) {
+            return compressed ? gzip : json;
+        }
+
+        /**
+         * Retrieves the ETag of the body to send.
+         *
+         * @param compressed whether the client accepts gzip
+         * @return the ETag of the compressed or of the plain JSON
+         */
+        public String etag(boolean compressed) {
+            return compressed ? gzipEtag : etag;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.cache.CacheStatsDTO;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.entity.Location;
+import org.example.event_organizer_api.utilities.ReadThroughCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Service that caches the summaries of events and the locations read by ID, and the list of all locations.
+ * Entries are bounded in number, expire after a TTL and are invalidated by the writes that change them:
+ * event edits, sales and every change in ticket availability drop the event, and location edits drop the location,
+ * the location list and every event, since events embed their location.
+ * Every write that drops an event, and every new event, is also passed on to the event change listeners,
+ * such as the catalog snapshot and the live event updates.
+ * Invalidations wait for the surrounding transaction to commit, so a reader can never cache the row as it was before.
+ */
+@Service
+public class EntityCacheService {
+    private static final String ALL_LOCATIONS = "all";
+
+    private final ReadThroughCache<Integer, EventSummaryDTO> events;
+    private final ReadThroughCache<Integer, Location> locations;
+    private final ReadThroughCache<String, List<Location>> locationLists;
+    private final List<EventChangeListener> listeners;
+
+    /**
+     * Constructor for EntityCacheService.
+     *
+     * @param maxEvents how many events are kept at most
+     * @param eventTtlSeconds how long an event is kept
+     * @param maxLocations how many locations are kept at most
+     * @param locationTtlSeconds how long a location, or the list of all locations, is kept
+     * @param listeners the listeners notified of committed event changes
+     */
+    @Autowired
+    public EntityCacheService(@Value("${cache.events.max-entries:10000}") int maxEvents,
+                              @Value("${cache.events.ttl-seconds:60}") long eventTtlSeconds,
+                              @Value("${cache.locations.max-entries:1000}") int maxLocations,
+                              @Value("${cache.locations.ttl-seconds:600}") long locationTtlSeconds,
+                              List<EventChangeListener> listeners) {
+        this(maxEvents, eventTtlSeconds, maxLocations, locationTtlSeconds, System::nanoTime, listeners);
+    }
+
+    EntityCacheService(int maxEvents, long eventTtlSeconds, int maxLocations, long locationTtlSeconds, LongSupplier clock,
+                       List<EventChangeListener> listeners) {
+        this.events = new ReadThroughCache<>(maxEvents, eventTtlSeconds, TimeUnit.SECONDS, clock);
+        this.locations = new ReadThroughCache<>(maxLocations, locationTtlSeconds, TimeUnit.SECONDS, clock);
+        this.locationLists = new ReadThroughCache<>(1, locationTtlSeconds, TimeUnit.SECONDS, clock);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * Retrieves the summary of an event, loading it on a miss.
+     *
+     * @param id the event ID
+     * @param loader loads the summary from the database
+     * @return the summary, if found
+     */
+    public Optional<EventSummaryDTO> getEvent(Integer id, Function<Integer, Optional<EventSummaryDTO>> loader) {
+        return Optional.ofNullable(events.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Retrieves a location, loading it on a miss.
+     *
+     * @param id the location ID
+     * @param loader loads the location from the database
+     * @return the location, if found
+     */
+    public Optional<Location> getLocation(Integer id, Function<Integer, Optional<Location>> loader) {
+        return Optional.ofNullable(locations.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Retrieves all locations, loading them on a miss.
+     *
+     * @param loader loads all locations from the database
+     * @return an unmodifiable list of all locations
+     */
+    public List<Location> getAllLocations(Supplier<List<Location>> loader) {
+        return locationLists.get(ALL_LOCATIONS, key -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Invalidates an event once the current transaction commits.
+     *
+     * @param id the event ID
+     */
+    public void evictEvent(Integer id) {
+        afterCommit(() -> {
+            events.invalidate(id);
+            listeners.forEach(listener -> listener.eventChanged(id));
+        });
+    }
+
+    /**
+     * Invalidates every event once the current transaction commits, e.g. when an organizer is deleted along with their events.
+     */
+    public void evictAllEvents() {
+        afterCommit(() -> {
+            events.invalidateAll();
+            listeners.forEach(EventChangeListener::allEventsChanged);
+        });
+    }
+
+    /**
+     * Invalidates a location, the list of all locations and every event once the current transaction commits.
+     *
+     * @param id the location ID
+     */
+    public void evictLocation(Integer id) {
+        afterCommit(() -> {
+            locations.invalidate(id);
+            locationLists.invalidateAll();
+            events.invalidateAll();
+            listeners.forEach(EventChangeListener::allEventsChanged);
+        });
+    }
+
+    /**
+     * Notifies the listeners of a new event once the current transaction commits.
+     *
+     * @param id the event ID
+     */
+    public void eventAdded(Integer id) {
+        afterCommit(() -> listeners.forEach(listener -> listener.eventChanged(id)));
+    }
+
+    /**
+     * Invalidates the list of all locations once the current transaction commits, e.g. when a location is added.
+     */
+    public void evictLocationList() {
+        afterCommit(locationLists::invalidateAll);
+    }
+
+    /**
+     * Retrieves the hit and miss counts of the caches.
+     *
+     * @return the statistics of each cache
+     */
+    public List<CacheStatsDTO> getStats() {
+        return List.of(stats("events", events), stats("locations", locations), stats("locationLists", locationLists));
+    }
+
+    /**
+     * Drops expired entries, so entries nobody asks for again do not hold memory until they are pushed out.
+     */
+    @Scheduled(fixedDelayString = "${cache.evict-interval-ms:60000}")
+    public void evictExpired() {
+        events.evictExpired();
+        locations.evictExpired();
+        locationLists.evictExpired();
+    }
+
+    private static CacheStatsDTO stats(String name, ReadThroughCache<?, ?> cache) {
+        long hits = cache.hitCount();
+        long misses = cache.missCount();
+        double hitRate = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        return new CacheStatsDTO(name, cache.size(), cache.maxEntries(), hits, misses, cache.invalidationCount(), hitRate);
+    }
+
+    private static void afterCommit(Runnable invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+}
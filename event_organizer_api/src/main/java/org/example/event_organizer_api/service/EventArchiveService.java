@@ -0,0 +1,17 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.archive.ArchivedEventDTO;
+import org.example.event_organizer_api.dto.archive.ArchivedTicketDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventArchiveService {
+    int archivePastEvents();
+    List<ArchivedEventDTO> getArchivedEvents(LocalDate from, LocalDate to, Integer organizerId);
+    Optional<ArchivedEventDTO> getArchivedEvent(Integer id);
+    List<ArchivedTicketDTO> getArchivedTicketsByEvent(Integer eventId);
+    List<ArchivedTicketDTO> getArchivedTicketsByUser(Integer userId);
+    boolean isOrganizer(Integer eventId, Integer userId);
+}
@@ -0,0 +1,231 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.archive.ArchivedEventDTO;
+import org.example.event_organizer_api.dto.archive.ArchivedTicketDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Service implementation that moves events that are over, together with their tickets, into the archive tables.
+ * Every night the events some days past their date are moved in chunks, each in its own short transaction,
+ * so the catalog, search and ticket queries only ever read current events and never scan the history.
+ * A chunk skips the events locked by a purchase in progress, which are picked up by the next run.
+ * The archive is read through its own queries and is never cached.
+ */
+@Service
+public class EventArchiveServiceImpl implements EventArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(EventArchiveServiceImpl.class);
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private static final String SELECT_CHUNK = "SELECT id FROM events WHERE event_date < ? ORDER BY event_date, id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String ARCHIVE_EVENTS = "INSERT INTO events_archive (id, name, event_type, event_date, event_time, location_id, tickets_available, " +
+            "price, organizer_id, on_sale, duration_minutes, tickets_sold, gross_revenue, refunds, refunded_amount) " +
+            "SELECT e.id, e.name, e.event_type, e.event_date, e.event_time, e.location_id, e.tickets_available, e.price, e.organizer_id, e.on_sale, " +
+            "e.duration_minutes, coalesce(s.tickets_sold, 0), coalesce(s.gross_revenue, 0), coalesce(s.refunds, 0), coalesce(s.refunded_amount, 0) " +
+            "FROM events e LEFT JOIN event_stats s ON s.event_id = e.id WHERE e.id = ANY(?)";
+    private static final String ARCHIVE_TICKETS = "INSERT INTO tickets_archive (id, user_id, event_id, purchase_price, quantity) " +
+            "SELECT id, user_id, event_id, purchase_price, quantity FROM tickets WHERE event_id = ANY(?)";
+    // Cascades to the tickets, wishlists, stats and hourly sales of the events.
+    private static final String DELETE_EVENTS = "DELETE FROM events WHERE id = ANY(?)";
+
+    private static final String SELECT_EVENTS = "SELECT id, name, event_type, event_date, event_time, location_id, tickets_available, price, organizer_id, " +
+            "on_sale, duration_minutes, tickets_sold, gross_revenue, refunds, refunded_amount, archived_at FROM events_archive ";
+    private static final String SELECT_TICKETS = "SELECT id, user_id, event_id, purchase_price, quantity FROM tickets_archive ";
+
+    private static final RowMapper<ArchivedEventDTO> EVENT_ROW = (resultSet, row) -> new ArchivedEventDTO(
+            resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3),
+            resultSet.getObject(4, LocalDate.class), resultSet.getObject(5, LocalTime.class),
+            resultSet.getObject(6, Integer.class), resultSet.getInt(7), resultSet.getBigDecimal(8), resultSet.getInt(9),
+            resultSet.getInt(10), resultSet.getInt(11), resultSet.getLong(12), resultSet.getBigDecimal(13),
+            resultSet.getLong(14), resultSet.getBigDecimal(15), resultSet.getTimestamp(16).toInstant());
+    private static final RowMapper<ArchivedTicketDTO> TICKET_ROW = (resultSet, row) -> new ArchivedTicketDTO(
+            resultSet.getInt(1), resultSet.getInt(2), resultSet.getInt(3), resultSet.getBigDecimal(4), resultSet.getInt(5));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VenueScheduleService venueScheduleService;
+    private final EventAutocompleteService eventAutocompleteService;
+    private final EntityCacheService entityCacheService;
+    private final int afterDays;
+    private final int chunkSize;
+    private final Clock clock;
+
+    /**
+     * Constructor for EventArchiveServiceImpl.
+     *
+     * @param jdbcTemplate the JDBC template used to move and read the archived rows
+     * @param transactionManager the transaction manager, every chunk is moved in its own transaction
+     * @param venueScheduleService the venue schedule service, freed of the archived events
+     * @param eventAutocompleteService the event autocomplete service, cleared of the archived events
+     * @param entityCacheService the entity cache service, cleared of the archived events
+     * @param afterDays how many days after its date an event is archived
+     * @param chunkSize how many events are moved per transaction
+     */
+    @Autowired
+    public EventArchiveServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   VenueScheduleService venueScheduleService, EventAutocompleteService eventAutocompleteService,
+                                   EntityCacheService entityCacheService,
+                                   @Value("${archive.after-days:7}") int afterDays,
+                                   @Value("${archive.chunk-size:500}") int chunkSize) {
+        this(jdbcTemplate, transactionManager, venueScheduleService, eventAutocompleteService, entityCacheService,
+                afterDays, chunkSize, Clock.systemDefaultZone());
+    }
+
+    EventArchiveServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            VenueScheduleService venueScheduleService, EventAutocompleteService eventAutocompleteService,
+                            EntityCacheService entityCacheService, int afterDays, int chunkSize, Clock clock) {
+        if (afterDays < 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("The archive delay must not be negative and the chunk size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.venueScheduleService = venueScheduleService;
+        this.eventAutocompleteService = eventAutocompleteService;
+        this.entityCacheService = entityCacheService;
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Archives the past events on schedule.
+     */
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void archiveOnSchedule() {
+        try {
+            archivePastEvents();
+        } catch (DataAccessException e) {
+            // The chunks already moved stay archived, the rest are picked up by the next run.
+            logger.warn("Unable to archive the past events, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Moves every event dated before the archive cutoff, with its tickets, into the archive, one chunk at a time.
+     *
+     * @return the number of events archived
+     */
+    @Override
+    public int archivePastEvents() {
+        LocalDate cutoff = LocalDate.now(clock).minusDays(afterDays);
+        int archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            archived += moved;
+        } while (moved == chunkSize);
+
+        if (archived > 0) {
+            logger.info("Archived {} events dated before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Retrieves the archived events within a range of dates, optionally of a single organizer.
+     *
+     * @param from the first date, inclusive
+     * @param to the last date, inclusive
+     * @param organizerId the organizer ID, or null for every organizer
+     * @return the archived events, ordered by date
+     * @throws IllegalArgumentException if the range is reversed or longer than a year
+     */
+    @Override
+    public List<ArchivedEventDTO> getArchivedEvents(LocalDate from, LocalDate to, Integer organizerId) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("The range must not end before it starts and span at most " + MAX_RANGE_DAYS + " days");
+        }
+        if (organizerId == null) {
+            return jdbcTemplate.query(SELECT_EVENTS + "WHERE event_date BETWEEN ? AND ? ORDER BY event_date, id", EVENT_ROW, from, to);
+        }
+        return jdbcTemplate.query(SELECT_EVENTS + "WHERE organizer_id = ? AND event_date BETWEEN ? AND ? ORDER BY event_date, id",
+                EVENT_ROW, organizerId, from, to);
+    }
+
+    /**
+     * Retrieves an archived event by its ID.
+     *
+     * @param id the event ID
+     * @return the archived event, or empty if it is not archived
+     */
+    @Override
+    public Optional<ArchivedEventDTO> getArchivedEvent(Integer id) {
+        return jdbcTemplate.query(SELECT_EVENTS + "WHERE id = ?", EVENT_ROW, id).stream().findFirst();
+    }
+
+    /**
+     * Retrieves the archived tickets of an archived event.
+     *
+     * @param eventId the event ID
+     * @return the archived tickets
+     * @throws NoSuchElementException if the event is not archived
+     */
+    @Override
+    public List<ArchivedTicketDTO> getArchivedTicketsByEvent(Integer eventId) {
+        getArchivedEvent(eventId).orElseThrow(() -> new NoSuchElementException("Archived event not found with ID: " + eventId));
+        return jdbcTemplate.query(SELECT_TICKETS + "WHERE event_id = ? ORDER BY id", TICKET_ROW, eventId);
+    }
+
+    /**
+     * Retrieves the archived tickets of a user.
+     *
+     * @param userId the user ID
+     * @return the archived tickets, latest event first
+     */
+    @Override
+    public List<ArchivedTicketDTO> getArchivedTicketsByUser(Integer userId) {
+        return jdbcTemplate.query(SELECT_TICKETS + "WHERE user_id = ? ORDER BY event_id DESC, id", TICKET_ROW, userId);
+    }
+
+    /**
+     * Checks whether a user organized an archived event.
+     *
+     * @param eventId the event ID
+     * @param userId the user ID
+     * @return true if the user organized the event
+     * @throws NoSuchElementException if the event is not archived
+     */
+    @Override
+    public boolean isOrganizer(Integer eventId, Integer userId) {
+        ArchivedEventDTO event = getArchivedEvent(eventId)
+                .orElseThrow(() -> new NoSuchElementException("Archived event not found with ID: " + eventId));
+        return event.getOrganizerId().equals(userId);
+    }
+
+    private int archiveChunk(LocalDate cutoff) {
+        List<Integer> ids = jdbcTemplate.queryForList(SELECT_CHUNK, Integer.class, cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Integer[] idArray = ids.toArray(Integer[]::new);
+        PreparedStatementSetter idsParameter = statement -> statement.setArray(1, statement.getConnection().createArrayOf("integer", idArray));
+        jdbcTemplate.update(ARCHIVE_EVENTS, idsParameter);
+        jdbcTemplate.update(ARCHIVE_TICKETS, idsParameter);
+        jdbcTemplate.update(DELETE_EVENTS, idsParameter);
+
+        for (Integer id : ids) {
+            venueScheduleService.cancel(id);
+            eventAutocompleteService.remove(id);
+            entityCacheService.evictEvent(id);
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.event_organizer_api.service;
+
+import jakarta.annotation.PostConstruct;
+import org.example.event_organizer_api.dto.event.EventSuggestionDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.utilities.TrigramIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service that suggests events as their name or type is being typed.
+ * Suggestions come from an in-memory trigram index of every event, so they never reach the database.
+ * The index is loaded at startup and kept up to date by the event service as events are created, updated and deleted.
+ * It is also rebuilt periodically to pick up changes made elsewhere, such as events deleted along with their organizer.
+ * Changes committed while a rebuild is reading the events are recorded and replayed on the rebuilt index,
+ * since the rows it read may predate them.
+ */
+@Service
+public class EventAutocompleteService {
+    private static final Logger logger = LoggerFactory.getLogger(EventAutocompleteService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TrigramIndex<EventSuggestionDTO> index = new TrigramIndex<>();
+    private final Object updates = new Object();
+    // Non-null while a rebuild is running, guarded by updates.
+    private List<Runnable> replay;
+
+    /**
+     * Constructor for EventAutocompleteService.
+     *
+     * @param jdbcTemplate the JDBC template used to load the events
+     */
+    @Autowired
+    public EventAutocompleteService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rebuilds the index from the events table.
+     * A failed rebuild keeps the current index, which the event service goes on maintaining.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${autocomplete.rebuild-interval-ms:3600000}", initialDelayString = "${autocomplete.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (updates) {
+            if (replay != null) {
+                return;
+            }
+            replay = new ArrayList<>();
+        }
+        try {
+            // Recording starts before the query, so every change it may have missed is replayed.
+            List<EventSuggestionDTO> events = jdbcTemplate.query("SELECT id, name, event_type, event_date FROM events",
+                    (resultSet, rowNum) -> new EventSuggestionDTO(resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3),
+                            resultSet.getObject(4, LocalDate.class)));
+            synchronized (updates) {
+                index.replaceAll(events, EventSuggestionDTO::getId, event -> new String[]{event.getName(), event.getEventType()});
+                replay.forEach(Runnable::run);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Unable to rebuild the event autocomplete index, keeping {} indexed events", index.size(), e);
+        } finally {
+            synchronized (updates) {
+                replay = null;
+            }
+        }
+    }
+
+    /**
+     * Indexes an event, or re-indexes it after an update, once the surrounding transaction commits.
+     *
+     * @param event the event
+     */
+    public void index(Event event) {
+        EventSuggestionDTO suggestion = new EventSuggestionDTO(event.getId(), event.getName(), event.getEventType(), event.getEventDate());
+        afterCommit(() -> apply(() -> index.put(suggestion.getId(), suggestion, suggestion.getName(), suggestion.getEventType())));
+    }
+
+    /**
+     * Removes an event from the index once the surrounding transaction commits.
+     *
+     * @param eventId the event ID
+     */
+    public void remove(Integer eventId) {
+        afterCommit(() -> apply(() -> index.remove(eventId)));
+    }
+
+    /**
+     * Suggests the events whose name or type best match what has been typed.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions
+     * @return the suggestions, best match first
+     */
+    public List<EventSuggestionDTO> suggest(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    // Applied and recorded under one lock, so the replay keeps the order in which the changes were applied.
+    private void apply(Runnable update) {
+        synchronized (updates) {
+            if (replay != null) {
+                replay.add(update);
+            }
+            update.run();
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
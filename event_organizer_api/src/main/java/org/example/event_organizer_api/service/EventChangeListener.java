@@ -0,0 +1,19 @@
+package org.example.event_organizer_api.service;
+
+/**
+ * Notified by the entity cache once a write that changes events has committed.
+ */
+public interface EventChangeListener {
+
+    /**
+     * Called when an event was added, edited or deleted, or its availability or price changed.
+     *
+     * @param eventId the event ID
+     */
+    void eventChanged(Integer eventId);
+
+    /**
+     * Called when any number of events may have changed, e.g. when a location they embed is edited.
+     */
+    void allEventsChanged();
+}
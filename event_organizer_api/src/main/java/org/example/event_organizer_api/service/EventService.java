@@ -2,6 +2,13 @@ package org.example.event_organizer_api.service;
 
 import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.dto.event.EventDTO;
+import org.example.event_organizer_api.dto.event.EventPageDTO;
+import org.example.event_organizer_api.dto.event.EventSearchDTO;
+import org.example.event_organizer_api.dto.event.EventSuggestionDTO;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.dto.event.EventSalesDTO;
+import org.example.event_organizer_api.dto.event.OrganizerStatsDTO;
+import org.example.event_organizer_api.dto.event.SalesTimelineDTO;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,9 +17,15 @@ public interface EventService {
     Event createEvent(EventDTO eventDTO);
     Event updateEvent(Integer id, EventDTO eventDTO);
     void deleteEvent(Integer id);
-    Optional<Event> getEventById(Integer id);
-    List<Event> getAllEvents();
-    List<Event> getEventsByOrganizer(Integer organizerId);
+    Optional<EventSummaryDTO> getEventById(Integer id);
+    List<EventSummaryDTO> getAllEvents();
+    EventPageDTO getEventCatalog(String cursor, int size);
+    EventPageDTO searchEvents(EventSearchDTO criteria, String cursor, int size);
+    List<EventSuggestionDTO> suggestEvents(String query, int limit);
+    List<EventSummaryDTO> getEventsByOrganizer(Integer organizerId);
     Event setEventOnSale(Integer id, Integer salePercent);
+    EventSalesDTO getEventSales(Integer id);
+    OrganizerStatsDTO getOrganizerStats(Integer organizerId);
+    SalesTimelineDTO getSalesTimeline(Integer id);
 }
 
@@ -1,19 +1,34 @@
 package org.example.event_organizer_api.service;
 
 import org.example.event_organizer_api.dto.event.EventDTO;
+import org.example.event_organizer_api.dto.event.EventPageDTO;
+import org.example.event_organizer_api.dto.event.EventSearchDTO;
+import org.example.event_organizer_api.dto.event.EventSuggestionDTO;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.dto.event.EventSalesDTO;
+import org.example.event_organizer_api.dto.event.OrganizerStatsDTO;
+import org.example.event_organizer_api.dto.event.SalesTimelineDTO;
 import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.entity.Location;
 import org.example.event_organizer_api.entity.User;
 import org.example.event_organizer_api.mapper.EventMapper;
 import org.example.event_organizer_api.repository.EventRepository;
+import org.example.event_organizer_api.repository.EventSpecifications;
 import org.example.event_organizer_api.repository.LocationRepository;
 import org.example.event_organizer_api.repository.TicketRepository;
 import org.example.event_organizer_api.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 /**
@@ -21,6 +36,10 @@ import java.util.*;
  */
 @Service
 public class EventServiceImpl implements EventService {
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_SUGGESTIONS = 20;
+    static final int DEFAULT_DURATION_MINUTES = 120;
+    private static final Sort CATALOG_ORDER = Sort.by("eventDate", "id");
 
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
@@ -28,6 +47,12 @@ public class EventServiceImpl implements EventService {
     private final TicketRepository ticketRepository;
     private final EventMapper eventMapper;
     private final EmailService emailService;
+    private final InventoryService inventoryService;
+    private final EventStatsService eventStatsService;
+    private final SalesTimelineService salesTimelineService;
+    private final EventAutocompleteService eventAutocompleteService;
+    private final EntityCacheService entityCacheService;
+    private final VenueScheduleService venueScheduleService;
 
     /**
      * Constructor for EventServiceImpl.
@@ -38,15 +63,30 @@ public class EventServiceImpl implements EventService {
      * @param ticketRepository the ticket repository
      * @param eventMapper the event mapper
      * @param emailService the email service
+     * @param inventoryService the inventory service
+     * @param eventStatsService the event stats service
+     * @param salesTimelineService the sales timeline service
+     * @param eventAutocompleteService the event autocomplete service
+     * @param entityCacheService the entity cache service
+     * @param venueScheduleService the venue schedule service
      */
     @Autowired
-    public EventServiceImpl(EventRepository eventRepository, UserRepository userRepository, LocationRepository locationRepository, TicketRepository ticketRepository, EventMapper eventMapper, EmailService emailService) {
+    public EventServiceImpl(EventRepository eventRepository, UserRepository userRepository, LocationRepository locationRepository, TicketRepository ticketRepository,
+                            EventMapper eventMapper, EmailService emailService, InventoryService inventoryService, EventStatsService eventStatsService,
+                            SalesTimelineService salesTimelineService, EventAutocompleteService eventAutocompleteService,
+                            EntityCacheService entityCacheService, VenueScheduleService venueScheduleService) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.locationRepository = locationRepository;
         this.ticketRepository = ticketRepository;
         this.eventMapper = eventMapper;
         this.emailService = emailService;
+        this.inventoryService = inventoryService;
+        this.eventStatsService = eventStatsService;
+        this.salesTimelineService = salesTimelineService;
+        this.eventAutocompleteService = eventAutocompleteService;
+        this.entityCacheService = entityCacheService;
+        this.venueScheduleService = venueScheduleService;
     }
 
     /**
@@ -54,10 +94,13 @@ public class EventServiceImpl implements EventService {
      *
      * @param eventDTO the event data transfer object
      * @return the created event
+     * @throws IllegalArgumentException if the duration is not positive or the location is already booked at that time
      */
     @Override
+    @Transactional
     public Event createEvent(EventDTO eventDTO) {
         Event event = eventMapper.toEntity(eventDTO);
+        event.setDurationMinutes(durationOf(eventDTO, DEFAULT_DURATION_MINUTES));
 
         User organizer = userRepository.findById(eventDTO.getOrganizer())
                 .orElseThrow(() -> new NoSuchElementException("Organizer not found with ID: " + eventDTO.getOrganizer()));
@@ -68,7 +111,11 @@ public class EventServiceImpl implements EventService {
         event.setLocation(location);
         event.setTicketsAvailable(location.getCapacity());
 
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        venueScheduleService.book(savedEvent);
+        eventAutocompleteService.index(savedEvent);
+        entityCacheService.eventAdded(savedEvent.getId());
+        return savedEvent;
     }
 
     /**
@@ -77,29 +124,30 @@ public class EventServiceImpl implements EventService {
      * @param id the event ID
      * @param eventDTO the event data transfer object
      * @return the updated event
+     * @throws IllegalArgumentException if the duration is not positive or the location is already booked at that time
      */
     @Override
+    @Transactional
     public Event updateEvent(Integer id, EventDTO eventDTO) {
-        Event existingEvent = eventRepository.findById(id)
+        Event existingEvent = eventRepository.findWithLocationById(id)
                 .orElseThrow(() -> new NoSuchElementException("Event not found with ID: " + id));
 
-        int ticketsSoldCount = ticketRepository.findByEvent(existingEvent).size();
-
         Location newLocation = locationRepository.findById(eventDTO.getLocation())
                 .orElseThrow(() -> new NoSuchElementException("Location not found with ID: " + eventDTO.getLocation()));
 
-        int newTicketsAvailable = newLocation.getCapacity() - ticketsSoldCount;
-
-        if (newTicketsAvailable < 0) {
-            throw new IllegalArgumentException("The new location does not have enough capacity for the tickets already sold.");
+        int capacityDelta = newLocation.getCapacity() - existingEvent.getLocation().getCapacity();
+        boolean hot = inventoryService.isHot(id);
+        if (hot) {
+            inventoryService.adjustCapacity(id, capacityDelta);
         }
 
         existingEvent.setName(eventDTO.getName());
         existingEvent.setEventType(eventDTO.getEventType());
         existingEvent.setEventDate(eventDTO.getEventDate());
         existingEvent.setEventTime(eventDTO.getEventTime());
+        // Clients that do not send a duration keep the current one.
+        existingEvent.setDurationMinutes(durationOf(eventDTO, existingEvent.getDurationMinutes()));
         existingEvent.setLocation(newLocation);
-        existingEvent.setTicketsAvailable(newTicketsAvailable);
 
         if (!Objects.equals(eventDTO.getOnSale(), existingEvent.getOnSale())) {
             if (eventDTO.getOnSale() < 0 || eventDTO.getOnSale() > 100) {
@@ -118,7 +166,19 @@ public class EventServiceImpl implements EventService {
                 .orElseThrow(() -> new NoSuchElementException("Organizer not found with ID: " + eventDTO.getOrganizer()));
         existingEvent.setOrganizer(organizer);
 
-        return eventRepository.save(existingEvent);
+        Event savedEvent = eventRepository.save(existingEvent);
+        if (!hot && capacityDelta != 0) {
+            // Applied to the row as a delta, after the other fields are flushed, so that concurrent purchases and
+            // outstanding holds, which already took their seats off the row, are never written back.
+            if (eventRepository.adjustTicketsAvailable(id, capacityDelta) == 0) {
+                throw new IllegalArgumentException("The new location does not have enough capacity for the tickets already sold.");
+            }
+            savedEvent.setTicketsAvailable(savedEvent.getTicketsAvailable() + capacityDelta);
+        }
+        venueScheduleService.book(savedEvent);
+        eventAutocompleteService.index(savedEvent);
+        entityCacheService.evictEvent(id);
+        return savedEvent;
     }
 
     /**
@@ -131,17 +191,20 @@ public class EventServiceImpl implements EventService {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Event not found with ID: " + id));
         eventRepository.delete(event);
+        venueScheduleService.cancel(id);
+        eventAutocompleteService.remove(id);
+        entityCacheService.evictEvent(id);
     }
 
     /**
-     * Retrieves an event by its ID.
+     * Retrieves an event by its ID, from the entity cache when it has it.
      *
      * @param id the event ID
      * @return the event, if found
      */
     @Override
-    public Optional<Event> getEventById(Integer id) {
-        return eventRepository.findById(id);
+    public Optional<EventSummaryDTO> getEventById(Integer id) {
+        return entityCacheService.getEvent(id, eventRepository::findSummaryById);
     }
 
     /**
@@ -150,8 +213,88 @@ public class EventServiceImpl implements EventService {
      * @return a list of all events
      */
     @Override
-    public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+    public List<EventSummaryDTO> getAllEvents() {
+        return eventRepository.findAllSummaries();
+    }
+
+    /**
+     * Retrieves a page of the event catalog, ordered by date then ID.
+     * Each page resumes right after the last event of the previous one, so every page is an index range scan
+     * whatever its depth, and events added or removed meanwhile never shift the following pages.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the maximum number of events in the page
+     * @return the events of the page and the cursor of the next one, which is null on the last page
+     */
+    @Override
+    public EventPageDTO getEventCatalog(String cursor, int size) {
+        checkPageSize(size);
+        // One extra event tells whether there is a next page without counting the rest.
+        Limit limit = Limit.of(size + 1);
+        List<EventSummaryDTO> events;
+        if (cursor == null || cursor.isEmpty()) {
+            events = eventRepository.findCatalogPage(limit);
+        } else {
+            CatalogCursor after = CatalogCursor.decode(cursor);
+            events = eventRepository.findCatalogPageAfter(after.eventDate(), after.id(), limit);
+        }
+        return toPage(events, size);
+    }
+
+    /**
+     * Searches events, ordered by date then ID and paginated like the catalog.
+     * Only the criteria that are set are applied.
+     *
+     * @param criteria the search criteria
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the maximum number of events in the page
+     * @return the matching events of the page and the cursor of the next one, which is null on the last page
+     */
+    @Override
+    public EventPageDTO searchEvents(EventSearchDTO criteria, String cursor, int size) {
+        checkPageSize(size);
+        if (criteria.getDateFrom() != null && criteria.getDateTo() != null && criteria.getDateFrom().isAfter(criteria.getDateTo())) {
+            throw new IllegalArgumentException("Start of the date window must not be after its end");
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Minimum price must not be greater than maximum price");
+        }
+
+        List<Specification<Event>> filters = new ArrayList<>();
+        if (criteria.getEventType() != null && !criteria.getEventType().isEmpty()) {
+            filters.add(EventSpecifications.hasEventType(criteria.getEventType()));
+        }
+        if (criteria.getDateFrom() != null) {
+            filters.add(EventSpecifications.startsOnOrAfter(criteria.getDateFrom()));
+        }
+        if (criteria.getDateTo() != null) {
+            filters.add(EventSpecifications.startsOnOrBefore(criteria.getDateTo()));
+        }
+        if (criteria.getMinPrice() != null) {
+            filters.add(EventSpecifications.priceAtLeast(criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            filters.add(EventSpecifications.priceAtMost(criteria.getMaxPrice()));
+        }
+        if (criteria.getLocation() != null) {
+            filters.add(EventSpecifications.atLocation(criteria.getLocation()));
+        }
+        if (criteria.getOrganizer() != null) {
+            filters.add(EventSpecifications.organizedBy(criteria.getOrganizer()));
+        }
+        if (criteria.isOnSale()) {
+            filters.add(EventSpecifications.onSale());
+        }
+        if (criteria.isAvailable()) {
+            filters.add(EventSpecifications.hasTicketsAvailable());
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            CatalogCursor after = CatalogCursor.decode(cursor);
+            filters.add(EventSpecifications.after(after.eventDate(), after.id()));
+        }
+
+        List<EventSummaryDTO> events = eventRepository.findSummaries(Specification.allOf(filters), CATALOG_ORDER, size + 1);
+        return toPage(events, size);
     }
 
     /**
@@ -161,10 +304,11 @@ public class EventServiceImpl implements EventService {
      * @return a list of events organized by the user
      */
     @Override
-    public List<Event> getEventsByOrganizer(Integer organizerId) {
-        User organizer = userRepository.findById(organizerId)
-                .orElseThrow(() -> new NoSuchElementException("Organizer not found with ID: " + organizerId));
-        return eventRepository.findByOrganizer(organizer);
+    public List<EventSummaryDTO> getEventsByOrganizer(Integer organizerId) {
+        if (!userRepository.existsById(organizerId)) {
+            throw new NoSuchElementException("Organizer not found with ID: " + organizerId);
+        }
+        return eventRepository.findSummariesByOrganizerId(organizerId);
     }
 
     /**
@@ -180,7 +324,7 @@ public class EventServiceImpl implements EventService {
             throw new IllegalArgumentException("Sale percent must be between 0 and 100");
         }
 
-        Event event = eventRepository.findById(id)
+        Event event = eventRepository.findWithLocationAndOrganizerById(id)
                 .orElseThrow(() -> new NoSuchElementException("Event not found with ID: " + id));
 
         BigDecimal originalPrice = event.getPrice().divide(BigDecimal.valueOf(1 - event.getOnSale() / 100.0), 2, RoundingMode.HALF_UP);
@@ -193,7 +337,66 @@ public class EventServiceImpl implements EventService {
         event.setOnSale(salePercent);
         event.setPrice(newPrice);
 
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        entityCacheService.evictEvent(id);
+        return savedEvent;
+    }
+
+    /**
+     * Retrieves the sales figures of an event.
+     * The figures are aggregated by the database, so no ticket is loaded.
+     *
+     * @param id the event ID
+     * @return the tickets sold, the revenue and the number of distinct buyers
+     */
+    @Override
+    public EventSalesDTO getEventSales(Integer id) {
+        if (!eventRepository.existsById(id)) {
+            throw new NoSuchElementException("Event not found with ID: " + id);
+        }
+        return ticketRepository.getSalesByEventId(id)
+                .orElseGet(() -> new EventSalesDTO(id, 0L, BigDecimal.ZERO, 0L));
+    }
+
+    /**
+     * Retrieves the dashboard stats of all events of an organizer.
+     *
+     * @param organizerId the organizer ID
+     * @return the per-event rollups and their totals
+     */
+    @Override
+    public OrganizerStatsDTO getOrganizerStats(Integer organizerId) {
+        if (!userRepository.existsById(organizerId)) {
+            throw new NoSuchElementException("Organizer not found with ID: " + organizerId);
+        }
+        return eventStatsService.getOrganizerStats(organizerId);
+    }
+
+    /**
+     * Suggests events whose name or type match what has been typed, from the in-memory autocomplete index.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions
+     * @return the suggestions, best match first
+     */
+    @Override
+    public List<EventSuggestionDTO> suggestEvents(String query, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Number of suggestions must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return eventAutocompleteService.suggest(query, limit);
+    }
+
+    /**
+     * Retrieves the per-minute purchases and refunds of an event over the last hours.
+     * The timeline is served from memory without querying the database.
+     *
+     * @param id the event ID
+     * @return the recent minutes with sales, oldest first
+     */
+    @Override
+    public SalesTimelineDTO getSalesTimeline(Integer id) {
+        return salesTimelineService.getTimeline(id);
     }
 
     /**
@@ -221,8 +424,47 @@ public class EventServiceImpl implements EventService {
                 .orElseThrow(() -> new NoSuchElementException("Event not found with ID: " + eventId));
         return event.getOrganizer().getId().equals(userId);
     }
-}
 
+    private static int durationOf(EventDTO eventDTO, int defaultMinutes) {
+        if (eventDTO.getDurationMinutes() == null) {
+            return defaultMinutes;
+        }
+        if (eventDTO.getDurationMinutes() <= 0) {
+            throw new IllegalArgumentException("Duration must be greater than zero");
+        }
+        return eventDTO.getDurationMinutes();
+    }
 
+    private static void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
 
+    private static EventPageDTO toPage(List<EventSummaryDTO> events, int size) {
+        if (events.size() <= size) {
+            return new EventPageDTO(events, null);
+        }
+        List<EventSummaryDTO> page = new ArrayList<>(events.subList(0, size));
+        EventSummaryDTO last = page.get(size - 1);
+        return new EventPageDTO(page, new CatalogCursor(last.getEventDate(), last.getId()).encode());
+    }
+
+    // The position after an event in the catalog, handed to clients as an opaque URL-safe string.
+    private record CatalogCursor(LocalDate eventDate, Integer id) {
+        private String encode() {
+            String position = eventDate + "_" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
 
+        private static CatalogCursor decode(String cursor) {
+            try {
+                String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = position.indexOf('_');
+                return new CatalogCursor(LocalDate.parse(position.substring(0, separator)), Integer.valueOf(position.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.event.EventStatsDTO;
+import org.example.event_organizer_api.dto.event.OrganizerStatsDTO;
+import org.example.event_organizer_api.repository.EventStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that maintains per-event sales rollups: tickets sold, gross revenue, refunds and wishlist count.
+ * Purchases, refunds and wishlist changes append a delta row to event_stats_deltas inside the transaction of the change,
+ * so a change is recorded exactly when it commits and survives a crash, without every buyer of an event
+ * waiting on the lock of its single stats row. A background flusher folds the deltas into the event_stats table
+ * in one statement that deletes them, so no delta is ever counted twice or lost between two flushes.
+ * Reading the stats of an organizer is a single query over their events, plus the deltas not folded yet.
+ */
+@Service
+public class EventStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(EventStatsService.class);
+
+    private static final String INSERT_DELTA = "INSERT INTO event_stats_deltas (event_id, tickets_sold, gross_revenue, refunds, refunded_amount, wishlist_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    // The existence check skips events deleted since the delta was recorded.
+    private static final String FOLD_DELTAS = "WITH drained AS (DELETE FROM event_stats_deltas " +
+            "RETURNING event_id, tickets_sold, gross_revenue, refunds, refunded_amount, wishlist_count) " +
+            "INSERT INTO event_stats (event_id, tickets_sold, gross_revenue, refunds, refunded_amount, wishlist_count) " +
+            "SELECT event_id, sum(tickets_sold), sum(gross_revenue), sum(refunds), sum(refunded_amount), sum(wishlist_count) " +
+            "FROM drained d WHERE EXISTS (SELECT 1 FROM events e WHERE e.id = d.event_id) GROUP BY event_id " +
+            "ON CONFLICT (event_id) DO UPDATE SET " +
+            "tickets_sold = event_stats.tickets_sold + EXCLUDED.tickets_sold, " +
+            "gross_revenue = event_stats.gross_revenue + EXCLUDED.gross_revenue, " +
+            "refunds = event_stats.refunds + EXCLUDED.refunds, " +
+            "refunded_amount = event_stats.refunded_amount + EXCLUDED.refunded_amount, " +
+            "wishlist_count = event_stats.wishlist_count + EXCLUDED.wishlist_count";
+    private static final String PENDING_DELTAS = "SELECT d.event_id, sum(d.tickets_sold), sum(d.gross_revenue), sum(d.refunds), " +
+            "sum(d.refunded_amount), sum(d.wishlist_count) FROM event_stats_deltas d JOIN events e ON e.id = d.event_id " +
+            "WHERE e.organizer_id = ? GROUP BY d.event_id";
+
+    private final EventStatsRepository eventStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for EventStatsService.
+     *
+     * @param eventStatsRepository the event stats repository
+     * @param jdbcTemplate the JDBC template used to record and fold the deltas
+     */
+    @Autowired
+    public EventStatsService(EventStatsRepository eventStatsRepository, JdbcTemplate jdbcTemplate) {
+        this.eventStatsRepository = eventStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records tickets sold for an event. Negative values correct an earlier sale.
+     *
+     * @param eventId the event ID
+     * @param quantity the number of tickets sold
+     * @param amount the amount paid for them
+     */
+    public void recordSale(Integer eventId, long quantity, BigDecimal amount) {
+        record(eventId, new Delta(quantity, amount, 0, BigDecimal.ZERO, 0));
+    }
+
+    /**
+     * Records tickets refunded for an event.
+     *
+     * @param eventId the event ID
+     * @param quantity the number of tickets refunded
+     * @param amount the amount refunded
+     */
+    public void recordRefund(Integer eventId, long quantity, BigDecimal amount) {
+        record(eventId, new Delta(0, BigDecimal.ZERO, quantity, amount, 0));
+    }
+
+    /**
+     * Records users adding an event to or removing it from their wishlist.
+     *
+     * @param eventId the event ID
+     * @param delta the change in the number of wishlists containing the event
+     */
+    public void recordWishlist(Integer eventId, long delta) {
+        record(eventId, new Delta(0, BigDecimal.ZERO, 0, BigDecimal.ZERO, delta));
+    }
+
+    /**
+     * Retrieves the stats of all events of an organizer, including changes not folded yet.
+     *
+     * @param organizerId the organizer ID
+     * @return the per-event stats and their totals
+     */
+    public OrganizerStatsDTO getOrganizerStats(Integer organizerId) {
+        List<EventStatsDTO> events = eventStatsRepository.findStatsByOrganizerId(organizerId);
+        Map<Integer, Delta> pending = new HashMap<>();
+        jdbcTemplate.query(PENDING_DELTAS, resultSet -> {
+            pending.put(resultSet.getInt(1), new Delta(resultSet.getLong(2), resultSet.getBigDecimal(3),
+                    resultSet.getLong(4), resultSet.getBigDecimal(5), resultSet.getLong(6)));
+        }, organizerId);
+
+        OrganizerStatsDTO totals = new OrganizerStatsDTO(organizerId, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 0L, events);
+        for (EventStatsDTO stats : events) {
+            Delta delta = pending.get(stats.getEventId());
+            if (delta != null) {
+                delta.applyTo(stats);
+            }
+            totals.setTicketsSold(totals.getTicketsSold() + stats.getTicketsSold());
+            totals.setGrossRevenue(totals.getGrossRevenue().add(stats.getGrossRevenue()));
+            totals.setRefunds(totals.getRefunds() + stats.getRefunds());
+            totals.setRefundedAmount(totals.getRefundedAmount().add(stats.getRefundedAmount()));
+            totals.setWishlistCount(totals.getWishlistCount() + stats.getWishlistCount());
+        }
+        return totals;
+    }
+
+    /**
+     * Folds the recorded deltas into the event_stats table in one statement.
+     */
+    @Scheduled(fixedDelayString = "${stats.flush-interval-ms:1000}")
+    public void flushStats() {
+        try {
+            jdbcTemplate.update(FOLD_DELTAS);
+        } catch (DataAccessException e) {
+            // The deltas are only deleted together with their upsert, so they are folded by the next flush.
+            logger.warn("Unable to fold the stats deltas, retrying on the next flush", e);
+        }
+    }
+
+    // Runs in the caller's transaction, so the delta commits or rolls back with the change it records.
+    private void record(Integer eventId, Delta delta) {
+        jdbcTemplate.update(INSERT_DELTA, eventId, delta.ticketsSold, delta.grossRevenue, delta.refunds, delta.refundedAmount, delta.wishlistCount);
+    }
+
+    private record Delta(long ticketsSold, BigDecimal grossRevenue, long refunds, BigDecimal refundedAmount, long wishlistCount) {
+
+        private void applyTo(EventStatsDTO stats) {
+            stats.setTicketsSold(stats.getTicketsSold() + ticketsSold);
+            stats.setGrossRevenue(stats.getGrossRevenue().add(grossRevenue));
+            stats.setRefunds(stats.getRefunds() + refunds);
+            stats.setRefundedAmount(stats.getRefundedAmount().add(refundedAmount));
+            stats.setWishlistCount(stats.getWishlistCount() + wishlistCount);
+        }
+    }
+}
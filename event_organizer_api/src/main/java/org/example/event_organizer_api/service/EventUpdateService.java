@@ -0,0 +1,376 @@
+package org.example.event_organizer_api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.example.event_organizer_api.dto.event.EventUpdateDTO;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service that pushes the availability and price of events to the clients watching them, over Server-Sent Events.
+ * Committed changes only mark the event as changed; a scheduled task reads every changed event that has subscribers
+ * in one query, serializes each once and sends the same encoded message to all of its subscribers,
+ * so an event selling many tickets a second still sends at most one update per interval, and only when it differs.
+ * An idle subscription is an emitter parked on an async request, without a thread or a connection, plus its entry in the subscriber sets.
+ * Heartbeats find the connections the clients dropped, so they do not linger until they time out.
+ * Every subscription has its own bounded queue of messages, written in order by one of a few sender threads.
+ * A client that stops reading blocks at most one sender thread, and only its own queue fills up;
+ * once it is full the subscription is closed, and the client reconnects to start again from the current state.
+ */
+@Service
+public class EventUpdateService implements EventChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(EventUpdateService.class);
+
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int maxEventsPerSubscription;
+    private final int maxQueued;
+    private final Executor sender;
+    private final Map<Integer, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, String> lastSent = new ConcurrentHashMap<>();
+    private final Set<Integer> changed = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean allChanged = new AtomicBoolean();
+
+    /**
+     * Constructor for EventUpdateService.
+     *
+     * @param eventRepository the event repository
+     * @param objectMapper the object mapper used for every other response
+     * @param timeoutMillis how long a subscription stays open before the client has to reconnect
+     * @param maxEventsPerSubscription how many events one subscription may watch
+     * @param maxQueued how many messages may wait for one subscription before it is closed as too slow
+     * @param senderThreads how many threads write to the subscriptions
+     */
+    @Autowired
+    public EventUpdateService(EventRepository eventRepository, ObjectMapper objectMapper,
+                              @Value("${event.updates.timeout-ms:1800000}") long timeoutMillis,
+                              @Value("${event.updates.max-events:100}") int maxEventsPerSubscription,
+                              @Value("${event.updates.max-queued:32}") int maxQueued,
+                              @Value("${event.updates.sender-threads:4}") int senderThreads) {
+        // Writes block while a client is not reading, so they never run on the scheduler or on a single shared thread.
+        this(eventRepository, objectMapper, timeoutMillis, maxEventsPerSubscription, maxQueued, Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "event-updates");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    EventUpdateService(EventRepository eventRepository, ObjectMapper objectMapper, long timeoutMillis,
+                       int maxEventsPerSubscription, int maxQueued, Executor sender) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.maxEventsPerSubscription = maxEventsPerSubscription;
+        this.maxQueued = maxQueued;
+        this.sender = sender;
+    }
+
+    /**
+     * Opens a subscription to the updates of some events, starting with their current state.
+     * Events that do not exist, or are deleted later, are reported once as removed.
+     *
+     * @param eventIds the IDs of the events to watch
+     * @return the emitter streaming the updates
+     * @throws IllegalArgumentException if no events or too many events are given
+     */
+    public SseEmitter subscribe(Collection<Integer> eventIds) {
+        Set<Integer> ids = Set.copyOf(eventIds);
+        if (ids.isEmpty() || ids.size() > maxEventsPerSubscription) {
+            throw new IllegalArgumentException("A subscription must watch between 1 and " + maxEventsPerSubscription + " events");
+        }
+
+        Subscription subscription = new Subscription(createEmitter(timeoutMillis), ids);
+        subscription.emitter.onCompletion(() -> unsubscribe(subscription));
+        subscription.emitter.onTimeout(subscription.emitter::complete);
+        subscription.emitter.onError(e -> unsubscribe(subscription));
+        subscriptions.add(subscription);
+        for (Integer id : ids) {
+            subscribers.compute(id, (key, set) -> {
+                Set<Subscription> result = set != null ? set : ConcurrentHashMap.newKeySet();
+                result.add(subscription);
+                return result;
+            });
+        }
+
+        // Read on a sender thread, never through the entity manager the request keeps open until the stream ends,
+        // which would hold a pooled connection for every open subscription.
+        try {
+            sender.execute(() -> sendCurrentState(subscription));
+        } catch (RejectedExecutionException e) {
+            unsubscribe(subscription);
+            subscription.emitter.complete();
+        }
+        return subscription.emitter;
+    }
+
+    @Override
+    public void eventChanged(Integer eventId) {
+        if (subscribers.containsKey(eventId)) {
+            changed.add(eventId);
+        }
+    }
+
+    @Override
+    public void allEventsChanged() {
+        allChanged.set(true);
+    }
+
+    /**
+     * Sends the latest state of every watched event that changed since the last run to its subscribers.
+     * However many changes an event had in between, its subscribers get one update, and none if the values are the same.
+     */
+    @Scheduled(fixedDelayString = "${event.updates.interval-ms:250}")
+    public void publishChanges() {
+        Set<Integer> ids = new HashSet<>();
+        if (allChanged.getAndSet(false)) {
+            ids.addAll(subscribers.keySet());
+        }
+        for (Iterator<Integer> iterator = changed.iterator(); iterator.hasNext(); ) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        ids.retainAll(subscribers.keySet());
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<EventUpdateDTO> updates;
+        try {
+            updates = eventRepository.findUpdatesByIdIn(ids);
+        } catch (DataAccessException e) {
+            changed.addAll(ids);
+            logger.warn("Unable to read {} changed events, retrying on the next run", ids.size(), e);
+            return;
+        }
+
+        Set<Integer> missing = new HashSet<>(ids);
+        for (EventUpdateDTO update : updates) {
+            missing.remove(update.getId());
+            String json = toJson(update);
+            if (!json.equals(lastSent.put(update.getId(), json))) {
+                broadcast(update.getId(), message("update", json));
+            }
+        }
+        for (Integer id : missing) {
+            // Deleted, nothing more will ever be sent for it.
+            broadcast(id, removedMessage(id));
+            subscribers.remove(id);
+            lastSent.remove(id);
+        }
+    }
+
+    /**
+     * Sends a comment to every subscription, which fails on the connections the clients closed and releases them.
+     */
+    @Scheduled(fixedDelayString = "${event.updates.heartbeat-ms:20000}")
+    public void sendHeartbeats() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("").build();
+        List.copyOf(subscriptions).forEach(subscription -> enqueue(subscription, heartbeat));
+    }
+
+    /**
+     * Retrieves the number of open subscriptions.
+     *
+     * @return the number of subscriptions
+     */
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stops the sender and closes every subscription, so clients reconnect to the next instance.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        List.copyOf(subscriptions).forEach(subscription -> subscription.emitter.complete());
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void sendCurrentState(Subscription subscription) {
+        try {
+            // Registered first, so a change committed after this read is published by the next run.
+            List<EventUpdateDTO> current;
+            try {
+                current = eventRepository.findUpdatesByIdIn(subscription.eventIds);
+            } catch (DataAccessException e) {
+                logger.warn("Unable to read the current state of {} events, closing the subscription", subscription.eventIds.size(), e);
+                unsubscribe(subscription);
+                subscription.emitter.completeWithError(e);
+                return;
+            }
+            Set<Integer> missing = new HashSet<>(subscription.eventIds);
+            for (EventUpdateDTO update : current) {
+                missing.remove(update.getId());
+                if (!send(subscription, message("update", toJson(update)))) {
+                    return;
+                }
+            }
+            for (Integer id : missing) {
+                if (!send(subscription, removedMessage(id))) {
+                    return;
+                }
+            }
+        } finally {
+            // The updates queued meanwhile go out after the current state.
+            subscription.draining.set(false);
+            if (isOpen(subscription) && !subscription.queue.isEmpty()) {
+                scheduleDrain(subscription);
+            }
+        }
+    }
+
+    private void broadcast(Integer eventId, Set<DataWithMediaType> message) {
+        Set<Subscription> targets = subscribers.get(eventId);
+        if (targets == null) {
+            return;
+        }
+        List.copyOf(targets).forEach(subscription -> enqueue(subscription, message));
+    }
+
+    // Never blocks, whatever the client does: the caller is the scheduler.
+    private void enqueue(Subscription subscription, Set<DataWithMediaType> message) {
+        if (!subscriptions.contains(subscription)) {
+            return;
+        }
+        if (subscription.queued.incrementAndGet() > maxQueued) {
+            // Its sender is stuck writing, so the emitter is completed by that sender once the write returns.
+            logger.debug("Closing a subscription to {} events that stopped reading", subscription.eventIds.size());
+            subscription.tooSlow = true;
+            unsubscribe(subscription);
+            return;
+        }
+        subscription.queue.add(message);
+        scheduleDrain(subscription);
+    }
+
+    private void scheduleDrain(Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscription));
+            } catch (RejectedExecutionException e) {
+                subscription.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        for (Set<DataWithMediaType> message; (message = subscription.queue.poll()) != null; ) {
+            subscription.queued.decrementAndGet();
+            if (!isOpen(subscription) || !send(subscription, message)) {
+                return;
+            }
+        }
+        subscription.draining.set(false);
+        // A message queued after the last poll but before the flag was cleared would otherwise wait for the next one.
+        if (isOpen(subscription) && !subscription.queue.isEmpty()) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    // Completes a subscription closed as too slow, now that its sender is no longer stuck writing to it.
+    private boolean isOpen(Subscription subscription) {
+        if (subscription.tooSlow) {
+            subscription.emitter.complete();
+            return false;
+        }
+        return subscriptions.contains(subscription);
+    }
+
+    private boolean send(Subscription subscription, Set<DataWithMediaType> message) {
+        try {
+            subscription.emitter.send(message);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client is gone, or the emitter already completed.
+            unsubscribe(subscription);
+            subscription.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        for (Integer id : subscription.eventIds) {
+            subscribers.computeIfPresent(id, (key, set) -> {
+                set.remove(subscription);
+                if (set.isEmpty()) {
+                    lastSent.remove(id);
+                    return null;
+                }
+                return set;
+            });
+        }
+    }
+
+    private static Set<DataWithMediaType> message(String name, String json) {
+        return SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON).build();
+    }
+
+    private static Set<DataWithMediaType> removedMessage(Integer eventId) {
+        return message("removed", "{\"id\":" + eventId + "}");
+    }
+
+    private String toJson(EventUpdateDTO update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize the update of event " + update.getId(), e);
+        }
+    }
+
+    // Compared by identity, one per open stream.
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final Set<Integer> eventIds;
+        private final Queue<Set<DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        // Held by whoever writes to the emitter, starting with the current state.
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+        private volatile boolean tooSlow;
+
+        private Subscription(SseEmitter emitter, Set<Integer> eventIds) {
+            this.emitter = emitter;
+            this.eventIds = eventIds;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.export.ExportJobDTO;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+public interface ExportJobService {
+    ExportJobDTO submitJob(String type);
+    ExportJobDTO getJob(String jobId);
+    Path getResultFile(String jobId);
+    long transferResult(String jobId, WritableByteChannel target) throws IOException;
+    void deleteJob(String jobId);
+}
@@ -0,0 +1,339 @@
+package org.example.event_organizer_api.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.event_organizer_api.dto.export.ExportJobDTO;
+import org.example.event_organizer_api.exceptions.AdmissionDeniedException;
+import org.example.event_organizer_api.utilities.ExportWriter;
+import org.example.event_organizer_api.utilities.MappedFileOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service implementation for admin export jobs that are too large for a single request.
+ * Jobs run on a small fixed pool, so at most that many database connections are ever taken by exports
+ * and the purchase path keeps the rest of the pool. Each job streams its rows through a forward-only cursor
+ * into a memory-mapped temporary file; finished files are kept for a while and served with transferTo.
+ */
+@Service
+public class ExportJobServiceImpl implements ExportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobServiceImpl.class);
+    private static final int FETCH_SIZE = 1000;
+    private static final int WINDOW_BYTES = 8 * 1024 * 1024;
+
+    static final String QUEUED = "QUEUED";
+    static final String RUNNING = "RUNNING";
+    static final String COMPLETED = "COMPLETED";
+    static final String FAILED = "FAILED";
+
+    private static final Map<String, ExportType> TYPES = Map.of(
+            "tickets", new ExportType("Ticket ID,User ID,Name,Email,Event ID,Event Name,Event Date,Quantity,Purchase Price\n",
+                    "SELECT t.id, t.user_id, u.name, u.email, t.event_id, e.name, e.event_date, t.quantity, t.purchase_price " +
+                            "FROM tickets t JOIN users u ON u.id = t.user_id JOIN events e ON e.id = t.event_id ORDER BY t.id",
+                    (resultSet, writer) -> writer.number(resultSet.getInt(1)).ascii(',')
+                            .number(resultSet.getInt(2)).ascii(',')
+                            .csv(resultSet.getString(3)).ascii(',')
+                            .csv(resultSet.getString(4)).ascii(',')
+                            .number(resultSet.getInt(5)).ascii(',')
+                            .csv(resultSet.getString(6)).ascii(',')
+                            .date(resultSet.getObject(7, LocalDate.class)).ascii(',')
+                            .number(resultSet.getInt(8)).ascii(',')
+                            .money(resultSet.getBigDecimal(9)).ascii('\n')),
+            "events", new ExportType("Event ID,Name,Type,Date,Time,Location,Tickets Available,Price,Organizer ID,On Sale\n",
+                    "SELECT e.id, e.name, e.event_type, e.event_date, e.event_time, l.name, e.tickets_available, e.price, e.organizer_id, e.on_sale " +
+                            "FROM events e JOIN locations l ON l.id = e.location_id ORDER BY e.id",
+                    (resultSet, writer) -> writer.number(resultSet.getInt(1)).ascii(',')
+                            .csv(resultSet.getString(2)).ascii(',')
+                            .csv(resultSet.getString(3)).ascii(',')
+                            .date(resultSet.getObject(4, LocalDate.class)).ascii(',')
+                            .time(resultSet.getObject(5, LocalTime.class)).ascii(',')
+                            .csv(resultSet.getString(6)).ascii(',')
+                            .number(resultSet.getInt(7)).ascii(',')
+                            .money(resultSet.getBigDecimal(8)).ascii(',')
+                            .number(resultSet.getInt(9)).ascii(',')
+                            .number(resultSet.getInt(10)).ascii('\n')));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final int windowBytes;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for ExportJobServiceImpl.
+     *
+     * @param jdbcTemplate the JDBC template used to stream the rows
+     * @param transactionManager the transaction manager, the cursor only pages inside a transaction
+     * @param maxConcurrent how many jobs may run, and hold a database connection, at the same time
+     * @param queueSize how many submitted jobs may wait for a free worker
+     * @param retentionMinutes how long finished jobs and their files are kept
+     */
+    @Autowired
+    public ExportJobServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                @Value("${export.jobs.max-concurrent:2}") int maxConcurrent,
+                                @Value("${export.jobs.queue-size:10}") int queueSize,
+                                @Value("${export.jobs.retention-minutes:60}") long retentionMinutes) {
+        this(jdbcTemplate, transactionManager, maxConcurrent, queueSize, retentionMinutes, WINDOW_BYTES);
+    }
+
+    ExportJobServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         int maxConcurrent, int queueSize, long retentionMinutes, int windowBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "export-job-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.windowBytes = windowBytes;
+    }
+
+    /**
+     * Queues an export job.
+     *
+     * @param type what to export, tickets or events
+     * @return the queued job
+     * @throws AdmissionDeniedException if too many jobs are already waiting
+     */
+    @Override
+    public ExportJobDTO submitJob(String type) {
+        ExportType exportType = TYPES.get(type);
+        if (exportType == null) {
+            throw new IllegalArgumentException("Unknown export type: " + type);
+        }
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), type);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, exportType));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new AdmissionDeniedException("Too many export jobs in progress, please retry later", 60);
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Retrieves the status of an export job.
+     *
+     * @param jobId the job ID
+     * @return the job
+     */
+    @Override
+    public ExportJobDTO getJob(String jobId) {
+        return find(jobId).toDTO();
+    }
+
+    /**
+     * Retrieves the file holding the output of a completed export job.
+     *
+     * @param jobId the job ID
+     * @return the path of the file
+     */
+    @Override
+    public Path getResultFile(String jobId) {
+        ExportJob job = find(jobId);
+        if (!COMPLETED.equals(job.status)) {
+            throw new IllegalArgumentException("Export job " + jobId + " is " + job.status.toLowerCase() + ", not completed");
+        }
+        return job.file;
+    }
+
+    /**
+     * Copies the output of a completed export job to a channel.
+     * When the target is a file or socket channel, the kernel moves the bytes without copying them through the heap.
+     *
+     * @param jobId the job ID
+     * @param target the channel to copy the output to
+     * @return the number of bytes copied
+     * @throws IOException if the file cannot be read or the target cannot be written to
+     */
+    @Override
+    public long transferResult(String jobId, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(getResultFile(jobId), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Cancels an export job if it has not finished yet and deletes its output.
+     *
+     * @param jobId the job ID
+     */
+    @Override
+    public void deleteJob(String jobId) {
+        ExportJob job = jobs.remove(jobId);
+        if (job == null) {
+            throw new NoSuchElementException("Export job not found with ID: " + jobId);
+        }
+        discard(job);
+    }
+
+    /**
+     * Deletes the jobs, and their files, that finished longer ago than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-interval-ms:60000}")
+    public void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.completedAt == null || job.completedAt.isAfter(cutoff)) {
+                return false;
+            }
+            discard(job);
+            return true;
+        });
+    }
+
+    /**
+     * Stops the running jobs and deletes every file before shutting down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        jobs.values().forEach(this::discard);
+        jobs.clear();
+    }
+
+    private void run(ExportJob job, ExportType type) {
+        if (job.cancelled) {
+            return;
+        }
+        job.status = RUNNING;
+        try {
+            job.file = Files.createTempFile("export-" + job.type + "-", ".csv");
+            try (FileChannel channel = FileChannel.open(job.file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedFileOutputStream outputStream = new MappedFileOutputStream(channel, windowBytes);
+                ExportWriter writer = new ExportWriter(outputStream, 64 * 1024);
+                writer.raw(type.header);
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(type.sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                }, resultSet -> {
+                    if (job.cancelled) {
+                        throw new CancellationException("Export job was deleted");
+                    }
+                    try {
+                        type.rowWriter.write(resultSet, writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    job.rows++;
+                }));
+                writer.drain();
+                outputStream.close();
+                job.sizeBytes = outputStream.size();
+            }
+            job.status = COMPLETED;
+        } catch (Exception e) {
+            if (!job.cancelled) {
+                logger.error("Export job {} failed", job.id, e);
+            }
+            job.status = FAILED;
+            job.error = e.getMessage();
+            deleteFile(job);
+        } finally {
+            job.completedAt = Instant.now();
+            // A job deleted while it was running cleans up after itself.
+            if (job.cancelled) {
+                deleteFile(job);
+            }
+        }
+    }
+
+    private ExportJob find(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NoSuchElementException("Export job not found with ID: " + jobId);
+        }
+        return job;
+    }
+
+    private void discard(ExportJob job) {
+        job.cancelled = true;
+        if (!RUNNING.equals(job.status)) {
+            deleteFile(job);
+        }
+    }
+
+    private static void deleteFile(ExportJob job) {
+        Path file = job.file;
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Unable to delete export file {}", file, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet resultSet, ExportWriter writer) throws SQLException, IOException;
+    }
+
+    private record ExportType(String header, String sql, RowWriter rowWriter) {
+    }
+
+    private static final class ExportJob {
+        private final String id;
+        private final String type;
+        private final Instant createdAt = Instant.now();
+        private volatile String status = QUEUED;
+        private volatile long rows;
+        private volatile long sizeBytes;
+        private volatile Instant completedAt;
+        private volatile String error;
+        private volatile Path file;
+        private volatile boolean cancelled;
+
+        private ExportJob(String id, String type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        private ExportJobDTO toDTO() {
+            return new ExportJobDTO(id, type, status, rows, COMPLETED.equals(status) ? sizeBytes : null, createdAt, completedAt, error);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.exceptions.AdmissionDeniedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service that bounds how many exports are streamed straight to clients at the same time.
+ * A streamed export holds a database connection for as long as the client takes to download it,
+ * so without a bound a burst of slow downloads could take the whole pool away from the purchase path.
+ * A permit is taken before the response starts, so a busy server still answers with a proper status.
+ * It is returned when the export is written, or when the async request ends without the export ever running,
+ * so a timed out or failed request never keeps it.
+ */
+@Service
+public class ExportStreamLimiter {
+    private final Semaphore streams;
+
+    /**
+     * Constructor for ExportStreamLimiter.
+     *
+     * @param maxConcurrent how many exports may be streamed, and hold a database connection, at the same time
+     */
+    public ExportStreamLimiter(@Value("${export.streams.max-concurrent:4}") int maxConcurrent) {
+        this.streams = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Takes a permit to stream an export, to be closed once the export is written.
+     * Closing the permit more than once releases it only once.
+     *
+     * @return the permit
+     * @throws AdmissionDeniedException if the maximum number of exports are already being streamed
+     */
+    public Closeable acquire() {
+        if (!streams.tryAcquire()) {
+            throw new AdmissionDeniedException("Too many exports in progress, please retry", 1);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                streams.release();
+            }
+        };
+    }
+
+    /**
+     * Takes a permit to stream an export on the async request that carries it.
+     * The permit is closed once the export is written, and in any case when the request completes, times out or fails.
+     *
+     * @param request the request the export is streamed to
+     * @param export the export to stream
+     * @return the response body writing the export
+     * @throws AdmissionDeniedException if the maximum number of exports are already being streamed
+     */
+    public StreamingResponseBody stream(WebRequest request, StreamingResponseBody export) {
+        Closeable permit = acquire();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(permit, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) throws IOException {
+                // Also runs when the export was cancelled before it started, which never reaches its own close.
+                permit.close();
+            }
+        });
+        return outputStream -> {
+            try (permit) {
+                export.writeTo(outputStream);
+            }
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.event_organizer_api.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.event_organizer_api.exceptions.IdempotencyConflictException;
+import org.example.event_organizer_api.utilities.ExpiringLruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Service that remembers the responses of requests sent with an idempotency key.
+ * The first request with a key runs normally and its successful response is stored;
+ * retries with the same key get the stored response back instead of running again.
+ * A retry that arrives while the original is still running waits for it.
+ * Responses are kept in a bounded store and expire after a fixed TTL.
+ */
+@Service
+public class IdempotencyService {
+    private final ExpiringLruCache<String, Entry> responses;
+    private final long waitMillis;
+
+    /**
+     * Constructor for IdempotencyService.
+     *
+     * @param maxEntries how many responses are kept at most
+     * @param ttlSeconds how long a response is kept
+     * @param waitMillis how long a retry waits for the original request to finish
+     */
+    @Autowired
+    public IdempotencyService(@Value("${idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${idempotency.ttl-seconds:3600}") long ttlSeconds,
+                              @Value("${idempotency.wait-ms:5000}") long waitMillis) {
+        this(maxEntries, ttlSeconds, waitMillis, System::nanoTime);
+    }
+
+    IdempotencyService(int maxEntries, long ttlSeconds, long waitMillis, LongSupplier clock) {
+        this.responses = new ExpiringLruCache<>(maxEntries, ttlSeconds, TimeUnit.SECONDS, clock);
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Claims an idempotency key, or looks up the response already stored for it.
+     * A claim that does not replay a response must be finished with {@link Claim#complete} or {@link Claim#abandon}.
+     *
+     * @param key the idempotency key, scoped to the caller
+     * @param fingerprint a digest of the request, used to reject the key being reused for a different request
+     * @return the claim on the key
+     * @throws IllegalArgumentException if the key was used for a different request
+     * @throws IdempotencyConflictException if the original request is still running
+     */
+    public Claim begin(String key, String fingerprint) {
+        while (true) {
+            Entry entry = new Entry(fingerprint);
+            Entry existing = responses.putIfAbsent(key, entry);
+            if (existing == null) {
+                return new Claim(key, entry, null);
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IllegalArgumentException("Idempotency key was already used for a different request");
+            }
+
+            StoredResponse response;
+            try {
+                response = existing.response.get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new IdempotencyConflictException("A request with this idempotency key is still in progress");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyConflictException("Interrupted while waiting for the original request");
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            // The original request failed and gave the key up, so this one gets to run.
+            if (response != null) {
+                return new Claim(key, existing, response);
+            }
+        }
+    }
+
+    /**
+     * Drops expired responses.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        responses.evictExpired();
+    }
+
+    /**
+     * A response kept for replay.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class StoredResponse {
+        private int status;
+        private String contentType;
+        private byte[] body;
+    }
+
+    /**
+     * A claim on an idempotency key, either replaying a stored response or owning the key.
+     */
+    public final class Claim {
+        private final String key;
+        private final Entry entry;
+        @Getter
+        private final StoredResponse replay;
+
+        private Claim(String key, Entry entry, StoredResponse replay) {
+            this.key = key;
+            this.entry = entry;
+            this.replay = replay;
+        }
+
+        /**
+         * Checks if the claim replays a stored response.
+         *
+         * @return true if the request must not run again, false if the caller owns the key
+         */
+        public boolean isReplay() {
+            return replay != null;
+        }
+
+        /**
+         * Stores the response of the request and hands it to any waiting retries.
+         *
+         * @param response the response to replay for retries
+         */
+        public void complete(StoredResponse response) {
+            if (entry.response.complete(response)) {
+                // The TTL starts over, so a slow request is remembered for as long as a fast one.
+                responses.put(key, entry);
+            }
+        }
+
+        /**
+         * Gives the key up without storing a response, so the request can be retried.
+         */
+        public void abandon() {
+            if (!entry.response.isDone()) {
+                responses.remove(key, entry);
+                entry.response.complete(null);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
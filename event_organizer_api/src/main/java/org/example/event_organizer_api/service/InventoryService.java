@@ -0,0 +1,203 @@
+package org.example.event_organizer_api.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.example.event_organizer_api.repository.TicketRepository;
+import org.example.event_organizer_api.utilities.StripedCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service that reserves and releases ticket inventory for events.
+ * Regular events are served by a conditional update on the event row.
+ * Events configured as hot are served by in-memory striped counters that are
+ * written back to the event row in batches by a background flusher.
+ * Every change to the availability stored in an event row invalidates the cached event.
+ */
+@Service
+public class InventoryService {
+    private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
+
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityCacheService entityCacheService;
+    private final Set<Integer> hotEventIds;
+    private final int shards;
+    private final Map<Integer, StripedCounter> hotCounters = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> flushedAvailable = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for InventoryService.
+     *
+     * @param eventRepository the event repository
+     * @param ticketRepository the ticket repository
+     * @param jdbcTemplate the JDBC template used for batched write-behind
+     * @param entityCacheService the entity cache service
+     * @param hotEventIds the IDs of the events served from in-memory counters
+     * @param shards the number of counter shards per hot event
+     */
+    @Autowired
+    public InventoryService(EventRepository eventRepository, TicketRepository ticketRepository, JdbcTemplate jdbcTemplate,
+                            EntityCacheService entityCacheService,
+                            @Value("${inventory.hot-events:}") Set<Integer> hotEventIds,
+                            @Value("${inventory.hot-shards:16}") int shards) {
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityCacheService = entityCacheService;
+        this.hotEventIds = hotEventIds;
+        this.shards = shards;
+    }
+
+    /**
+     * Rebuilds the counters of the hot events from the tickets actually sold and the holds still stored.
+     * Runs at startup, so a crash can never leave a counter ahead of the ticket table.
+     */
+    @PostConstruct
+    public void rebuildHotEvents() {
+        for (Integer eventId : hotEventIds) {
+            Event event = eventRepository.findWithLocationById(eventId).orElse(null);
+            if (event == null) {
+                logger.warn("Hot event {} does not exist and will be served from the database", eventId);
+                continue;
+            }
+            long sold = ticketRepository.countSoldByEventId(eventId);
+            long held = ticketRepository.countHeldByEventId(eventId);
+            long available = Math.max(0, event.getLocation().getCapacity() - sold - held);
+            hotCounters.put(eventId, new StripedCounter(shards, available));
+            flushedAvailable.remove(eventId);
+            logger.info("Hot event {} rebuilt with {} tickets available across {} shards", eventId, available, shards);
+        }
+    }
+
+    /**
+     * Checks if an event is served from in-memory counters.
+     *
+     * @param eventId the event ID
+     * @return true if the event is hot, false otherwise
+     */
+    public boolean isHot(Integer eventId) {
+        return hotCounters.containsKey(eventId);
+    }
+
+    /**
+     * Reserves tickets for an event.
+     * For hot events the reservation is given back if the surrounding transaction rolls back.
+     *
+     * @param eventId the event ID
+     * @param quantity the number of tickets to reserve
+     * @return true if the tickets were reserved, false if not enough tickets are available
+     */
+    public boolean reserve(Integer eventId, int quantity) {
+        StripedCounter counter = hotCounters.get(eventId);
+        if (counter == null) {
+            if (eventRepository.reserveTickets(eventId, quantity) == 0) {
+                return false;
+            }
+            entityCacheService.evictEvent(eventId);
+            return true;
+        }
+
+        long hint = Thread.currentThread().threadId();
+        if (!counter.tryAcquire(quantity, hint)) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        counter.release(quantity, hint);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Releases tickets back to an event.
+     * For hot events the tickets only become available once the surrounding transaction commits.
+     *
+     * @param eventId the event ID
+     * @param quantity the number of tickets to release
+     */
+    public void release(Integer eventId, int quantity) {
+        StripedCounter counter = hotCounters.get(eventId);
+        if (counter == null) {
+            eventRepository.releaseTickets(eventId, quantity);
+            entityCacheService.evictEvent(eventId);
+            return;
+        }
+
+        long hint = Thread.currentThread().threadId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.release(quantity, hint);
+                }
+            });
+        } else {
+            counter.release(quantity, hint);
+        }
+    }
+
+    /**
+     * Applies a change in venue capacity to a hot event.
+     *
+     * @param eventId the event ID
+     * @param delta the capacity difference between the new and the old venue
+     * @throws IllegalArgumentException if the capacity shrinks below the tickets already sold
+     */
+    public void adjustCapacity(Integer eventId, int delta) {
+        if (delta < 0 && !reserve(eventId, -delta)) {
+            throw new IllegalArgumentException("The new location does not have enough capacity for the tickets already sold.");
+        }
+        if (delta > 0) {
+            release(eventId, delta);
+        }
+    }
+
+    /**
+     * Writes the counters of the hot events that changed since the last flush back to the event rows in one batch.
+     */
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flushHotEvents() {
+        List<Object[]> batch = new ArrayList<>();
+        Map<Integer, Long> pending = new HashMap<>();
+        hotCounters.forEach((eventId, counter) -> {
+            long available = counter.sum();
+            if (!Objects.equals(flushedAvailable.get(eventId), available)) {
+                batch.add(new Object[]{available, eventId});
+                pending.put(eventId, available);
+            }
+        });
+
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE events SET tickets_available = ? WHERE id = ?", batch);
+        flushedAvailable.putAll(pending);
+        pending.keySet().forEach(entityCacheService::evictEvent);
+    }
+}
@@ -1,8 +1,10 @@
 package org.example.event_organizer_api.service;
 
 import org.example.event_organizer_api.dto.location.LocationDTO;
+import org.example.event_organizer_api.dto.location.TimeSlotDTO;
 import org.example.event_organizer_api.entity.Location;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +14,6 @@ public interface LocationService {
     void deleteLocation(Integer id);
     Optional<Location> getLocationById(Integer id);
     List<Location> getAllLocations();
+    List<TimeSlotDTO> getFreeSlots(Integer id, LocalDateTime from, LocalDateTime to, int minutes);
 }
 
@@ -1,6 +1,7 @@
 package org.example.event_organizer_api.service;
 
 import org.example.event_organizer_api.dto.location.LocationDTO;
+import org.example.event_organizer_api.dto.location.TimeSlotDTO;
 import org.example.event_organizer_api.entity.Location;
 import org.example.event_organizer_api.mapper.LocationMapper;
 import org.example.event_organizer_api.repository.LocationRepository;
@@ -8,6 +9,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -17,19 +20,28 @@ import java.util.Optional;
  */
 @Service
 public class LocationServiceImpl implements LocationService {
+    static final Duration MAX_FREE_SLOT_RANGE = Duration.ofDays(31);
+
     private final LocationRepository locationRepository;
     private final LocationMapper locationMapper;
+    private final EntityCacheService entityCacheService;
+    private final VenueScheduleService venueScheduleService;
 
     /**
      * Constructor for LocationServiceImpl.
      *
      * @param locationRepository the location repository
      * @param locationMapper the location mapper
+     * @param entityCacheService the entity cache service
+     * @param venueScheduleService the venue schedule service
      */
     @Autowired
-    public LocationServiceImpl(LocationRepository locationRepository, LocationMapper locationMapper) {
+    public LocationServiceImpl(LocationRepository locationRepository, LocationMapper locationMapper, EntityCacheService entityCacheService,
+                               VenueScheduleService venueScheduleService) {
         this.locationRepository = locationRepository;
         this.locationMapper = locationMapper;
+        this.entityCacheService = entityCacheService;
+        this.venueScheduleService = venueScheduleService;
     }
 
     /**
@@ -47,11 +59,14 @@ public class LocationServiceImpl implements LocationService {
         }
 
         Location location = locationMapper.toEntity(locationDTO);
+        Location savedLocation;
         try {
-            return locationRepository.save(location);
+            savedLocation = locationRepository.save(location);
         } catch (DataIntegrityViolationException ex) {
             throw new DataIntegrityViolationException("Location with the same name already exists");
         }
+        entityCacheService.evictLocationList();
+        return savedLocation;
     }
 
     /**
@@ -76,11 +91,14 @@ public class LocationServiceImpl implements LocationService {
         location.setAddress(locationDTO.getAddress());
         location.setCapacity(locationDTO.getCapacity());
 
+        Location savedLocation;
         try {
-            return locationRepository.save(location);
+            savedLocation = locationRepository.save(location);
         } catch (DataIntegrityViolationException ex) {
             throw new DataIntegrityViolationException("Location with the same name already exists");
         }
+        entityCacheService.evictLocation(id);
+        return savedLocation;
     }
 
     /**
@@ -94,26 +112,50 @@ public class LocationServiceImpl implements LocationService {
                 .orElseThrow(() -> new NoSuchElementException("Location not found with id: " + id));
 
         locationRepository.delete(location);
+        entityCacheService.evictLocation(id);
     }
 
     /**
-     * Retrieves a location by its ID.
+     * Retrieves a location by its ID, from the entity cache when it has it.
      *
      * @param id the location ID
      * @return the location, if found
      */
     @Override
     public Optional<Location> getLocationById(Integer id) {
-        return locationRepository.findById(id);
+        return entityCacheService.getLocation(id, locationRepository::findById);
     }
 
     /**
-     * Retrieves all locations.
+     * Retrieves all locations, from the entity cache when it has them.
      *
      * @return a list of all locations
      */
     @Override
     public List<Location> getAllLocations() {
-        return locationRepository.findAll();
+        return entityCacheService.getAllLocations(locationRepository::findAll);
+    }
+
+    /**
+     * Retrieves the free slots of a location, read from its schedule without querying its events.
+     *
+     * @param id the location ID
+     * @param from the start of the range
+     * @param to the end of the range, at most 31 days after the start
+     * @param minutes the shortest slot to list, in minutes
+     * @return the free slots, in order
+     * @throws NoSuchElementException if the location is not found
+     * @throws IllegalArgumentException if the range or the length is invalid
+     */
+    @Override
+    public List<TimeSlotDTO> getFreeSlots(Integer id, LocalDateTime from, LocalDateTime to, int minutes) {
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(MAX_FREE_SLOT_RANGE) > 0) {
+            throw new IllegalArgumentException("The range must end after it starts and span at most " + MAX_FREE_SLOT_RANGE.toDays() + " days");
+        }
+        if (minutes <= 0) {
+            throw new IllegalArgumentException("Slot length must be greater than zero");
+        }
+        getLocationById(id).orElseThrow(() -> new NoSuchElementException("Location not found with id: " + id));
+        return venueScheduleService.getFreeSlots(id, from, to, minutes);
     }
 }
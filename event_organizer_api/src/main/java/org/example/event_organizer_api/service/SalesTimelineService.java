@@ -0,0 +1,210 @@
+package org.example.event_organizer_api.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.event_organizer_api.dto.event.SalesBucketDTO;
+import org.example.event_organizer_api.dto.event.SalesTimelineDTO;
+import org.example.event_organizer_api.utilities.MinuteRingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Service that keeps a per-minute timeline of the purchases and refunds of each event.
+ * The recent minutes live in a lock-free ring per event and are served straight from memory.
+ * Once an hour, the minutes of the hours that have ended are added up into the event_sales_hourly table,
+ * well before the ring wraps around and overwrites them.
+ */
+@Service
+public class SalesTimelineService {
+    private static final Logger logger = LoggerFactory.getLogger(SalesTimelineService.class);
+    private static final int MINUTES_PER_HOUR = 60;
+
+    // The existence check skips events deleted since their sales were recorded.
+    private static final String UPSERT_HOUR = "INSERT INTO event_sales_hourly (event_id, hour_start, purchases, revenue, refunds, refunded_amount) " +
+            "SELECT ?, ?, ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM events WHERE id = ?) " +
+            "ON CONFLICT (event_id, hour_start) DO UPDATE SET " +
+            "purchases = event_sales_hourly.purchases + EXCLUDED.purchases, " +
+            "revenue = event_sales_hourly.revenue + EXCLUDED.revenue, " +
+            "refunds = event_sales_hourly.refunds + EXCLUDED.refunds, " +
+            "refunded_amount = event_sales_hourly.refunded_amount + EXCLUDED.refunded_amount";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int minutes;
+    private final LongSupplier clock;
+    private final Map<Integer, Timeline> timelines = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for SalesTimelineService.
+     *
+     * @param jdbcTemplate the JDBC template used to write the hourly rollups
+     * @param minutes how many minutes of each event's timeline are kept in memory
+     */
+    @Autowired
+    public SalesTimelineService(JdbcTemplate jdbcTemplate, @Value("${sales-timeline.minutes:180}") int minutes) {
+        this(jdbcTemplate, minutes, System::currentTimeMillis);
+    }
+
+    SalesTimelineService(JdbcTemplate jdbcTemplate, int minutes, LongSupplier clock) {
+        // A minute has to survive until the compaction after the end of its hour.
+        if (minutes < 2 * MINUTES_PER_HOUR) {
+            throw new IllegalArgumentException("The sales timeline must keep at least two hours of minutes");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.minutes = minutes;
+        this.clock = clock;
+    }
+
+    /**
+     * Records tickets bought for an event once the surrounding transaction commits.
+     *
+     * @param eventId the event ID
+     * @param quantity the number of tickets bought
+     * @param amount the amount paid for them
+     */
+    public void recordPurchase(Integer eventId, long quantity, BigDecimal amount) {
+        afterCommit(eventId, quantity, cents(amount), 0, 0);
+    }
+
+    /**
+     * Records tickets refunded for an event once the surrounding transaction commits.
+     *
+     * @param eventId the event ID
+     * @param quantity the number of tickets refunded
+     * @param amount the amount refunded
+     */
+    public void recordRefund(Integer eventId, long quantity, BigDecimal amount) {
+        afterCommit(eventId, 0, 0, quantity, cents(amount));
+    }
+
+    /**
+     * Retrieves the recent per-minute sales of an event. Minutes without sales are left out.
+     *
+     * @param eventId the event ID
+     * @return the minutes still held in memory, oldest first
+     */
+    public SalesTimelineDTO getTimeline(Integer eventId) {
+        long now = currentMinute();
+        long from = now - minutes + 1;
+        List<SalesBucketDTO> buckets = new ArrayList<>();
+        Timeline timeline = timelines.get(eventId);
+        if (timeline != null) {
+            for (MinuteRingBuffer.Bucket bucket : timeline.ring.snapshot(from, now + 1)) {
+                buckets.add(new SalesBucketDTO(toInstant(bucket.getMinute()), bucket.getPurchases(), amount(bucket.getRevenueCents()),
+                        bucket.getRefunds(), amount(bucket.getRefundedCents())));
+            }
+        }
+        return new SalesTimelineDTO(eventId, toInstant(from), toInstant(now + 1), buckets);
+    }
+
+    /**
+     * Adds the minutes of the hours that have ended to the hourly rollups.
+     */
+    @Scheduled(cron = "${sales-timeline.compaction-cron:0 5 * * * *}")
+    public void compactCompletedHours() {
+        compact(Math.floorDiv(currentMinute(), MINUTES_PER_HOUR) * MINUTES_PER_HOUR);
+    }
+
+    /**
+     * Adds every minute still in memory, including the current hour, to the hourly rollups before shutting down.
+     */
+    @PreDestroy
+    public void compactAll() {
+        compact(currentMinute() + 1);
+    }
+
+    private void compact(long untilMinute) {
+        List<Timeline> compacted = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        timelines.forEach((eventId, timeline) -> {
+            Map<Long, long[]> hours = new TreeMap<>();
+            for (MinuteRingBuffer.Bucket bucket : timeline.ring.snapshot(timeline.compactedUntil, untilMinute)) {
+                long[] totals = hours.computeIfAbsent(Math.floorDiv(bucket.getMinute(), MINUTES_PER_HOUR) * MINUTES_PER_HOUR, hour -> new long[4]);
+                totals[0] += bucket.getPurchases();
+                totals[1] += bucket.getRevenueCents();
+                totals[2] += bucket.getRefunds();
+                totals[3] += bucket.getRefundedCents();
+            }
+            hours.forEach((hour, totals) -> batch.add(new Object[]{
+                    eventId, Timestamp.from(toInstant(hour)), totals[0], amount(totals[1]), totals[2], amount(totals[3]), eventId}));
+            compacted.add(timeline);
+        });
+
+        if (!batch.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_HOUR, batch);
+            } catch (RuntimeException e) {
+                // The minutes stay in the rings and are picked up again by the next compaction.
+                logger.warn("Unable to compact {} hours of sales, retrying on the next compaction", batch.size(), e);
+                return;
+            }
+        }
+
+        long windowStart = currentMinute() - minutes + 1;
+        for (Timeline timeline : compacted) {
+            timeline.compactedUntil = Math.max(timeline.compactedUntil, untilMinute);
+            timeline.ring.clearBefore(Math.min(windowStart, timeline.compactedUntil));
+        }
+    }
+
+    private void afterCommit(Integer eventId, long purchases, long revenueCents, long refunds, long refundedCents) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(eventId, purchases, revenueCents, refunds, refundedCents);
+                }
+            });
+        } else {
+            record(eventId, purchases, revenueCents, refunds, refundedCents);
+        }
+    }
+
+    private void record(Integer eventId, long purchases, long revenueCents, long refunds, long refundedCents) {
+        timelines.computeIfAbsent(eventId, id -> new Timeline(new MinuteRingBuffer(minutes)))
+                .ring.record(currentMinute(), purchases, revenueCents, refunds, refundedCents);
+    }
+
+    private long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(clock.getAsLong());
+    }
+
+    private static Instant toInstant(long minute) {
+        return Instant.ofEpochSecond(TimeUnit.MINUTES.toSeconds(minute));
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal amount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // An idle timeline only keeps its empty ring, its buckets are dropped once compacted and out of the window.
+    private static final class Timeline {
+        private final MinuteRingBuffer ring;
+        private volatile long compactedUntil;
+
+        private Timeline(MinuteRingBuffer ring) {
+            this.ring = ring;
+        }
+    }
+}
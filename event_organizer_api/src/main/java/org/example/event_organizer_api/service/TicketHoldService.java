@@ -0,0 +1,14 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.ticket.TicketDTO;
+import org.example.event_organizer_api.dto.ticket.TicketHoldDTO;
+import org.example.event_organizer_api.entity.Ticket;
+
+import java.util.List;
+
+public interface TicketHoldService {
+    TicketHoldDTO holdTickets(TicketDTO ticketDTO, int quantity);
+    List<Ticket> confirmHold(String holdId);
+    void releaseHold(String holdId);
+    TicketHoldDTO getHold(String holdId);
+}
@@ -0,0 +1,376 @@
+package org.example.event_organizer_api.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.event_organizer_api.dto.ticket.TicketDTO;
+import org.example.event_organizer_api.dto.ticket.TicketHoldDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Ticket;
+import org.example.event_organizer_api.entity.User;
+import org.example.event_organizer_api.mapper.TicketMapper;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.example.event_organizer_api.repository.TicketRepository;
+import org.example.event_organizer_api.repository.UserRepository;
+import org.example.event_organizer_api.utilities.HashedWheelTimer;
+import org.example.event_organizer_api.utilities.TicketUnits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service implementation for time-limited ticket holds.
+ * A hold takes tickets out of the event's inventory straight away and gives them back
+ * when it is released or when its TTL runs out. Expiry is driven by a hashed timer wheel,
+ * whose thread only queues the expired holds: a releaser thread deletes them in batches of one statement
+ * and gives their tickets back, so a burst of expiries never holds up the wheel.
+ * Every hold is also stored in the ticket_holds table, in the same transaction as its reservation,
+ * so that the holds outstanding when the application stops, or crashes, are picked up again at startup:
+ * the expired ones give their tickets back and the others expire on time.
+ * Deleting the row decides who gives the tickets back, so a hold is never released twice.
+ */
+@Service
+public class TicketHoldServiceImpl implements TicketHoldService {
+    private static final Logger logger = LoggerFactory.getLogger(TicketHoldServiceImpl.class);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+    private static final int RELEASE_BATCH_SIZE = 500;
+    private static final String DELETE_HOLD = "DELETE FROM ticket_holds WHERE id = ?";
+    private static final String DELETE_EXPIRED = "DELETE FROM ticket_holds WHERE id = ANY(?) RETURNING event_id, quantity";
+    private static final RowMapper<TicketHoldDTO> HOLD_ROW = (resultSet, row) -> new TicketHoldDTO(
+            resultSet.getString(1), resultSet.getInt(2), resultSet.getInt(3), resultSet.getInt(4),
+            resultSet.getBigDecimal(5), resultSet.getTimestamp(6).toInstant());
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final TicketMapper ticketMapper;
+    private final InventoryService inventoryService;
+    private final EventStatsService eventStatsService;
+    private final SalesTimelineService salesTimelineService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdTtl;
+    private final HashedWheelTimer timer;
+    private final ExecutorService releaser;
+    private final Map<String, PendingHold> holds = new ConcurrentHashMap<>();
+    private final Queue<TicketHoldDTO> expired = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean releaseScheduled = new AtomicBoolean();
+
+    /**
+     * Constructor for TicketHoldServiceImpl.
+     *
+     * @param ticketRepository the ticket repository
+     * @param userRepository the user repository
+     * @param eventRepository the event repository
+     * @param ticketMapper the ticket mapper
+     * @param inventoryService the inventory service
+     * @param eventStatsService the event stats service
+     * @param salesTimelineService the sales timeline service
+     * @param jdbcTemplate the JDBC template used to store the holds
+     * @param transactionManager the transaction manager, every batch of expired holds is released in its own transaction
+     * @param holdTtlSeconds how long a hold stays valid
+     * @param tickMillis the tick duration of the expiry wheel
+     */
+    @Autowired
+    public TicketHoldServiceImpl(TicketRepository ticketRepository, UserRepository userRepository, EventRepository eventRepository,
+                                 TicketMapper ticketMapper, InventoryService inventoryService, EventStatsService eventStatsService,
+                                 SalesTimelineService salesTimelineService, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${ticket.hold.ttl-seconds:600}") long holdTtlSeconds,
+                                 @Value("${ticket.hold.tick-ms:100}") long tickMillis) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.ticketMapper = ticketMapper;
+        this.inventoryService = inventoryService;
+        this.eventStatsService = eventStatsService;
+        this.salesTimelineService = salesTimelineService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.holdTtl = Duration.ofSeconds(holdTtlSeconds);
+        this.timer = new HashedWheelTimer("ticket-hold-expiry", tickMillis, TimeUnit.MILLISECONDS, 512);
+        this.releaser = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ticket-hold-release");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Picks up the holds stored by a previous run. Expired holds give their tickets back, the others are scheduled to expire.
+     * If the database cannot be reached, the holds stay stored and are picked up by the next start.
+     */
+    @PostConstruct
+    public void recoverHolds() {
+        List<TicketHoldDTO> stored;
+        try {
+            stored = jdbcTemplate.query("SELECT id, user_id, event_id, quantity, purchase_price, expires_at FROM ticket_holds", HOLD_ROW);
+        } catch (DataAccessException e) {
+            logger.warn("Unable to load the stored ticket holds, they will be picked up on the next start", e);
+            return;
+        }
+
+        Instant now = Instant.now();
+        int expiredCount = 0;
+        for (TicketHoldDTO hold : stored) {
+            if (hold.getExpiresAt().isAfter(now)) {
+                PendingHold pendingHold = new PendingHold(hold);
+                holds.put(hold.getId(), pendingHold);
+                scheduleExpiry(pendingHold, Duration.between(now, hold.getExpiresAt()));
+            } else {
+                expired.add(hold);
+                expiredCount++;
+            }
+        }
+        if (expiredCount > 0) {
+            scheduleRelease();
+        }
+        if (!stored.isEmpty()) {
+            logger.info("Recovered {} ticket holds, {} of them expired", stored.size(), expiredCount);
+        }
+    }
+
+    /**
+     * Holds tickets for a user until the hold is confirmed, released or expires.
+     *
+     * @param ticketDTO the ticket data transfer object
+     * @param quantity the number of tickets to hold
+     * @return the created hold
+     */
+    @Override
+    @Transactional
+    public TicketHoldDTO holdTickets(TicketDTO ticketDTO, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than zero");
+        }
+        if (!userRepository.existsById(ticketDTO.getUserId())) {
+            throw new NoSuchElementException("User not found with ID: " + ticketDTO.getUserId());
+        }
+        if (!inventoryService.reserve(ticketDTO.getEventId(), quantity)) {
+            if (!eventRepository.existsById(ticketDTO.getEventId())) {
+                throw new NoSuchElementException("Event not found with ID: " + ticketDTO.getEventId());
+            }
+            throw new IllegalArgumentException("Not enough tickets available for the event");
+        }
+
+        TicketHoldDTO hold = new TicketHoldDTO(UUID.randomUUID().toString(), ticketDTO.getUserId(), ticketDTO.getEventId(),
+                quantity, ticketDTO.getPurchasePrice(), Instant.now().plus(holdTtl));
+        jdbcTemplate.update("INSERT INTO ticket_holds (id, user_id, event_id, quantity, purchase_price, expires_at) VALUES (?, ?, ?, ?, ?, ?)",
+                hold.getId(), hold.getUserId(), hold.getEventId(), hold.getQuantity(), hold.getPurchasePrice(), Timestamp.from(hold.getExpiresAt()));
+        PendingHold pendingHold = new PendingHold(hold);
+        holds.put(hold.getId(), pendingHold);
+
+        // The expiry only starts once the reservation is committed, otherwise there is nothing to give back.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        scheduleExpiry(pendingHold, holdTtl);
+                    } else {
+                        holds.remove(hold.getId(), pendingHold);
+                    }
+                }
+            });
+        } else {
+            scheduleExpiry(pendingHold, holdTtl);
+        }
+        return hold;
+    }
+
+    /**
+     * Turns a hold into purchased tickets.
+     *
+     * @param holdId the hold ID
+     * @return the list of created tickets
+     */
+    @Override
+    @Transactional
+    public List<Ticket> confirmHold(String holdId) {
+        PendingHold pendingHold = holds.remove(holdId);
+        if (pendingHold == null) {
+            throw new NoSuchElementException("Hold not found or expired with ID: " + holdId);
+        }
+        if (pendingHold.timeout != null) {
+            pendingHold.timeout.cancel();
+        }
+        if (jdbcTemplate.update(DELETE_HOLD, holdId) == 0) {
+            throw new NoSuchElementException("Hold not found or expired with ID: " + holdId);
+        }
+
+        // If the tickets cannot be written, the hold is put back for whatever time it had left.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        holds.put(holdId, pendingHold);
+                        scheduleExpiry(pendingHold, Duration.between(Instant.now(), pendingHold.hold.getExpiresAt()));
+                    }
+                }
+            });
+        }
+
+        TicketHoldDTO hold = pendingHold.hold;
+        User user = userRepository.findById(hold.getUserId())
+                .orElseThrow(() -> new NoSuchElementException("User not found with ID: " + hold.getUserId()));
+        Event event = eventRepository.findWithLocationById(hold.getEventId())
+                .orElseThrow(() -> new NoSuchElementException("Event not found with ID: " + hold.getEventId()));
+
+        Ticket ticket = ticketMapper.toEntity(new TicketDTO(null, hold.getUserId(), hold.getEventId(), hold.getPurchasePrice()));
+        ticket.setUser(user);
+        ticket.setEvent(event);
+        ticket.setQuantity(hold.getQuantity());
+        Ticket savedTicket = ticketRepository.save(ticket);
+        BigDecimal amount = hold.getPurchasePrice().multiply(BigDecimal.valueOf(hold.getQuantity()));
+        eventStatsService.recordSale(event.getId(), hold.getQuantity(), amount);
+        salesTimelineService.recordPurchase(event.getId(), hold.getQuantity(), amount);
+        return TicketUnits.expand(List.of(savedTicket));
+    }
+
+    /**
+     * Releases a hold and gives its tickets back to the event.
+     *
+     * @param holdId the hold ID
+     */
+    @Override
+    @Transactional
+    public void releaseHold(String holdId) {
+        PendingHold pendingHold = holds.remove(holdId);
+        if (pendingHold == null) {
+            throw new NoSuchElementException("Hold not found or expired with ID: " + holdId);
+        }
+        if (pendingHold.timeout != null) {
+            pendingHold.timeout.cancel();
+        }
+        if (jdbcTemplate.update(DELETE_HOLD, holdId) == 0) {
+            throw new NoSuchElementException("Hold not found or expired with ID: " + holdId);
+        }
+        inventoryService.release(pendingHold.hold.getEventId(), pendingHold.hold.getQuantity());
+    }
+
+    /**
+     * Retrieves a hold by its ID.
+     *
+     * @param holdId the hold ID
+     * @return the hold, if it is still pending
+     */
+    @Override
+    public TicketHoldDTO getHold(String holdId) {
+        PendingHold pendingHold = holds.get(holdId);
+        if (pendingHold == null) {
+            throw new NoSuchElementException("Hold not found or expired with ID: " + holdId);
+        }
+        return pendingHold.hold;
+    }
+
+    /**
+     * Stops the expiry wheel and the releaser. Pending holds, and expired ones not released yet, stay stored
+     * and are picked up again by the next start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        timer.close();
+        releaser.shutdownNow();
+    }
+
+    private void scheduleExpiry(PendingHold pendingHold, Duration delay) {
+        pendingHold.timeout = timer.schedule(() -> expire(pendingHold), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Runs on the wheel thread, so it only hands the hold over to the releaser.
+    private void expire(PendingHold pendingHold) {
+        if (holds.remove(pendingHold.hold.getId(), pendingHold)) {
+            expired.add(pendingHold.hold);
+            scheduleRelease();
+        }
+    }
+
+    private void scheduleRelease() {
+        if (releaseScheduled.compareAndSet(false, true)) {
+            try {
+                releaser.execute(this::releaseExpired);
+            } catch (RejectedExecutionException stopped) {
+                logger.info("{} expired holds will be released on the next start", expired.size());
+            }
+        }
+    }
+
+    private void releaseExpired() {
+        // Cleared first, so a hold expiring while this run drains the queue schedules another run.
+        releaseScheduled.set(false);
+        List<TicketHoldDTO> batch = new ArrayList<>();
+        while (true) {
+            for (TicketHoldDTO hold; batch.size() < RELEASE_BATCH_SIZE && (hold = expired.poll()) != null; ) {
+                batch.add(hold);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                releaseBatch(batch);
+            } catch (DataAccessException e) {
+                // The rows are still there, so the tickets are given back by a later attempt or by the next start.
+                expired.addAll(batch);
+                logger.warn("Unable to release {} expired holds, retrying", batch.size(), e);
+                try {
+                    timer.schedule(this::scheduleRelease, RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (IllegalStateException stopped) {
+                    logger.info("{} expired holds will be released on the next start", expired.size());
+                }
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void releaseBatch(List<TicketHoldDTO> batch) {
+        String[] ids = batch.stream().map(TicketHoldDTO::getId).toArray(String[]::new);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Only the rows this statement deleted give their tickets back, summed per event.
+            Map<Integer, Integer> released = new HashMap<>();
+            jdbcTemplate.query(DELETE_EXPIRED,
+                    statement -> statement.setArray(1, statement.getConnection().createArrayOf("varchar", ids)),
+                    (RowCallbackHandler) resultSet -> released.merge(resultSet.getInt(1), resultSet.getInt(2), Integer::sum));
+            released.forEach(inventoryService::release);
+        });
+    }
+
+    private static final class PendingHold {
+        private final TicketHoldDTO hold;
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private PendingHold(TicketHoldDTO hold) {
+            this.hold = hold;
+        }
+    }
+}
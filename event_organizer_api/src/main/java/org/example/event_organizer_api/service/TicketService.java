@@ -1,6 +1,8 @@
 package org.example.event_organizer_api.service;
 
+import org.example.event_organizer_api.dto.ticket.CartDTO;
 import org.example.event_organizer_api.dto.ticket.TicketDTO;
+import org.example.event_organizer_api.dto.ticket.TicketSummaryDTO;
 import org.example.event_organizer_api.entity.Ticket;
 import org.example.event_organizer_api.utilities.TicketExportStrategy;
 
@@ -10,12 +12,15 @@ import java.util.List;
 
 public interface TicketService {
     List<Ticket> addTickets(TicketDTO ticketDTO, int quantity);
+    List<Ticket> checkoutCart(CartDTO cartDTO);
     Ticket updateTicket(Integer id, TicketDTO ticketDTO);
     void deleteTicket(Integer id);
     Ticket getTicketById(Integer id);
-    List<Ticket> getAllTickets();
-    List<Ticket> getAllTicketsByUser(Integer id);
-    List<Ticket> getAllTicketsByEvent(Integer id);
+    List<TicketSummaryDTO> getAllTickets();
+    List<TicketSummaryDTO> getAllTicketsByUser(Integer id);
+    List<TicketSummaryDTO> getAllTicketsByEvent(Integer id);
     void exportTicket(Ticket ticket, OutputStream outputStream, TicketExportStrategy strategy) throws IOException;
+    void exportEventTickets(Integer eventId, OutputStream outputStream, TicketExportStrategy strategy) throws IOException;
+    void exportUserTickets(Integer userId, OutputStream outputStream, TicketExportStrategy strategy) throws IOException;
 }
 
@@ -1,32 +1,64 @@
 package org.example.event_organizer_api.service;
 
+import org.example.event_organizer_api.dto.ticket.CartDTO;
+import org.example.event_organizer_api.dto.ticket.AttendeeDTO;
+import org.example.event_organizer_api.dto.ticket.CartItemDTO;
 import org.example.event_organizer_api.dto.ticket.TicketDTO;
+import org.example.event_organizer_api.dto.ticket.TicketSummaryDTO;
 import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
 import org.example.event_organizer_api.entity.Ticket;
 import org.example.event_organizer_api.entity.User;
 import org.example.event_organizer_api.mapper.TicketMapper;
 import org.example.event_organizer_api.repository.EventRepository;
 import org.example.event_organizer_api.repository.TicketRepository;
 import org.example.event_organizer_api.repository.UserRepository;
+import org.example.event_organizer_api.utilities.ExportWriter;
 import org.example.event_organizer_api.utilities.TicketExportStrategy;
+import org.example.event_organizer_api.utilities.TicketUnits;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Service implementation for managing tickets.
  */
 @Service
 public class TicketServiceImpl implements TicketService {
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final String EXPORT_ATTENDEES = "SELECT t.id, u.id, u.name, u.email, t.quantity, t.purchase_price " +
+            "FROM tickets t JOIN users u ON u.id = t.user_id WHERE t.event_id = ? ORDER BY t.id";
+    private static final String EXPORT_USER_TICKETS = "SELECT t.id, t.purchase_price, t.quantity, e.id, e.name, e.event_date, e.event_time, l.name " +
+            "FROM tickets t JOIN events e ON e.id = t.event_id JOIN locations l ON l.id = e.location_id WHERE t.user_id = ? ORDER BY t.id";
+
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final TicketMapper ticketMapper;
+    private final InventoryService inventoryService;
+    private final EventStatsService eventStatsService;
+    private final SalesTimelineService salesTimelineService;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * Constructor for TicketServiceImpl.
@@ -35,23 +67,37 @@ public class TicketServiceImpl implements TicketService {
      * @param userRepository the user repository
      * @param eventRepository the event repository
      * @param ticketMapper the ticket mapper
+     * @param inventoryService the inventory service
+     * @param eventStatsService the event stats service
+     * @param salesTimelineService the sales timeline service
+     * @param jdbcTemplate the JDBC template used to stream exports
      */
     @Autowired
-    public TicketServiceImpl(TicketRepository ticketRepository, UserRepository userRepository, EventRepository eventRepository, TicketMapper ticketMapper) {
+    public TicketServiceImpl(TicketRepository ticketRepository, UserRepository userRepository, EventRepository eventRepository, TicketMapper ticketMapper,
+                             InventoryService inventoryService, EventStatsService eventStatsService,
+                             SalesTimelineService salesTimelineService, JdbcTemplate jdbcTemplate) {
         this.ticketRepository = ticketRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.ticketMapper = ticketMapper;
+        this.inventoryService = inventoryService;
+        this.eventStatsService = eventStatsService;
+        this.salesTimelineService = salesTimelineService;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     /**
      * Adds tickets for a given event.
+     * Inventory is reserved atomically through the inventory service,
+     * so concurrent buyers can never take more tickets than are available.
+     * The purchase is stored as a single line item carrying the quantity.
      *
      * @param ticketDTO the ticket data transfer object
      * @param quantity the number of tickets to add
-     * @return the list of created tickets
+     * @return the list of created tickets, one per admission
      */
     @Override
+    @Transactional
     public List<Ticket> addTickets(TicketDTO ticketDTO, int quantity) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be greater than zero");
@@ -60,24 +106,84 @@ public class TicketServiceImpl implements TicketService {
         User user = userRepository.findById(ticketDTO.getUserId())
                 .orElseThrow(() -> new NoSuchElementException("User not found with ID: " + ticketDTO.getUserId()));
 
-        Event event = eventRepository.findById(ticketDTO.getEventId())
+        if (!inventoryService.reserve(ticketDTO.getEventId(), quantity)) {
+            if (!eventRepository.existsById(ticketDTO.getEventId())) {
+                throw new NoSuchElementException("Event not found with ID: " + ticketDTO.getEventId());
+            }
+            throw new IllegalArgumentException("Not enough tickets available for the event");
+        }
+
+        Event event = eventRepository.findWithLocationById(ticketDTO.getEventId())
                 .orElseThrow(() -> new NoSuchElementException("Event not found with ID: " + ticketDTO.getEventId()));
 
-        if (event.getTicketsAvailable() < quantity) {
-            throw new IllegalArgumentException("Not enough tickets available for the event");
+        Ticket ticket = ticketMapper.toEntity(ticketDTO);
+        ticket.setUser(user);
+        ticket.setEvent(event);
+        ticket.setQuantity(quantity);
+
+        Ticket savedTicket = ticketRepository.save(ticket);
+        eventStatsService.recordSale(event.getId(), quantity, amount(savedTicket.getPurchasePrice(), quantity));
+        salesTimelineService.recordPurchase(event.getId(), quantity, amount(savedTicket.getPurchasePrice(), quantity));
+        return TicketUnits.expand(List.of(savedTicket));
+    }
+
+    /**
+     * Buys tickets for several events at once.
+     * Either every item of the cart is bought or none is. Inventory is reserved in ascending event ID order,
+     * so two carts sharing events always lock the event rows in the same order and cannot deadlock,
+     * and all tickets are inserted in one batch.
+     *
+     * @param cartDTO the cart data transfer object
+     * @return the list of created tickets, one per admission
+     */
+    @Override
+    @Transactional
+    public List<Ticket> checkoutCart(CartDTO cartDTO) {
+        if (cartDTO.getItems() == null || cartDTO.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Cart must contain at least one item");
+        }
+        Map<Integer, Integer> quantities = new TreeMap<>();
+        for (CartItemDTO item : cartDTO.getItems()) {
+            if (item.getEventId() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Every cart item needs an event and a quantity greater than zero");
+            }
+            quantities.merge(item.getEventId(), item.getQuantity(), Integer::sum);
         }
 
+        User user = userRepository.findById(cartDTO.getUserId())
+                .orElseThrow(() -> new NoSuchElementException("User not found with ID: " + cartDTO.getUserId()));
+
+        // A failed reservation rolls back the ones already taken together with the transaction.
+        quantities.forEach((eventId, quantity) -> {
+            if (!inventoryService.reserve(eventId, quantity)) {
+                if (!eventRepository.existsById(eventId)) {
+                    throw new NoSuchElementException("Event not found with ID: " + eventId);
+                }
+                throw new IllegalArgumentException("Not enough tickets available for the event with ID: " + eventId);
+            }
+        });
+
+        Map<Integer, Event> events = eventRepository.findWithLocationByIdIn(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+
         List<Ticket> tickets = new ArrayList<>();
-        for (int i = 0; i < quantity; i++) {
-            Ticket ticket = ticketMapper.toEntity(ticketDTO);
-            ticket.setUser(user);
-            ticket.setEvent(event);
-            tickets.add(ticket);
-        }
+        cartDTO.getItems().stream()
+                .sorted(Comparator.comparing(CartItemDTO::getEventId))
+                .forEach(item -> {
+                    Ticket ticket = ticketMapper.toEntity(new TicketDTO(null, user.getId(), item.getEventId(), item.getPurchasePrice()));
+                    ticket.setUser(user);
+                    ticket.setEvent(events.get(item.getEventId()));
+                    ticket.setQuantity(item.getQuantity());
+                    tickets.add(ticket);
+                });
 
-        event.setTicketsAvailable(event.getTicketsAvailable() - quantity);
-        eventRepository.save(event);
-        return ticketRepository.saveAll(tickets);
+        List<Ticket> savedTickets = ticketRepository.saveAll(tickets);
+        savedTickets.forEach(ticket -> {
+            BigDecimal paid = amount(ticket.getPurchasePrice(), ticket.getQuantity());
+            eventStatsService.recordSale(ticket.getEvent().getId(), ticket.getQuantity(), paid);
+            salesTimelineService.recordPurchase(ticket.getEvent().getId(), ticket.getQuantity(), paid);
+        });
+        return TicketUnits.expand(savedTickets);
     }
 
     /**
@@ -95,42 +201,52 @@ public class TicketServiceImpl implements TicketService {
         User user = userRepository.findById(ticketDTO.getUserId())
                 .orElseThrow(() -> new NoSuchElementException("User not found with ID: " + ticketDTO.getUserId()));
 
-        Event event = eventRepository.findById(ticketDTO.getEventId())
+        Event event = eventRepository.findWithLocationById(ticketDTO.getEventId())
                 .orElseThrow(() -> new NoSuchElementException("Event not found with ID: " + ticketDTO.getEventId()));
 
+        Integer previousEventId = ticket.getEvent().getId();
+        BigDecimal previousAmount = amount(ticket.getPurchasePrice(), ticket.getQuantity());
+
         ticket.setUser(user);
         ticket.setEvent(event);
         ticket.setPurchasePrice(ticketDTO.getPurchasePrice());
 
-        return ticketRepository.save(ticket);
+        Ticket savedTicket = ticketRepository.save(ticket);
+        // Moves the sale in the stats, in case the ticket changed event or price.
+        eventStatsService.recordSale(previousEventId, -ticket.getQuantity(), previousAmount.negate());
+        eventStatsService.recordSale(event.getId(), ticket.getQuantity(), amount(ticket.getPurchasePrice(), ticket.getQuantity()));
+        return savedTicket;
     }
 
     /**
      * Deletes a ticket.
+     * One admission is refunded at a time; the line item is removed with its last admission.
      *
      * @param id the ticket ID
      */
     @Override
+    @Transactional
     public void deleteTicket(Integer id) {
         Ticket ticket = ticketRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Ticket not found with ID: " + id));
 
-        Event event = ticket.getEvent();
-        event.setTicketsAvailable(event.getTicketsAvailable() + 1);
-        eventRepository.save(event);
-
-        ticketRepository.delete(ticket);
+        if (ticketRepository.decrementQuantity(id) == 0 && ticketRepository.deleteSingle(id) == 0) {
+            throw new NoSuchElementException("Ticket not found with ID: " + id);
+        }
+        inventoryService.release(ticket.getEvent().getId(), 1);
+        eventStatsService.recordRefund(ticket.getEvent().getId(), 1, ticket.getPurchasePrice());
+        salesTimelineService.recordRefund(ticket.getEvent().getId(), 1, ticket.getPurchasePrice());
     }
 
     /**
-     * Retrieves a ticket by its ID.
+     * Retrieves a ticket by its ID, with its holder, its event and the event location.
      *
      * @param id the ticket ID
      * @return the ticket, if found
      */
     @Override
     public Ticket getTicketById(Integer id) {
-        return ticketRepository.findById(id).orElseThrow(() -> new NoSuchElementException("Ticket not found with ID: " + id));
+        return ticketRepository.findWithUserAndEventById(id).orElseThrow(() -> new NoSuchElementException("Ticket not found with ID: " + id));
     }
 
     /**
@@ -139,8 +255,8 @@ public class TicketServiceImpl implements TicketService {
      * @return a list of all tickets
      */
     @Override
-    public List<Ticket> getAllTickets() {
-        return ticketRepository.findAll();
+    public List<TicketSummaryDTO> getAllTickets() {
+        return TicketUnits.expandSummaries(ticketRepository.findAllSummaries());
     }
 
     /**
@@ -150,11 +266,12 @@ public class TicketServiceImpl implements TicketService {
      * @return a list of tickets for the user
      */
     @Override
-    public List<Ticket> getAllTicketsByUser(Integer id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("User not found with ID: " + id));
+    public List<TicketSummaryDTO> getAllTicketsByUser(Integer id) {
+        if (!userRepository.existsById(id)) {
+            throw new NoSuchElementException("User not found with ID: " + id);
+        }
 
-        return ticketRepository.findByUser(user);
+        return TicketUnits.expandSummaries(ticketRepository.findSummariesByUserId(id));
     }
 
     /**
@@ -164,11 +281,12 @@ public class TicketServiceImpl implements TicketService {
      * @return a list of tickets for the event
      */
     @Override
-    public List<Ticket> getAllTicketsByEvent(Integer id) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("Event not found with ID: " + id));
+    public List<TicketSummaryDTO> getAllTicketsByEvent(Integer id) {
+        if (!eventRepository.existsById(id)) {
+            throw new NoSuchElementException("Event not found with ID: " + id);
+        }
 
-        return ticketRepository.findByEvent(event);
+        return TicketUnits.expandSummaries(ticketRepository.findSummariesByEventId(id));
     }
 
     /**
@@ -183,7 +301,118 @@ public class TicketServiceImpl implements TicketService {
     public void exportTicket(Ticket ticket, OutputStream outputStream, TicketExportStrategy strategy) throws IOException {
         strategy.export(ticket, outputStream);
     }
-}
 
+    /**
+     * Exports the attendee list of an event using a specified strategy.
+     * Rows are read through a forward-only cursor and written out as they arrive,
+     * so memory use does not grow with the number of tickets and the first rows are sent
+     * before the query has finished.
+     *
+     * @param eventId the event ID
+     * @param outputStream the output stream to write the exported tickets to
+     * @param strategy the export strategy to use
+     * @throws IOException if an I/O error occurs during export
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEventTickets(Integer eventId, OutputStream outputStream, TicketExportStrategy strategy) throws IOException {
+        ExportWriter writer = new ExportWriter(outputStream);
+        strategy.writeAttendeeHeader(writer);
+        writer.flush();
+
+        // One row object is refilled for every row, the writer encodes it before the next one is read.
+        AttendeeDTO attendee = new AttendeeDTO();
+        // PostgreSQL only honours the fetch size inside a transaction, otherwise it reads the whole result first.
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_ATTENDEES, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                statement.setInt(1, eventId);
+                return statement;
+            }, resultSet -> {
+                attendee.setTicketId(resultSet.getInt(1));
+                attendee.setUserId(resultSet.getInt(2));
+                attendee.setName(resultSet.getString(3));
+                attendee.setEmail(resultSet.getString(4));
+                attendee.setQuantity(resultSet.getInt(5));
+                attendee.setPurchasePrice(resultSet.getBigDecimal(6));
+                try {
+                    strategy.writeAttendee(attendee, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Exports all tickets of a user as a ZIP archive with one entry per admission, using a specified strategy.
+     * A line item bought with a quantity gets one entry per ticket, named after its unit ID, so the archive
+     * holds every ticket the user can present at the door.
+     * Tickets are read through a forward-only cursor and each entry is compressed and written out
+     * as soon as its row arrives, so the archive is never held in memory.
+     *
+     * @param userId the user ID
+     * @param outputStream the output stream to write the archive to
+     * @param strategy the export strategy to use for every entry
+     * @throws IOException if an I/O error occurs during export
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUserTickets(Integer userId, OutputStream outputStream, TicketExportStrategy strategy) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        ExportWriter writer = new ExportWriter(zip);
 
+        // The rows are mapped onto one detached ticket that is refilled for every entry.
+        Location location = new Location();
+        Event event = new Event();
+        event.setLocation(location);
+        Ticket ticket = new Ticket();
+        ticket.setEvent(event);
+        int[] entries = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_USER_TICKETS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                statement.setInt(1, userId);
+                return statement;
+            }, resultSet -> {
+                ticket.setId(resultSet.getInt(1));
+                ticket.setPurchasePrice(resultSet.getBigDecimal(2));
+                int quantity = resultSet.getInt(3);
+                ticket.setQuantity(1);
+                event.setId(resultSet.getInt(4));
+                event.setName(resultSet.getString(5));
+                event.setEventDate(resultSet.getObject(6, LocalDate.class));
+                event.setEventTime(resultSet.getObject(7, LocalTime.class));
+                location.setName(resultSet.getString(8));
+                try {
+                    for (int unit = 1; unit <= quantity; unit++) {
+                        ticket.setUnit(unit);
+                        zip.putNextEntry(new ZipEntry("ticket-" + TicketUnits.unitId(ticket.getId(), unit) + "." + strategy.fileExtension()));
+                        strategy.writeTicket(ticket, writer);
+                        writer.drain();
+                        zip.closeEntry();
+                        // The first entry is pushed out at once so the download starts before the query is done.
+                        if (entries[0]++ == 0) {
+                            zip.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        zip.finish();
+        zip.flush();
+    }
 
+    private static BigDecimal amount(BigDecimal price, int quantity) {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+}
@@ -1,12 +1,11 @@
 package org.example.event_organizer_api.service;
 
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
 import org.example.event_organizer_api.dto.user.*;
-import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.entity.User;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 public interface UserService {
     User registerUser(UserSignUpDTO userSignUpDTO) throws Exception;
@@ -21,5 +20,5 @@ public interface UserService {
     void deleteUser(Integer userId);
     User addEventToWishlist(Integer userId, Integer eventId);
     User removeEventFromWishlist(Integer userId, Integer eventId);
-    Set<Event> getUserWishlistEvents(Integer userId);
+    List<EventSummaryDTO> getUserWishlistEvents(Integer userId);
 }
@@ -1,5 +1,6 @@
 package org.example.event_organizer_api.service;
 
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
 import org.example.event_organizer_api.dto.user.*;
 import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.entity.User;
@@ -9,13 +10,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.example.event_organizer_api.repository.UserRepository;
 
 
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Service implementation for managing users.
@@ -27,6 +28,8 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final EventRepository eventRepository;
+    private final EventStatsService eventStatsService;
+    private final EntityCacheService entityCacheService;
 
     /**
      * Constructor for UserServiceImpl.
@@ -35,13 +38,18 @@ public class UserServiceImpl implements UserService {
      * @param userMapper the user mapper
      * @param passwordEncoder the password encoder
      * @param eventRepository the event repository
+     * @param eventStatsService the event stats service
+     * @param entityCacheService the entity cache service
      */
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder, EventRepository eventRepository) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder, EventRepository eventRepository,
+                           EventStatsService eventStatsService, EntityCacheService entityCacheService) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
         this.eventRepository = eventRepository;
+        this.eventStatsService = eventStatsService;
+        this.entityCacheService = entityCacheService;
     }
 
     /**
@@ -129,7 +137,9 @@ public class UserServiceImpl implements UserService {
         user.setUsername(userUpdateCredentialsDTO.getUsername());
         user.setName(userUpdateCredentialsDTO.getName());
         user.setPassword(passwordEncoder.encode(userUpdateCredentialsDTO.getNewPassword()));
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        evictEventsOfOrganizer(user);
+        return savedUser;
     }
 
     /**
@@ -217,8 +227,13 @@ public class UserServiceImpl implements UserService {
         existingUser.setName(userDTO.getName());
         existingUser.setPassword(passwordEncoder.encode(userDTO.getPassword()));
         existingUser.setEmail(userDTO.getEmail());
+        boolean wasOrganizer = isOrganizer(existingUser);
         existingUser.setUserType(userDTO.getUserType());
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        if (wasOrganizer) {
+            entityCacheService.evictAllEvents();
+        }
+        return savedUser;
     }
 
     /**
@@ -228,11 +243,30 @@ public class UserServiceImpl implements UserService {
      * @throws NoSuchElementException if user is not found
      */
     @Override
+    @Transactional
     public void deleteUser(Integer userId) throws NoSuchElementException {
-        if (!userRepository.existsById(userId)) {
-            throw new NoSuchElementException("User not found.");
-        }
+        User user = userRepository.findWithWishlistEventsById(userId)
+                .orElseThrow(() -> new NoSuchElementException("User not found."));
+        List<Integer> wishlistEventIds = user.getWishlistEvents().stream().map(Event::getId).toList();
         userRepository.deleteById(userId);
+        wishlistEventIds.forEach(eventId -> eventStatsService.recordWishlist(eventId, -1));
+        evictEventsOfOrganizer(user);
+    }
+
+    /**
+     * Invalidates the cached events if the user is an organizer, since events embed their organizer.
+     * Organizer changes are rare, so the whole event cache is dropped rather than tracking which events are theirs.
+     *
+     * @param user the user that changed
+     */
+    private void evictEventsOfOrganizer(User user) {
+        if (isOrganizer(user)) {
+            entityCacheService.evictAllEvents();
+        }
+    }
+
+    private static boolean isOrganizer(User user) {
+        return "ORGANIZER".equalsIgnoreCase(user.getUserType());
     }
 
     /**
@@ -243,15 +277,20 @@ public class UserServiceImpl implements UserService {
      * @return the user with the updated wishlist
      */
     @Override
+    @Transactional
     public User addEventToWishlist(Integer userId, Integer eventId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithWishlistEventsById(userId)
                 .orElseThrow(() -> new NoSuchElementException("User not found with ID: " + userId));
 
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NoSuchElementException("Event not found with ID: " + eventId));
 
-        user.getWishlistEvents().add(event);
-        return userRepository.save(user);
+        boolean added = user.getWishlistEvents().add(event);
+        User savedUser = userRepository.save(user);
+        if (added) {
+            eventStatsService.recordWishlist(eventId, 1);
+        }
+        return savedUser;
     }
 
     /**
@@ -263,8 +302,9 @@ public class UserServiceImpl implements UserService {
      * @throws NoSuchElementException if user or event is not found, or event is not in wishlist
      */
     @Override
+    @Transactional
     public User removeEventFromWishlist(Integer userId, Integer eventId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithWishlistEventsById(userId)
                 .orElseThrow(() -> new NoSuchElementException("User not found with ID: " + userId));
 
         Event event = eventRepository.findById(eventId)
@@ -276,21 +316,24 @@ public class UserServiceImpl implements UserService {
             throw new NoSuchElementException("Event not found in user's wishlist.");
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventStatsService.recordWishlist(eventId, -1);
+        return savedUser;
     }
 
     /**
      * Retrieves a user's wishlist events.
      *
      * @param userId the user ID
-     * @return the set of wishlist events
+     * @return the wishlist events
      * @throws NoSuchElementException if user is not found
      */
     @Override
-    public Set<Event> getUserWishlistEvents(Integer userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("User not found with id " + userId));
-        return user.getWishlistEvents();
+    public List<EventSummaryDTO> getUserWishlistEvents(Integer userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("User not found with id " + userId);
+        }
+        return eventRepository.findWishlistSummaries(userId);
     }
 }
 
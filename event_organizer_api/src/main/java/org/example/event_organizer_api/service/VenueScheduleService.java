@@ -0,0 +1,248 @@
+package org.example.event_organizer_api.service;
+
+import jakarta.annotation.PostConstruct;
+import org.example.event_organizer_api.dto.location.TimeSlotDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.example.event_organizer_api.utilities.IntervalTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service that keeps venues from being booked by two events at once.
+ * Every location has an interval tree of the time windows of its events, in minutes, so checking a new window
+ * for conflicts and listing the free slots of a day never query the events of the location.
+ * An event occupies its location from its date and time for its duration, or for the whole day when it has no time.
+ * The trees are loaded at startup and kept up to date by the event service. A booking holds its window as soon as it is made,
+ * so two concurrent bookings cannot both take it, and gives it back if its transaction rolls back;
+ * the window an event is moved away from is only freed once the move commits.
+ * Events deleted along with their organizer or their location keep their window until it stands in the way of a new booking,
+ * which checks that the event still exists before reporting a conflict.
+ */
+@Service
+public class VenueScheduleService {
+    private static final Logger logger = LoggerFactory.getLogger(VenueScheduleService.class);
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRepository eventRepository;
+    // Guarded by this.
+    private final Map<Integer, IntervalTree> schedules = new HashMap<>();
+    private final Map<Integer, Booking> bookings = new HashMap<>();
+    private boolean loaded;
+
+    /**
+     * Constructor for VenueScheduleService.
+     *
+     * @param jdbcTemplate the JDBC template used to load the event windows
+     * @param eventRepository the event repository
+     */
+    @Autowired
+    public VenueScheduleService(JdbcTemplate jdbcTemplate, EventRepository eventRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * Loads the windows of every event with a location.
+     * If the database cannot be reached, they are loaded by the first booking instead.
+     */
+    @PostConstruct
+    public void load() {
+        try {
+            synchronized (this) {
+                ensureLoaded();
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Unable to load the venue schedules, they will be loaded on first use", e);
+        }
+    }
+
+    /**
+     * Books the location of an event for its window, or moves the booking after an edit.
+     * The booking is kept if the surrounding transaction commits and given back otherwise.
+     *
+     * @param event the event, with its ID, location, date, time and duration set
+     * @throws IllegalArgumentException if another event already occupies the location during that window
+     */
+    public void book(Event event) {
+        Integer id = event.getId();
+        Booking booking = event.getLocation() == null ? null
+                : Booking.of(event.getLocation().getId(), event.getEventDate(), event.getEventTime(), event.getDurationMinutes());
+        Booking previous;
+        while (true) {
+            IntervalTree.Interval conflict;
+            synchronized (this) {
+                ensureLoaded();
+                previous = bookings.get(id);
+                if (Objects.equals(booking, previous)) {
+                    return;
+                }
+                if (booking == null) {
+                    break;
+                }
+                IntervalTree schedule = schedules.computeIfAbsent(booking.locationId(), key -> new IntervalTree());
+                conflict = schedule.firstOverlap(booking.start(), booking.end(), id);
+                if (conflict == null) {
+                    schedule.add(booking.start(), booking.end(), id);
+                    break;
+                }
+                if (!isCommitted(conflict, booking.locationId())) {
+                    // Booked by a transaction still in progress.
+                    throw conflictException(conflict);
+                }
+            }
+            if (eventRepository.existsByIdAndLocationId(conflict.id(), booking.locationId())) {
+                throw conflictException(conflict);
+            }
+            synchronized (this) {
+                if (isCommitted(conflict, booking.locationId())) {
+                    release(conflict.id(), bookings.remove(conflict.id()));
+                }
+            }
+        }
+
+        Booking replaced = previous;
+        afterCompletion(() -> {
+            if (booking != null) {
+                bookings.put(id, booking);
+            } else {
+                bookings.remove(id);
+            }
+            release(id, replaced);
+        }, () -> release(id, booking));
+    }
+
+    /**
+     * Frees the location of an event once the surrounding transaction commits.
+     *
+     * @param eventId the event ID
+     */
+    public void cancel(Integer eventId) {
+        afterCompletion(() -> release(eventId, bookings.remove(eventId)), () -> { });
+    }
+
+    /**
+     * Lists the free slots of a location within a range, that are at least a given length.
+     *
+     * @param locationId the location ID
+     * @param from the start of the range
+     * @param to the end of the range
+     * @param minutes the shortest slot to list, in minutes
+     * @return the free slots, in order
+     */
+    public List<TimeSlotDTO> getFreeSlots(Integer locationId, LocalDateTime from, LocalDateTime to, int minutes) {
+        long start = toMinutes(from);
+        long end = toMinutes(to);
+        List<IntervalTree.Interval> booked;
+        synchronized (this) {
+            ensureLoaded();
+            IntervalTree schedule = schedules.get(locationId);
+            booked = schedule == null ? List.of() : schedule.overlapping(start, end);
+        }
+
+        List<TimeSlotDTO> slots = new ArrayList<>();
+        long cursor = start;
+        for (IntervalTree.Interval interval : booked) {
+            if (interval.start() - cursor >= minutes) {
+                slots.add(new TimeSlotDTO(toDateTime(cursor), toDateTime(interval.start())));
+            }
+            cursor = Math.max(cursor, interval.end());
+        }
+        if (end - cursor >= minutes) {
+            slots.add(new TimeSlotDTO(toDateTime(cursor), toDateTime(end)));
+        }
+        return slots;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        jdbcTemplate.query("SELECT id, location_id, event_date, event_time, duration_minutes FROM events WHERE location_id IS NOT NULL",
+                resultSet -> {
+                    int id = resultSet.getInt(1);
+                    Booking booking = Booking.of(resultSet.getInt(2), resultSet.getObject(3, LocalDate.class),
+                            resultSet.getObject(4, LocalTime.class), resultSet.getInt(5));
+                    bookings.put(id, booking);
+                    schedules.computeIfAbsent(booking.locationId(), key -> new IntervalTree()).add(booking.start(), booking.end(), id);
+                });
+        loaded = true;
+        logger.info("Loaded the venue schedules of {} events at {} locations", bookings.size(), schedules.size());
+    }
+
+    private boolean isCommitted(IntervalTree.Interval interval, Integer locationId) {
+        return new Booking(locationId, interval.start(), interval.end()).equals(bookings.get(interval.id()));
+    }
+
+    private synchronized void release(Integer eventId, Booking booking) {
+        if (booking == null) {
+            return;
+        }
+        IntervalTree schedule = schedules.get(booking.locationId());
+        if (schedule != null) {
+            schedule.remove(booking.start(), booking.end(), eventId);
+        }
+    }
+
+    private void afterCompletion(Runnable onCommit, Runnable onRollback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (VenueScheduleService.this) {
+                        (status == STATUS_COMMITTED ? onCommit : onRollback).run();
+                    }
+                }
+            });
+        } else {
+            synchronized (this) {
+                onCommit.run();
+            }
+        }
+    }
+
+    private static IllegalArgumentException conflictException(IntervalTree.Interval conflict) {
+        return new IllegalArgumentException("The location is already booked from " + toDateTime(conflict.start()) +
+                " to " + toDateTime(conflict.end()) + " by event " + conflict.id());
+    }
+
+    private static long toMinutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime toDateTime(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * The window of an event at a location, in minutes since the epoch, in the local time of the venue.
+     */
+    private record Booking(int locationId, long start, long end) {
+
+        static Booking of(int locationId, LocalDate date, LocalTime time, int durationMinutes) {
+            if (time == null) {
+                long start = toMinutes(date.atStartOfDay());
+                return new Booking(locationId, start, start + MINUTES_PER_DAY);
+            }
+            long start = toMinutes(date.atTime(time));
+            return new Booking(locationId, start, start + durationMinutes);
+        }
+    }
+}
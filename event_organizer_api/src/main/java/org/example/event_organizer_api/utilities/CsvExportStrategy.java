@@ -1,28 +1,51 @@
 package org.example.event_organizer_api.utilities;
 
+import org.example.event_organizer_api.dto.ticket.AttendeeDTO;
 import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.entity.Ticket;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 
 public class CsvExportStrategy implements TicketExportStrategy {
     @Override
-    public void export(Ticket ticket, OutputStream outputStream) throws IOException {
-        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream));
-        writer.write("Event Name,Event Date,Event Time,Location,Purchase Price\n");
+    public String fileExtension() {
+        return "csv";
+    }
+
+    @Override
+    public String contentType() {
+        return "text/csv;charset=UTF-8";
+    }
+
+    @Override
+    public void writeTicket(Ticket ticket, ExportWriter writer) throws IOException {
+        writer.raw("Event Name,Event Date,Event Time,Location,Purchase Price\n");
 
         Event event = ticket.getEvent();
-        String line = String.format("%s,%s,%s,%s,%.2f\n",
-                event.getName(),
-                event.getEventDate(),
-                event.getEventTime() != null ? event.getEventTime().toString() : "N/A",
-                event.getLocation().getName(),
-                ticket.getPurchasePrice());
-        writer.write(line);
-
-        writer.flush();
+        writer.csv(event.getName()).ascii(',')
+                .date(event.getEventDate()).ascii(',');
+        if (event.getEventTime() != null) {
+            writer.time(event.getEventTime());
+        } else {
+            writer.raw("N/A");
+        }
+        writer.ascii(',')
+                .csv(event.getLocation().getName()).ascii(',')
+                .money(ticket.getPurchasePrice()).ascii('\n');
+    }
+
+    @Override
+    public void writeAttendeeHeader(ExportWriter writer) throws IOException {
+        writer.raw("Ticket ID,User ID,Name,Email,Quantity,Purchase Price\n");
+    }
+
+    @Override
+    public void writeAttendee(AttendeeDTO attendee, ExportWriter writer) throws IOException {
+        writer.number(attendee.getTicketId()).ascii(',')
+                .number(attendee.getUserId()).ascii(',')
+                .csv(attendee.getName()).ascii(',')
+                .csv(attendee.getEmail()).ascii(',')
+                .number(attendee.getQuantity()).ascii(',')
+                .money(attendee.getPurchasePrice()).ascii('\n');
     }
 }
@@ -0,0 +1,153 @@
+package org.example.event_organizer_api.utilities;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded map whose entries expire a fixed time after they were last written.
+ * When full, the least recently used entry is evicted. Expired entries are dropped
+ * lazily when they are looked up, or in bulk by {@link #evictExpired()}.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringLruCache<K, V> {
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Node<V>> entries;
+
+    /**
+     * Constructor for ExpiringLruCache.
+     *
+     * @param maxEntries the maximum number of entries kept
+     * @param ttl how long an entry lives after it was written
+     * @param unit the unit of the TTL
+     * @param clock the nanosecond clock used to expire entries
+     */
+    public ExpiringLruCache(int maxEntries, long ttl, TimeUnit unit, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum number of entries must be greater than zero");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Node<V>> eldest) {
+                return size() > ExpiringLruCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Retrieves a live entry.
+     *
+     * @param key the key
+     * @return the value, or null if there is none or it has expired
+     */
+    public synchronized V get(K key) {
+        Node<V> node = entries.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (node.isExpired(clock.getAsLong())) {
+            entries.remove(key);
+            return null;
+        }
+        return node.value;
+    }
+
+    /**
+     * Stores a value unless a live entry already exists for the key.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the existing value, or null if the value was stored
+     */
+    public synchronized V putIfAbsent(K key, V value) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        entries.put(key, new Node<>(value, clock.getAsLong() + ttlNanos));
+        return null;
+    }
+
+    /**
+     * Stores a value, replacing any existing entry and restarting its TTL.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Node<>(value, clock.getAsLong() + ttlNanos));
+    }
+
+    /**
+     * Removes an entry if it still maps to the given value.
+     *
+     * @param key the key
+     * @param value the expected value
+     * @return true if the entry was removed, false otherwise
+     */
+    public synchronized boolean remove(K key, V value) {
+        Node<V> node = entries.get(key);
+        if (node == null || node.value != value) {
+            return false;
+        }
+        entries.remove(key);
+        return true;
+    }
+
+    /**
+     * Removes an entry whatever it maps to.
+     *
+     * @param key the key
+     */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Drops all expired entries.
+     *
+     * @return the number of entries dropped
+     */
+    public synchronized int evictExpired() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Iterator<Node<V>> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().isExpired(now)) {
+                iterator.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns the number of entries, including expired ones not dropped yet.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Node<V>(V value, long expiresAt) {
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package org.example.event_organizer_api.utilities;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A UTF-8 record writer for exports that encodes fields straight into a reusable byte buffer.
+ * Numbers, amounts, dates and times are written digit by digit and strings are encoded
+ * character by character, so writing a record creates no intermediate strings or formatters.
+ * The buffer is handed to the underlying stream whenever it fills up and on {@link #flush()}.
+ * A writer is not thread-safe; it can be pointed at another stream with {@link #reset(OutputStream)}.
+ */
+public class ExportWriter implements Flushable {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int MIN_CAPACITY = 16;
+
+    private final byte[] buffer;
+    private final byte[] digits = new byte[20];
+    private int position;
+    private OutputStream outputStream;
+
+    /**
+     * Constructor for ExportWriter.
+     *
+     * @param outputStream the stream the encoded bytes are written to
+     */
+    public ExportWriter(OutputStream outputStream) {
+        this(outputStream, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for ExportWriter.
+     *
+     * @param outputStream the stream the encoded bytes are written to
+     * @param capacity the size of the buffer in bytes
+     */
+    public ExportWriter(OutputStream outputStream, int capacity) {
+        this.outputStream = outputStream;
+        this.buffer = new byte[Math.max(capacity, MIN_CAPACITY)];
+    }
+
+    /**
+     * Drops anything still buffered and points the writer at another stream.
+     *
+     * @param outputStream the stream the encoded bytes are written to from now on
+     * @return this writer
+     */
+    public ExportWriter reset(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        this.position = 0;
+        return this;
+    }
+
+    /**
+     * Writes a single ASCII character, such as a separator or a line break.
+     *
+     * @param c the character, which must be below 0x80
+     * @return this writer
+     * @throws IOException if the buffer cannot be written out
+     */
+    public ExportWriter ascii(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * Writes a string as is.
+     *
+     * @param value the string, null is written as nothing
+     * @return this writer
+     * @throws IOException if the buffer cannot be written out
+     */
+    public ExportWriter raw(CharSequence value) throws IOException {
+        if (value != null) {
+            encode(value, false, false);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a string as a single line of text, replacing line breaks with spaces.
+     *
+     * @param value the string, null is written as nothing
+     * @return this writer
+     * @throws IOException if the buffer cannot be written out
+     */
+    public ExportWriter text(CharSequence value) throws IOException {
+        if (value != null) {
+            encode(value, false, true);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a string as a CSV field. Fields containing a separator, a quote or a line break
+     * are enclosed in quotes and their quotes doubled, as described in RFC 4180.
+     *
+     * @param value the string, null is written as an empty field
+     * @return this writer
+     * @throws IOException if the buffer cannot be written out
+     */
+    public ExportWriter csv(CharSequence value) throws IOException {
+        if (value == null) {
+            return this;
+        }
+        if (!needsQuotes(value)) {
+            encode(value, false, false);
+            return this;
+        }
+        ascii('"');
+        encode(value, true, false);
+        return ascii('"');
+    }
+
+    /**
+     * Writes a whole number.
+     *
+     * @param value the number
+     * @return this writer
+     * @throws IOException if the buffer cannot be written out
+     */
+    public ExportWriter number(long value) throws IOException {
+        if (value < 0) {
+            ascii('-');
+        }
+        // Digits are produced from the negative value so that Long.MIN_VALUE needs no special case.
+        long remaining = value < 0 ? value : -value;
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' - remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        ensure(count);
+        while (count > 0) {
+            buffer[position++] = digits[--count];
+        }
+        return this;
+    }
+
+    /**
+     * Writes an amount with exactly two decimals and a dot as the decimal separator, whatever the locale.
+     *
+     * @param amount the amount, null is written as nothing
+     * @return this writer
+     * @throws IOException if the buffer cannot be written out
+     */
+    public ExportWriter money(BigDecimal amount) throws IOException {
+        if (amount == null) {
+            return this;
+        }
+        long cents = amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        if (cents < 0) {
+            ascii('-');
+            cents = -cents;
+        }
+        number(cents / 100);
+        ascii('.');
+        ascii((char) ('0' + cents % 100 / 10));
+        return ascii((char) ('0' + cents % 10));
+    }
+
+    /**
+     * Writes a date in ISO format, yyyy-MM-dd.
+     *
+     * @param date the date, null is written as nothing
+     * @return this writer
+     * @throws IOException if the buffer cannot be written out
+     */
+    public ExportWriter date(LocalDate date) throws IOException {
+        if (date == null) {
+            return this;
+        }
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            return raw(date.toString());
+        }
+        twoDigits(date.getYear() / 100);
+        twoDigits(date.getYear() % 100);
+        ascii('-');
+        twoDigits(date.getMonthValue());
+        ascii('-');
+        return twoDigits(date.getDayOfMonth());
+    }
+
+    /**
+     * Writes a time as HH:mm, or HH:mm:ss when it has seconds.
+     *
+     * @param time the time, null is written as nothing
+     * @return this writer
+     * @throws IOException if the buffer cannot be written out
+     */
+    public ExportWriter time(LocalTime time) throws IOException {
+        if (time == null) {
+            return this;
+        }
+        twoDigits(time.getHour());
+        ascii(':');
+        twoDigits(time.getMinute());
+        if (time.getSecond() != 0) {
+            ascii(':');
+            twoDigits(time.getSecond());
+        }
+        return this;
+    }
+
+    /**
+     * Writes everything buffered to the underlying stream and flushes it.
+     *
+     * @throws IOException if the stream cannot be written to
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        outputStream.flush();
+    }
+
+    /**
+     * Writes everything buffered to the underlying stream without flushing it,
+     * e.g. before closing an archive entry.
+     *
+     * @throws IOException if the stream cannot be written to
+     */
+    public void drain() throws IOException {
+        if (position > 0) {
+            outputStream.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private ExportWriter twoDigits(int value) throws IOException {
+        ensure(2);
+        buffer[position++] = (byte) ('0' + value / 10);
+        buffer[position++] = (byte) ('0' + value % 10);
+        return this;
+    }
+
+    private static boolean needsQuotes(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void encode(CharSequence value, boolean doubleQuotes, boolean singleLine) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (singleLine && (c == '\n' || c == '\r')) {
+                    c = ' ';
+                }
+                ensure(2);
+                if (doubleQuotes && c == '"') {
+                    buffer[position++] = '"';
+                }
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensure(4);
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // An unpaired surrogate cannot be encoded, the same replacement the JDK encoder uses.
+                ensure(1);
+                buffer[position++] = '?';
+            } else {
+                ensure(3);
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            drain();
+        }
+    }
+}
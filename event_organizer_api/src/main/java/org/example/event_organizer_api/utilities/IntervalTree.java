@@ -0,0 +1,244 @@
+package org.example.event_organizer_api.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of half-open intervals {@code [start, end)}, each tagged with an ID, that finds the intervals overlapping a range.
+ * It is an AVL tree ordered by start, then end, then ID, where every node also keeps the latest end in its subtree.
+ * A search skips every subtree whose latest end is not after the start of the range, so finding the first overlap
+ * takes O(log n) and listing the k overlaps takes O(log n + k). Adding and removing take O(log n).
+ * Not thread-safe; callers synchronize.
+ */
+public class IntervalTree {
+    private Node root;
+    private int size;
+
+    /**
+     * Adds an interval. Adding an interval that is already there does nothing.
+     *
+     * @param start the start, inclusive
+     * @param end the end, exclusive
+     * @param id the ID of the interval
+     */
+    public void add(long start, long end, int id) {
+        if (end <= start) {
+            throw new IllegalArgumentException("An interval must end after it starts");
+        }
+        root = add(root, new Interval(start, end, id));
+    }
+
+    /**
+     * Removes an interval.
+     *
+     * @param start the start, inclusive
+     * @param end the end, exclusive
+     * @param id the ID of the interval
+     * @return true if the interval was there
+     */
+    public boolean remove(long start, long end, int id) {
+        int before = size;
+        root = remove(root, new Interval(start, end, id));
+        return size < before;
+    }
+
+    /**
+     * Finds the overlapping interval that starts first, ignoring the intervals with an ID.
+     *
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @param ignoredId the ID of the intervals to ignore, e.g. the one being moved
+     * @return the interval, or null if none overlaps
+     */
+    public Interval firstOverlap(long start, long end, int ignoredId) {
+        return firstOverlap(root, start, end, ignoredId);
+    }
+
+    /**
+     * Lists the intervals overlapping a range.
+     *
+     * @param start the start of the range, inclusive
+     * @param end the end of the range, exclusive
+     * @return the overlapping intervals, ordered by start
+     */
+    public List<Interval> overlapping(long start, long end) {
+        List<Interval> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    /**
+     * Returns the number of intervals.
+     *
+     * @return the number of intervals
+     */
+    public int size() {
+        return size;
+    }
+
+    private Node add(Node node, Interval interval) {
+        if (node == null) {
+            size++;
+            return new Node(interval);
+        }
+        int order = compare(interval, node.interval);
+        if (order < 0) {
+            node.left = add(node.left, interval);
+        } else if (order > 0) {
+            node.right = add(node.right, interval);
+        } else {
+            return node;
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, Interval interval) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(interval, node.interval);
+        if (order < 0) {
+            node.left = remove(node.left, interval);
+        } else if (order > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            node.right = removeFirst(node.right);
+        }
+        return balance(node);
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        return balance(node);
+    }
+
+    private static Interval firstOverlap(Node node, long start, long end, int ignoredId) {
+        if (node == null || node.maxEnd <= start) {
+            return null;
+        }
+        Interval found = firstOverlap(node.left, start, end, ignoredId);
+        if (found != null) {
+            return found;
+        }
+        if (node.interval.start() >= end) {
+            // Everything to the right starts even later.
+            return null;
+        }
+        if (node.interval.end() > start && node.interval.id() != ignoredId) {
+            return node.interval;
+        }
+        return firstOverlap(node.right, start, end, ignoredId);
+    }
+
+    private static void collect(Node node, long start, long end, List<Interval> result) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, result);
+        if (node.interval.start() >= end) {
+            return;
+        }
+        if (node.interval.end() > start) {
+            result.add(node.interval);
+        }
+        collect(node.right, start, end, result);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.interval.end();
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(Interval a, Interval b) {
+        int order = Long.compare(a.start(), b.start());
+        if (order == 0) {
+            order = Long.compare(a.end(), b.end());
+        }
+        return order != 0 ? order : Integer.compare(a.id(), b.id());
+    }
+
+    /**
+     * An interval of the tree.
+     *
+     * @param start the start, inclusive
+     * @param end the end, exclusive
+     * @param id the ID of the interval
+     */
+    public record Interval(long start, long end, int id) {
+    }
+
+    private static final class Node {
+        private Interval interval;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private long maxEnd;
+
+        private Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.event_organizer_api.utilities;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An output stream that writes into a file through a sliding memory-mapped window.
+ * Bytes are copied straight into the page cache, without a write system call per buffer;
+ * when the window is full the next region of the file is mapped. Closing the stream
+ * truncates the file to the bytes actually written but leaves the channel open.
+ */
+public class MappedFileOutputStream extends OutputStream {
+    private final FileChannel channel;
+    private final int windowSize;
+    private MappedByteBuffer window;
+    private long size;
+
+    /**
+     * Constructor for MappedFileOutputStream.
+     *
+     * @param channel a channel opened for reading and writing, positioned at the start of the file
+     * @param windowSize how many bytes of the file are mapped at a time
+     */
+    public MappedFileOutputStream(FileChannel channel, int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be greater than zero");
+        }
+        this.channel = channel;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return the size of the output
+     */
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        nextWindowIfFull();
+        window.put((byte) b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            nextWindowIfFull();
+            int chunk = Math.min(length, window.remaining());
+            window.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+            size += chunk;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The last window may reach past the output; the mapping itself is released by the garbage collector.
+        window = null;
+        channel.truncate(size);
+    }
+
+    private void nextWindowIfFull() throws IOException {
+        if (window == null || !window.hasRemaining()) {
+            window = channel.map(FileChannel.MapMode.READ_WRITE, size, windowSize);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.event_organizer_api.utilities;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size ring of per-minute sales buckets.
+ * Minute {@code m} lives in slot {@code m % capacity}; a slot still holding an older minute is
+ * taken over with a single compare-and-set, so recording never blocks and never allocates
+ * more than one bucket per minute. Buckets use striped adders, so concurrent buyers of a hot
+ * event do not contend on the same counter.
+ */
+public class MinuteRingBuffer {
+    private final AtomicReferenceArray<Bucket> slots;
+
+    /**
+     * Constructor for MinuteRingBuffer.
+     *
+     * @param minutes how many minutes the ring keeps
+     */
+    public MinuteRingBuffer(int minutes) {
+        if (minutes <= 0) {
+            throw new IllegalArgumentException("Ring size must be greater than zero");
+        }
+        this.slots = new AtomicReferenceArray<>(minutes);
+    }
+
+    /**
+     * Returns how many minutes the ring keeps.
+     *
+     * @return the number of slots
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Adds purchases and refunds to the bucket of a minute.
+     * Values for a minute that has already been overwritten by a newer one are dropped.
+     *
+     * @param minute the minute, counted from the epoch
+     * @param purchases the number of tickets bought
+     * @param revenueCents the amount paid for them, in cents
+     * @param refunds the number of tickets refunded
+     * @param refundedCents the amount refunded, in cents
+     * @return true if the values were recorded, false if the minute is no longer in the ring
+     */
+    public boolean record(long minute, long purchases, long revenueCents, long refunds, long refundedCents) {
+        Bucket bucket = bucket(minute);
+        if (bucket == null) {
+            return false;
+        }
+        bucket.purchases.add(purchases);
+        bucket.revenueCents.add(revenueCents);
+        bucket.refunds.add(refunds);
+        bucket.refundedCents.add(refundedCents);
+        return true;
+    }
+
+    /**
+     * Returns the buckets of the minutes in a range, oldest first. Minutes without activity are left out.
+     *
+     * @param fromMinute the first minute, inclusive
+     * @param toMinute the last minute, exclusive
+     * @return the buckets in the range
+     */
+    public List<Bucket> snapshot(long fromMinute, long toMinute) {
+        List<Bucket> buckets = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            Bucket bucket = slots.get(i);
+            if (bucket != null && bucket.minute >= fromMinute && bucket.minute < toMinute) {
+                buckets.add(bucket);
+            }
+        }
+        buckets.sort(Comparator.comparingLong(Bucket::getMinute));
+        return buckets;
+    }
+
+    /**
+     * Drops the buckets of the minutes before the given one, so an idle ring holds no buckets.
+     *
+     * @param minute the first minute to keep
+     * @return the number of buckets left in the ring
+     */
+    public int clearBefore(long minute) {
+        int remaining = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            Bucket bucket = slots.get(i);
+            if (bucket != null && (bucket.minute >= minute || !slots.compareAndSet(i, bucket, null))) {
+                remaining++;
+            }
+        }
+        return remaining;
+    }
+
+    private Bucket bucket(long minute) {
+        int index = (int) Math.floorMod(minute, (long) slots.length());
+        while (true) {
+            Bucket current = slots.get(index);
+            if (current != null && current.minute == minute) {
+                return current;
+            }
+            if (current != null && current.minute > minute) {
+                return null;
+            }
+            Bucket fresh = new Bucket(minute);
+            if (slots.compareAndSet(index, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * The sales of one minute.
+     */
+    public static final class Bucket {
+        private final long minute;
+        private final LongAdder purchases = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+        private final LongAdder refunds = new LongAdder();
+        private final LongAdder refundedCents = new LongAdder();
+
+        private Bucket(long minute) {
+            this.minute = minute;
+        }
+
+        public long getMinute() {
+            return minute;
+        }
+
+        public long getPurchases() {
+            return purchases.sum();
+        }
+
+        public long getRevenueCents() {
+            return revenueCents.sum();
+        }
+
+        public long getRefunds() {
+            return refunds.sum();
+        }
+
+        public long getRefundedCents() {
+            return refundedCents.sum();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.event_organizer_api.utilities;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A read-through cache in front of a slower source, bounded in size and age by an {@link ExpiringLruCache}.
+ * Misses are loaded from the source and stored; null values are returned but never stored,
+ * so something that does not exist yet is found as soon as it is created.
+ * <p>
+ * A value loaded while an invalidation happens may predate the change that caused it,
+ * so it is returned to its caller but not stored. Every invalidation bumps a generation
+ * number and a loaded value is only stored if the generation did not move during the load.
+ * Hits, misses and invalidations are counted for monitoring.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ReadThroughCache<K, V> {
+    private final ExpiringLruCache<K, V> entries;
+    private final int maxEntries;
+    private final Object lock = new Object();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Constructor for ReadThroughCache.
+     *
+     * @param maxEntries the maximum number of entries kept
+     * @param ttl how long an entry lives after it was loaded
+     * @param unit the unit of the TTL
+     * @param clock the nanosecond clock used to expire entries
+     */
+    public ReadThroughCache(int maxEntries, long ttl, TimeUnit unit, LongSupplier clock) {
+        this.entries = new ExpiringLruCache<>(maxEntries, ttl, unit, clock);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Retrieves a value, loading it from the source on a miss.
+     *
+     * @param key the key
+     * @param loader loads the value of a key from the source, or returns null if there is none
+     * @return the value, or null if the source has none
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+
+        long loadedAt = generation.get();
+        value = loader.apply(key);
+        if (value != null) {
+            synchronized (lock) {
+                if (generation.get() == loadedAt) {
+                    entries.put(key, value);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops the entry of a key, so the next lookup loads it from the source again.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Drops every entry.
+     */
+    public void invalidateAll() {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Drops all expired entries.
+     *
+     * @return the number of entries dropped
+     */
+    public int evictExpired() {
+        return entries.evictExpired();
+    }
+
+    /**
+     * Returns the number of entries, including expired ones not dropped yet.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the maximum number of entries kept.
+     *
+     * @return the maximum number of entries
+     */
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return the number of hits
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that went to the source.
+     *
+     * @return the number of misses
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of invalidations, single keys and whole cache alike.
+     *
+     * @return the number of invalidations
+     */
+    public long invalidationCount() {
+        return invalidations.sum();
+    }
+}
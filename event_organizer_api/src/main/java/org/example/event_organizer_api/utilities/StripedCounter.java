@@ -0,0 +1,107 @@
+package org.example.event_organizer_api.utilities;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A non-negative counter split across independent shards so that concurrent
+ * acquirers rarely contend on the same memory location.
+ * Each shard is only ever decremented with a compare-and-set that keeps it at or above zero,
+ * so the sum of all shards can never go negative.
+ */
+public class StripedCounter {
+    // Shards are spaced a cache line apart to avoid false sharing.
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int shards;
+
+    /**
+     * Constructor for StripedCounter.
+     *
+     * @param shards the number of shards
+     * @param initial the initial total, spread evenly across the shards
+     */
+    public StripedCounter(int shards, long initial) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Shard count must be greater than zero");
+        }
+        if (initial < 0) {
+            throw new IllegalArgumentException("Initial value cannot be negative");
+        }
+        this.shards = shards;
+        this.cells = new AtomicLongArray(shards * PADDING);
+        for (int i = 0; i < shards; i++) {
+            cells.set(i * PADDING, initial / shards + (i < initial % shards ? 1 : 0));
+        }
+    }
+
+    /**
+     * Tries to take the given amount out of the counter.
+     * Starts at the shard selected by the hint and moves on to the next shards when it runs dry.
+     * If the shards together do not hold enough, everything taken so far is given back.
+     *
+     * @param amount the amount to take
+     * @param hint a value used to pick the starting shard, e.g. the caller's thread id
+     * @return true if the whole amount was taken, false otherwise
+     */
+    public boolean tryAcquire(long amount, long hint) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than zero");
+        }
+        int start = (int) Math.floorMod(hint, (long) shards);
+        long remaining = amount;
+        for (int i = 0; i < shards && remaining > 0; i++) {
+            int index = ((start + i) % shards) * PADDING;
+            long current;
+            long taken;
+            do {
+                current = cells.get(index);
+                taken = Math.min(current, remaining);
+            } while (taken > 0 && !cells.compareAndSet(index, current, current - taken));
+            remaining -= taken;
+        }
+        if (remaining > 0) {
+            release(amount - remaining, hint);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gives the given amount back to the counter.
+     *
+     * @param amount the amount to give back
+     * @param hint a value used to pick the shard
+     */
+    public void release(long amount, long hint) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        if (amount > 0) {
+            cells.addAndGet((int) Math.floorMod(hint, (long) shards) * PADDING, amount);
+        }
+    }
+
+    /**
+     * Returns the current total across all shards.
+     * The value is a snapshot and may be stale while acquirers are active.
+     *
+     * @return the sum of all shards
+     */
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < shards; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the shard count
+     */
+    public int getShards() {
+        return shards;
+    }
+}
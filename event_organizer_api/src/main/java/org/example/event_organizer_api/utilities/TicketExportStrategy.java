@@ -1,10 +1,38 @@
 package org.example.event_organizer_api.utilities;
 
+import org.example.event_organizer_api.dto.ticket.AttendeeDTO;
 import org.example.event_organizer_api.entity.Ticket;
 
 import java.io.IOException;
 import java.io.OutputStream;
 
 public interface TicketExportStrategy {
-    void export(Ticket ticket, OutputStream outputStream) throws IOException;
+    String fileExtension();
+    String contentType();
+    void writeTicket(Ticket ticket, ExportWriter writer) throws IOException;
+    void writeAttendeeHeader(ExportWriter writer) throws IOException;
+    void writeAttendee(AttendeeDTO attendee, ExportWriter writer) throws IOException;
+
+    default void export(Ticket ticket, OutputStream outputStream) throws IOException {
+        ExportWriter writer = new ExportWriter(outputStream, 512);
+        writeTicket(ticket, writer);
+        writer.flush();
+    }
+
+    /**
+     * Picks the strategy for a requested export format.
+     *
+     * @param format the format, csv or txt
+     * @return the strategy writing that format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    static TicketExportStrategy forFormat(String format) {
+        if ("csv".equals(format)) {
+            return new CsvExportStrategy();
+        }
+        if ("txt".equals(format)) {
+            return new TxtExportStrategy();
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format + ", expected csv or txt");
+    }
 }
@@ -0,0 +1,84 @@
+package org.example.event_organizer_api.utilities;
+
+import org.example.event_organizer_api.dto.ticket.TicketSummaryDTO;
+import org.example.event_organizer_api.entity.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expands ticket line items into individual tickets.
+ * A stored ticket row carries a quantity; callers that need one entry per admission
+ * (list responses, exports) expand it here instead of storing identical rows.
+ * The single tickets keep the ID of their line item, which is what a refund deletes,
+ * and are told apart by a unit ID made of that ID and their 1-based index within it, e.g. {@code 42-3}.
+ * A refund always takes the last unit of a line item, so the unit IDs of the tickets left never change.
+ */
+public final class TicketUnits {
+
+    private TicketUnits() {
+    }
+
+    /**
+     * Builds the unit ID of a single ticket.
+     *
+     * @param ticketId the ID of its line item
+     * @param unit the 1-based index of the ticket within its line item
+     * @return the unit ID
+     */
+    public static String unitId(Integer ticketId, int unit) {
+        return ticketId + "-" + unit;
+    }
+
+    /**
+     * Expands each line item into quantity single tickets sharing its ID, each with its own unit index.
+     *
+     * @param tickets the ticket line items
+     * @return one ticket per admission
+     */
+    public static List<Ticket> expand(List<Ticket> tickets) {
+        List<Ticket> units = new ArrayList<>();
+        for (Ticket ticket : tickets) {
+            int quantity = ticket.getQuantity() != null ? ticket.getQuantity() : 1;
+            if (quantity == 1) {
+                ticket.setUnit(1);
+                units.add(ticket);
+                continue;
+            }
+            for (int i = 1; i <= quantity; i++) {
+                Ticket unit = new Ticket();
+                unit.setId(ticket.getId());
+                unit.setUser(ticket.getUser());
+                unit.setEvent(ticket.getEvent());
+                unit.setPurchasePrice(ticket.getPurchasePrice());
+                unit.setQuantity(1);
+                unit.setUnit(i);
+                units.add(unit);
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Expands each line item summary into quantity single ticket summaries sharing its ID, each with its own unit ID.
+     *
+     * @param tickets the ticket line item summaries
+     * @return one ticket summary per admission
+     */
+    public static List<TicketSummaryDTO> expandSummaries(List<TicketSummaryDTO> tickets) {
+        List<TicketSummaryDTO> units = new ArrayList<>();
+        for (TicketSummaryDTO ticket : tickets) {
+            int quantity = ticket.getQuantity() != null ? ticket.getQuantity() : 1;
+            if (quantity == 1) {
+                ticket.setUnitId(unitId(ticket.getId(), 1));
+                units.add(ticket);
+                continue;
+            }
+            for (int i = 1; i <= quantity; i++) {
+                units.add(new TicketSummaryDTO(ticket.getId(), 1, ticket.getPurchasePrice(), ticket.getUser(), ticket.getEvent(),
+                        unitId(ticket.getId(), i)));
+            }
+        }
+        return units;
+    }
+}
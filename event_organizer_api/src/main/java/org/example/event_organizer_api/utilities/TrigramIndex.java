@@ -0,0 +1,343 @@
+package org.example.event_organizer_api.utilities;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory trigram index for type-ahead search over short texts, such as names.
+ * Texts are lowercased, stripped of accents and split into words; every word is padded
+ * the way pg_trgm does it, two spaces in front and one behind, so its first trigrams double as a prefix index.
+ * The last word of a query is treated as unfinished and gets no trailing padding.
+ * A document matches when it shares at least half of the trigrams of the query, which tolerates typos;
+ * sharing all of them means every word typed starts a word of the document.
+ * Each text of a document is matched on its own. Matches are ranked by the share of trigrams found,
+ * then by which text matched, the first one before the second, then by the length of that text, so shorter names come first.
+ * <p>
+ * Each posting list is a sorted array of rank keys, made of the position of the text, its length and the document ID,
+ * so it lists texts in the order they rank among equally similar ones. Candidates are only read from
+ * the shortest lists of the query, since a document missing from all of them cannot reach the required share,
+ * and are looked up in the other lists by galloping search. The lists are walked in rank order and the lookup
+ * stops as soon as the results are full of documents sharing every trigram, which no later document can beat.
+ * Lookups share a read lock and run in parallel; updates take the write lock.
+ *
+ * @param <T> the type of the values returned for matching documents
+ */
+public class TrigramIndex<T> {
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double MIN_SIMILARITY = 0.5;
+    private static final int MAX_LENGTH = (1 << 24) - 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Postings> postings = new HashMap<>();
+    private Map<Integer, Document<T>> documents = new HashMap<>();
+
+    /**
+     * Adds a document, or replaces the document with the same ID.
+     *
+     * @param id the document ID
+     * @param value the value returned when the document matches
+     * @param texts the texts to index, the first one being the one results are ranked on
+     */
+    public void put(int id, T value, String... texts) {
+        Document<T> document = document(id, value, texts);
+        lock.writeLock().lock();
+        try {
+            unlink(postings, documents.put(id, document));
+            for (int field = 0; field < document.rankKeys.length; field++) {
+                for (String trigram : document.trigrams.get(field)) {
+                    postings.computeIfAbsent(trigram, key -> new Postings()).add(document.rankKeys[field]);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document.
+     *
+     * @param id the document ID
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            unlink(postings, documents.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces every document of the index. The new index is built before the lock is taken,
+     * so lookups are only held up for the swap.
+     *
+     * @param entries the new documents, as their values
+     * @param id extracts the ID of a document from its value
+     * @param texts extracts the texts to index from a value
+     */
+    public void replaceAll(List<T> entries, ToIntFunction<T> id, Function<T, String[]> texts) {
+        Map<String, Postings> newPostings = new HashMap<>();
+        Map<Integer, Document<T>> newDocuments = new HashMap<>();
+        for (T entry : entries) {
+            Document<T> document = document(id.applyAsInt(entry), entry, texts.apply(entry));
+            if (newDocuments.put(document.id, document) != null) {
+                throw new IllegalArgumentException("Duplicate document ID: " + document.id);
+            }
+            for (int field = 0; field < document.rankKeys.length; field++) {
+                for (String trigram : document.trigrams.get(field)) {
+                    newPostings.computeIfAbsent(trigram, key -> new Postings()).append(document.rankKeys[field]);
+                }
+            }
+        }
+        newPostings.values().forEach(Postings::sort);
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            documents = newDocuments;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents best matching a query.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of results
+     * @return the values of the matching documents, best match first
+     */
+    public List<T> search(String query, int limit) {
+        String normalized = normalize(query);
+        Set<String> queryTrigrams = trigrams(normalized, false);
+        if (queryTrigrams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int required = (int) Math.ceil(queryTrigrams.size() * MIN_SIMILARITY);
+
+        // The worst of the best matches so far sits on top, ready to be replaced.
+        PriorityQueue<Match<T>> best = new PriorityQueue<>(limit + 1, Match.<T>ranking().reversed());
+        Map<Integer, Match<T>> bestById = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(queryTrigrams.size());
+            for (String trigram : queryTrigrams) {
+                lists.add(postings.getOrDefault(trigram, Postings.EMPTY));
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            // A match is missing from at most size - required lists, so it is in one of the others.
+            int drivers = lists.size() - required + 1;
+            int[] positions = new int[lists.size()];
+            while (true) {
+                long rankKey = Long.MAX_VALUE;
+                for (int i = 0; i < drivers; i++) {
+                    Postings list = lists.get(i);
+                    if (positions[i] < list.size && list.keys[positions[i]] < rankKey) {
+                        rankKey = list.keys[positions[i]];
+                    }
+                }
+                if (rankKey == Long.MAX_VALUE) {
+                    break;
+                }
+
+                int found = 0;
+                for (int i = 0; i < lists.size(); i++) {
+                    Postings list = lists.get(i);
+                    if (i >= drivers) {
+                        positions[i] = list.seek(positions[i], rankKey);
+                    }
+                    if (positions[i] < list.size && list.keys[positions[i]] == rankKey) {
+                        found++;
+                        if (i < drivers) {
+                            positions[i]++;
+                        }
+                    }
+                }
+                if (found < required) {
+                    continue;
+                }
+                double similarity = (double) found / lists.size();
+                // Later documents lose ties, so only a more similar one can replace the worst result.
+                if (best.size() == limit && similarity <= best.peek().similarity) {
+                    continue;
+                }
+                int id = (int) rankKey;
+                Match<T> previous = bestById.get(id);
+                if (previous != null) {
+                    // Another text of the document already made it, keep whichever ranks higher.
+                    if (similarity <= previous.similarity) {
+                        continue;
+                    }
+                    best.remove(previous);
+                }
+                Match<T> match = new Match<>(documents.get(id).value, similarity, rankKey);
+                best.add(match);
+                bestById.put(id, match);
+                if (best.size() > limit) {
+                    bestById.remove((int) best.poll().rankKey);
+                }
+                if (best.size() == limit && best.peek().similarity == 1.0) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match<T>> ranked = new ArrayList<>(best);
+        ranked.sort(Match.ranking());
+        List<T> results = new ArrayList<>(ranked.size());
+        for (Match<T> match : ranked) {
+            results.add(match.value);
+        }
+        return results;
+    }
+
+    /**
+     * Retrieves the number of documents in the index.
+     *
+     * @return the number of documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static <T> void unlink(Map<String, Postings> postings, Document<T> document) {
+        if (document == null) {
+            return;
+        }
+        for (int field = 0; field < document.rankKeys.length; field++) {
+            for (String trigram : document.trigrams.get(field)) {
+                Postings list = postings.get(trigram);
+                if (list != null && list.remove(document.rankKeys[field]) && list.size == 0) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static <T> Document<T> document(int id, T value, String... texts) {
+        if (texts.length > 127) {
+            throw new IllegalArgumentException("A document cannot have more than 127 texts");
+        }
+        long[] rankKeys = new long[texts.length];
+        List<Set<String>> trigrams = new ArrayList<>(texts.length);
+        for (int field = 0; field < texts.length; field++) {
+            String normalized = normalize(texts[field]);
+            rankKeys[field] = ((long) field << 56) | ((long) Math.min(normalized.length(), MAX_LENGTH) << 32) | (id & 0xFFFFFFFFL);
+            trigrams.add(trigrams(normalized, true));
+        }
+        return new Document<>(id, value, rankKeys, trigrams);
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return SEPARATORS.matcher(ACCENTS.matcher(decomposed).replaceAll("")).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigrams(String normalized, boolean complete) {
+        Set<String> trigrams = new HashSet<>();
+        if (normalized.isEmpty()) {
+            return trigrams;
+        }
+        String[] words = normalized.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            boolean finished = complete || i < words.length - 1;
+            String padded = "  " + words[i] + (finished ? " " : "");
+            for (int start = 0; start + 3 <= padded.length(); start++) {
+                trigrams.add(padded.substring(start, start + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    // A sorted, growable array of rank keys.
+    private static final class Postings {
+        private static final Postings EMPTY = new Postings();
+
+        private long[] keys = new long[4];
+        private int size;
+
+        private void add(long key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            grow();
+            System.arraycopy(keys, position, keys, position + 1, size - position);
+            keys[position] = key;
+            size++;
+        }
+
+        private void append(long key) {
+            grow();
+            keys[size++] = key;
+        }
+
+        private void sort() {
+            Arrays.sort(keys, 0, size);
+        }
+
+        private boolean remove(long key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        // The position of the first key not below the given one, searched from a position known not to be past it.
+        private int seek(int from, long key) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && keys[high] < key) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(keys, low, Math.min(high, size), key);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        private void grow() {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+        }
+    }
+
+    private record Document<T>(int id, T value, long[] rankKeys, List<Set<String>> trigrams) {
+    }
+
+    private record Match<T>(T value, double similarity, long rankKey) {
+        static <T> Comparator<Match<T>> ranking() {
+            return Comparator.<Match<T>>comparingDouble(match -> -match.similarity).thenComparingLong(Match::rankKey);
+        }
+    }
+}
@@ -1,28 +1,51 @@
 package org.example.event_organizer_api.utilities;
 
+import org.example.event_organizer_api.dto.ticket.AttendeeDTO;
 import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.entity.Ticket;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 
 public class TxtExportStrategy implements TicketExportStrategy {
     @Override
-    public void export(Ticket ticket, OutputStream outputStream) throws IOException {
-        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream));
+    public String fileExtension() {
+        return "txt";
+    }
+
+    @Override
+    public String contentType() {
+        return "text/plain;charset=UTF-8";
+    }
 
+    @Override
+    public void writeTicket(Ticket ticket, ExportWriter writer) throws IOException {
         Event event = ticket.getEvent();
-        String block = String.format("Event: %s\nDate: %s\nTime: %s\nLocation: %s\nPurchase Price: %.2f\n\n",
-                event.getName(),
-                event.getEventDate(),
-                event.getEventTime() != null ? event.getEventTime().toString() : "N/A",
-                event.getLocation().getName(),
-                ticket.getPurchasePrice());
-        writer.write(block);
+        writer.raw("Event: ").text(event.getName())
+                .raw("\nDate: ").date(event.getEventDate())
+                .raw("\nTime: ");
+        if (event.getEventTime() != null) {
+            writer.time(event.getEventTime());
+        } else {
+            writer.raw("N/A");
+        }
+        writer.raw("\nLocation: ").text(event.getLocation().getName())
+                .raw("\nPurchase Price: ").money(ticket.getPurchasePrice())
+                .raw("\n\n");
+    }
 
-        writer.flush();
+    @Override
+    public void writeAttendeeHeader(ExportWriter writer) {
+        // Plain text blocks need no header.
     }
-}
 
+    @Override
+    public void writeAttendee(AttendeeDTO attendee, ExportWriter writer) throws IOException {
+        writer.raw("Ticket: ").number(attendee.getTicketId())
+                .raw("\nUser: ").number(attendee.getUserId())
+                .raw("\nName: ").text(attendee.getName())
+                .raw("\nEmail: ").text(attendee.getEmail())
+                .raw("\nQuantity: ").number(attendee.getQuantity())
+                .raw("\nPurchase Price: ").money(attendee.getPurchasePrice())
+                .raw("\n\n");
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.event_organizer_api.benchmark;
+
+import org.example.event_organizer_api.dto.ticket.CartDTO;
+import org.example.event_organizer_api.dto.ticket.CartItemDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
+import org.example.event_organizer_api.entity.User;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.example.event_organizer_api.repository.LocationRepository;
+import org.example.event_organizer_api.repository.TicketRepository;
+import org.example.event_organizer_api.repository.UserRepository;
+import org.example.event_organizer_api.service.TicketService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs many overlapping cart checkouts against the same few events, with the items of every cart in random order,
+ * and checks that none of them is aborted as a deadlock victim and that no ticket is oversold.
+ * Needs the PostgreSQL database from application.properties, run with
+ * {@code EVENT_ORGANIZER_BENCHMARK=true mvn test -Dtest=CartCheckoutConcurrencyBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.mail.username=benchmark",
+        "spring.mail.password=benchmark"
+})
+@EnabledIfEnvironmentVariable(named = "EVENT_ORGANIZER_BENCHMARK", matches = "true")
+class CartCheckoutConcurrencyBenchmark {
+    private static final int EVENTS = 4;
+    private static final int CAPACITY = 500;
+    private static final int CARTS = 2_000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private User user;
+    private Location location;
+    private final List<Event> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        user = new User();
+        user.setUsername("benchmark-" + suffix);
+        user.setName("benchmark-" + suffix);
+        user.setPassword("benchmark");
+        user.setUserType("client");
+        user.setEmail("benchmark@example.org");
+        user = userRepository.save(user);
+
+        location = new Location();
+        location.setName("benchmark-" + suffix);
+        location.setAddress("benchmark");
+        location.setCapacity(CAPACITY);
+        location = locationRepository.save(location);
+
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setName("benchmark-" + suffix + "-" + i);
+            event.setEventType("benchmark");
+            event.setEventDate(LocalDate.now().plusYears(1).plusDays(i));
+            event.setLocation(location);
+            event.setTicketsAvailable(CAPACITY);
+            event.setPrice(BigDecimal.TEN);
+            event.setOrganizer(user);
+            event.setOnSale(0);
+            events.add(eventRepository.save(event));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        events.forEach(event -> eventRepository.deleteById(event.getId()));
+        locationRepository.deleteById(location.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void overlappingCartsNeverDeadlock() throws InterruptedException {
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        AtomicInteger deadlocks = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(CARTS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int i = 0; i < CARTS; i++) {
+            executor.execute(() -> {
+                try {
+                    ticketService.checkoutCart(randomCart());
+                    completed.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    soldOut.incrementAndGet();
+                } catch (PessimisticLockingFailureException e) {
+                    deadlocks.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.MINUTES));
+        executor.shutdown();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("%d carts in %.2f s (%.0f carts/s): %d completed, %d sold out, %d deadlocks%n",
+                CARTS, seconds, CARTS / seconds, completed.get(), soldOut.get(), deadlocks.get());
+
+        assertEquals(0, deadlocks.get());
+        for (Event event : events) {
+            int available = eventRepository.findById(event.getId()).orElseThrow().getTicketsAvailable();
+            assertTrue(available >= 0);
+            assertEquals(CAPACITY, available + ticketRepository.countSoldByEventId(event.getId()));
+        }
+    }
+
+    private CartDTO randomCart() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<CartItemDTO> items = new ArrayList<>();
+        for (Event event : events) {
+            if (random.nextBoolean()) {
+                items.add(new CartItemDTO(event.getId(), random.nextInt(1, 3), BigDecimal.TEN, null));
+            }
+        }
+        if (items.isEmpty()) {
+            items.add(new CartItemDTO(events.get(random.nextInt(EVENTS)).getId(), 1, BigDecimal.TEN, null));
+        }
+        Collections.shuffle(items);
+        return new CartDTO(user.getId(), items);
+    }
+}
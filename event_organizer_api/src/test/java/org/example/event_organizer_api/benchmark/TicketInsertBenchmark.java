@@ -0,0 +1,206 @@
+package org.example.event_organizer_api.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
+import org.example.event_organizer_api.entity.Ticket;
+import org.example.event_organizer_api.entity.User;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.example.event_organizer_api.repository.LocationRepository;
+import org.example.event_organizer_api.repository.TicketRepository;
+import org.example.event_organizer_api.repository.UserRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares inserting the tickets of one purchase row by row, the way IDENTITY generation forces Hibernate to,
+ * with the batched inserts enabled by pooled sequence allocation.
+ * Both modes save the same entities through {@code saveAll}; the row-by-row mode only turns JDBC batching off for its session.
+ * Both are measured with the same counters: the statements Hibernate prepared, and the round-trips actually sent
+ * to the database, counted by wrapping the data source so every execute and executeBatch call is seen.
+ * Needs the PostgreSQL database from application.properties, run with
+ * {@code EVENT_ORGANIZER_BENCHMARK=true mvn test -Dtest=TicketInsertBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.mail.username=benchmark",
+        "spring.mail.password=benchmark"
+})
+@EnabledIfEnvironmentVariable(named = "EVENT_ORGANIZER_BENCHMARK", matches = "true")
+class TicketInsertBenchmark {
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        user = new User();
+        user.setUsername("benchmark-" + suffix);
+        user.setName("benchmark-" + suffix);
+        user.setPassword("benchmark");
+        user.setUserType("client");
+        user.setEmail("benchmark@example.org");
+        user = userRepository.save(user);
+
+        Location location = new Location();
+        location.setName("benchmark-" + suffix);
+        location.setAddress("benchmark");
+        location.setCapacity(1_000_000);
+        location = locationRepository.save(location);
+
+        event = new Event();
+        event.setName("benchmark-" + suffix);
+        event.setEventType("benchmark");
+        event.setEventDate(LocalDate.now().plusYears(1));
+        event.setLocation(location);
+        event.setTicketsAvailable(location.getCapacity());
+        event.setPrice(BigDecimal.TEN);
+        event.setOrganizer(user);
+        event.setOnSale(0);
+        event = eventRepository.save(event);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteById(event.getId());
+        locationRepository.deleteById(event.getLocation().getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void purchaseInsertRoundTrips() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        System.out.printf("%-10s %-10s %14s %14s %14s%n", "tickets", "mode", "prepared", "round-trips", "mean ms");
+        for (int quantity : new int[]{1, 10, 100}) {
+            int size = quantity;
+            measure("row-by-row", size, statistics, () -> insert(size, 1));
+            measure("batched", size, statistics, () -> insert(size, null));
+        }
+    }
+
+    private void measure(String mode, int quantity, Statistics statistics, Runnable purchase) {
+        for (int i = 0; i < WARMUP; i++) {
+            purchase.run();
+        }
+        statistics.clear();
+        ROUND_TRIPS.set(0);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            purchase.run();
+        }
+        double meanMillis = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+        System.out.printf("%-10d %-10s %14.1f %14.1f %14.3f%n", quantity, mode,
+                (double) statistics.getPrepareStatementCount() / ITERATIONS, (double) ROUND_TRIPS.get() / ITERATIONS, meanMillis);
+    }
+
+    // A null batch size keeps the configured hibernate.jdbc.batch_size, 1 sends every insert on its own.
+    private void insert(int quantity, Integer batchSize) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            List<Ticket> tickets = new ArrayList<>();
+            for (int i = 0; i < quantity; i++) {
+                Ticket ticket = new Ticket();
+                ticket.setUser(user);
+                ticket.setEvent(event);
+                ticket.setPurchasePrice(BigDecimal.TEN);
+                tickets.add(ticket);
+            }
+            ticketRepository.saveAll(tickets);
+            entityManager.flush();
+        });
+    }
+
+    @TestConfiguration
+    static class RoundTripCounting {
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counting(dataSource, DataSource.class) : bean;
+                }
+            };
+        }
+
+        // Wraps the data source, its connections and their statements; every execute call is one round-trip.
+        private static <T> T counting(T target, Class<T> type) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (Statement.class.isAssignableFrom(type) && method.getName().startsWith("execute")) {
+                    ROUND_TRIPS.incrementAndGet();
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+                    return counting(connection, Connection.class);
+                }
+                if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return wrapStatement(statement, method.getReturnType());
+                }
+                return result;
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Object wrapStatement(Statement statement, Class<?> type) {
+            return counting(statement, (Class<Statement>) type);
+        }
+    }
+}
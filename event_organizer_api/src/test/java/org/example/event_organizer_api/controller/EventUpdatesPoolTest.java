@@ -0,0 +1,109 @@
+package org.example.event_organizer_api.controller;
+
+import org.example.event_organizer_api.security.JwtUtil;
+import org.example.event_organizer_api.service.EventUpdateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Proves that an open event update stream does not hold a database connection.
+ * Opens several times more subscriptions than the connection pool has connections, keeps them all open,
+ * and checks that every one got the current state of its event and that an ordinary request is still served.
+ * A subscription holding its connection until the stream ends would exhaust the pool after the second one.
+ * Needs the PostgreSQL database from application.properties, run with
+ * {@code EVENT_ORGANIZER_BENCHMARK=true mvn test -Dtest=EventUpdatesPoolTest}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + EventUpdatesPoolTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=2000",
+        "spring.mail.username=benchmark",
+        "spring.mail.password=benchmark"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+@EnabledIfEnvironmentVariable(named = "EVENT_ORGANIZER_BENCHMARK", matches = "true")
+class EventUpdatesPoolTest {
+    static final int POOL_SIZE = 2;
+    private static final int SUBSCRIPTIONS = POOL_SIZE * 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EventUpdateService eventUpdateService;
+
+    private String prefix;
+    private int eventId;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "pool-" + UUID.randomUUID() + "-";
+        Integer userId = jdbcTemplate.queryForObject("INSERT INTO users (id, username, name, password, user_type, email) " +
+                "VALUES (nextval('users_id_seq'), ?, ?, 'pool', 'organizer', 'pool@example.org') RETURNING id",
+                Integer.class, prefix + "organizer", prefix + "organizer");
+        Integer locationId = jdbcTemplate.queryForObject("INSERT INTO locations (id, name, address, capacity) " +
+                "VALUES (nextval('locations_id_seq'), ?, 'pool', 100) RETURNING id", Integer.class, prefix + "location");
+        eventId = jdbcTemplate.queryForObject("INSERT INTO events (id, name, event_type, event_date, event_time, location_id, tickets_available, price, organizer_id, on_sale) " +
+                "VALUES (nextval('events_id_seq'), ?, 'pool', DATE '2030-01-01', TIME '20:00', ?, 100, 50, ?, 0) RETURNING id",
+                Integer.class, prefix + "event", locationId, userId);
+        token = "Bearer " + jwtUtil.generateToken(userId, prefix + "organizer", "organizer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The event goes with its organizer.
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ? || '%'", prefix);
+        jdbcTemplate.update("DELETE FROM locations WHERE name LIKE ? || '%'", prefix);
+    }
+
+    @Test
+    void openSubscriptionsDoNotExhaustThePool() throws Exception {
+        int before = eventUpdateService.getSubscriptionCount();
+        List<MvcResult> streams = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIPTIONS; i++) {
+            streams.add(mockMvc.perform(get("/api/event/updates").param("ids", String.valueOf(eventId))
+                            .header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+        }
+        assertEquals(before + SUBSCRIPTIONS, eventUpdateService.getSubscriptionCount());
+
+        mockMvc.perform(get("/api/event/{id}", eventId).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        for (MvcResult stream : streams) {
+            for (int i = 0; i < 50 && !stream.getResponse().getContentAsString().contains("event:update"); i++) {
+                Thread.sleep(100);
+            }
+            assertTrue(stream.getResponse().getContentAsString().contains("\"id\":" + eventId),
+                    "every subscription should start with the current state of its event");
+        }
+    }
+}
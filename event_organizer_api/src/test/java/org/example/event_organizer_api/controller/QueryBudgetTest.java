@@ -0,0 +1,272 @@
+package org.example.event_organizer_api.controller;
+
+import org.example.event_organizer_api.security.JwtUtil;
+import org.example.event_organizer_api.service.ExportJobService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.UriTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Fails any endpoint that runs more SQL statements than its budget, so an association loaded row by row shows up as a failure.
+ * Seeds an organizer with events at several locations, one of them archived, and a client holding a ticket and a wishlist entry for each,
+ * then calls the endpoints with a signed token and counts the statements Hibernate prepares on the request thread.
+ * The endpoints are not picked by hand: every read endpoint the application maps is called, with each role until one is let in,
+ * and every call, reads and writes alike, is held to the budget of the endpoint it was routed to,
+ * {@link #DEFAULT_BUDGET} unless {@link #BUDGETS} says otherwise, so a new endpoint is checked as soon as it is mapped.
+ * Every budget includes the lookup of the caller by the JWT filter.
+ * Statements run by a streamed response body or an export job happen on another thread and are not counted.
+ * Needs the PostgreSQL database from application.properties, run with
+ * {@code EVENT_ORGANIZER_BENCHMARK=true mvn test -Dtest=QueryBudgetTest}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.event_organizer_api.controller.QueryBudgetTest$CountingInspector",
+        "spring.mail.username=benchmark",
+        "spring.mail.password=benchmark"
+})
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "EVENT_ORGANIZER_BENCHMARK", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+    private static final int EVENTS = 5;
+    private static final int DEFAULT_BUDGET = 3;
+
+    // Endpoints held to a budget other than the default, keyed by method and mapped pattern.
+    private static final Map<String, Integer> BUDGETS = Map.of(
+            "GET /api/event/catalog", 2,
+            "GET /api/event/search", 2,
+            "GET /api/event/all", 2,
+            "GET /api/event/{id}", 2,
+            // The access rule, the caller, the existence check of the event and the rollup.
+            "GET /api/event/sales/{id}", 4,
+            "GET /api/event/{id}/sales-timeline", 4,
+            // The buyer, the reservation, the event with its location, a block of ticket IDs and the insert.
+            "POST /api/ticket/create", 6,
+            // The access rule, the event with its location and organizer, and the update.
+            "PUT /api/event/sale/{id}", 4);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ExportJobService exportJobService;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private String prefix;
+    private int organizerId;
+    private int clientId;
+    private int archivedEventId;
+    private String jobId;
+    private final List<Integer> eventIds = new ArrayList<>();
+    private final List<Integer> locationIds = new ArrayList<>();
+    private final List<Integer> ticketIds = new ArrayList<>();
+    private String organizerToken;
+    private String clientToken;
+    private String administratorToken;
+
+    @BeforeAll
+    void seed() throws InterruptedException {
+        prefix = "budget-" + UUID.randomUUID() + "-";
+        organizerId = insertUser("organizer");
+        clientId = insertUser("client");
+        int administratorId = insertUser("administrator");
+        for (int i = 0; i < EVENTS; i++) {
+            Integer locationId = jdbcTemplate.queryForObject("INSERT INTO locations (id, name, address, capacity) " +
+                    "VALUES (nextval('locations_id_seq'), ?, 'budget', 100) RETURNING id", Integer.class, prefix + i);
+            locationIds.add(locationId);
+            Integer eventId = jdbcTemplate.queryForObject("INSERT INTO events (id, name, event_type, event_date, event_time, location_id, tickets_available, price, organizer_id, on_sale) " +
+                    "VALUES (nextval('events_id_seq'), ?, 'budget', DATE '2030-01-01' + ?, TIME '20:00', ?, 100, 50, ?, 0) RETURNING id",
+                    Integer.class, prefix + i, i, locationId, organizerId);
+            eventIds.add(eventId);
+            ticketIds.add(jdbcTemplate.queryForObject("INSERT INTO tickets (id, user_id, event_id, purchase_price, quantity) " +
+                    "VALUES (nextval('tickets_id_seq'), ?, ?, 50, 2) RETURNING id", Integer.class, clientId, eventId));
+            jdbcTemplate.update("INSERT INTO wishlist (user_id, event_id) VALUES (?, ?)", clientId, eventId);
+        }
+        archivedEventId = jdbcTemplate.queryForObject("INSERT INTO events_archive (id, name, event_type, event_date, location_id, tickets_available, " +
+                "price, organizer_id, on_sale, duration_minutes, tickets_sold, gross_revenue) " +
+                "VALUES (nextval('events_id_seq'), ?, 'budget', DATE '2000-06-01', ?, 98, 50, ?, 0, 120, 2, 100) RETURNING id",
+                Integer.class, prefix + "archived", locationIds.get(0), organizerId);
+        jdbcTemplate.update("INSERT INTO tickets_archive (id, user_id, event_id, purchase_price, quantity) " +
+                "VALUES (nextval('tickets_id_seq'), ?, ?, 50, 2)", clientId, archivedEventId);
+
+        jobId = exportJobService.submitJob("events").getId();
+        for (int i = 0; i < 600 && !"COMPLETED".equals(exportJobService.getJob(jobId).getStatus()); i++) {
+            Thread.sleep(100);
+        }
+
+        organizerToken = "Bearer " + jwtUtil.generateToken(organizerId, prefix + "organizer", "organizer");
+        clientToken = "Bearer " + jwtUtil.generateToken(clientId, prefix + "client", "client");
+        administratorToken = "Bearer " + jwtUtil.generateToken(administratorId, prefix + "administrator", "administrator");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        exportJobService.deleteJob(jobId);
+        // Events, tickets, wishlist entries and archived events go with their users.
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ? || '%'", prefix);
+        jdbcTemplate.update("DELETE FROM locations WHERE name LIKE ? || '%'", prefix);
+    }
+
+    @Test
+    void everyReadEndpointIsWithinBudget() throws Exception {
+        List<String> notCalled = new ArrayList<>();
+        for (String pattern : mappedPatterns(RequestMethod.GET)) {
+            Map<String, Object> variables = new HashMap<>();
+            for (String variable : new UriTemplate(pattern).getVariableNames()) {
+                variables.put(variable, pathValue(pattern, variable));
+            }
+            boolean called = false;
+            for (String token : List.of(clientToken, organizerToken, administratorToken)) {
+                MockHttpServletRequestBuilder request = get(new UriTemplate(pattern).expand(variables));
+                queryParameters(pattern).forEach(request::param);
+                if (call(request, token) / 100 == 2) {
+                    called = true;
+                    break;
+                }
+            }
+            if (!called) {
+                notCalled.add(pattern);
+            }
+        }
+        assertTrue(notCalled.isEmpty(), "No role could call, seed the data they need: " + notCalled);
+    }
+
+    @Test
+    void budgetsOnlyNameMappedEndpoints() {
+        Set<String> mapped = new TreeSet<>();
+        for (RequestMethod method : RequestMethod.values()) {
+            mappedPatterns(method).forEach(pattern -> mapped.add(method + " " + pattern));
+        }
+        for (String endpoint : BUDGETS.keySet()) {
+            assertTrue(mapped.contains(endpoint), endpoint + " is not mapped, its budget is stale");
+        }
+    }
+
+    @Test
+    void purchase() throws Exception {
+        assertEquals(200, call(post("/api/ticket/create").param("quantity", "2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\": " + clientId + ", \"eventId\": " + eventIds.get(1) + ", \"purchasePrice\": 50}"), clientToken));
+    }
+
+    @Test
+    void sale() throws Exception {
+        assertEquals(200, call(put("/api/event/sale/{id}", eventIds.get(2)).param("salePercent", "10"), organizerToken));
+    }
+
+    private int insertUser(String userType) {
+        return jdbcTemplate.queryForObject("INSERT INTO users (id, username, name, password, user_type, email) " +
+                "VALUES (nextval('users_id_seq'), ?, ?, 'budget', ?, 'budget@example.org') RETURNING id",
+                Integer.class, prefix + userType, prefix + userType, userType);
+    }
+
+    private Set<String> mappedPatterns(RequestMethod method) {
+        Set<String> patterns = new TreeSet<>();
+        handlerMapping.getHandlerMethods().keySet().stream()
+                .filter(info -> info.getMethodsCondition().getMethods().contains(method))
+                .forEach(info -> info.getPatternValues().stream().filter(pattern -> pattern.startsWith("/api/")).forEach(patterns::add));
+        return patterns;
+    }
+
+    private Object pathValue(String pattern, String variable) {
+        return switch (variable) {
+            case "userId" -> clientId;
+            case "organizerId" -> organizerId;
+            case "eventId" -> eventIds.get(0);
+            case "ticketId" -> ticketIds.get(0);
+            case "jobId" -> jobId;
+            case "role" -> "client";
+            case "id" -> pattern.startsWith("/api/ticket/") ? ticketIds.get(0)
+                    : pattern.startsWith("/api/location/") ? locationIds.get(0)
+                    : pattern.startsWith("/api/archive/") ? archivedEventId
+                    : eventIds.get(0);
+            default -> throw new IllegalStateException("No seeded value for {" + variable + "} in " + pattern);
+        };
+    }
+
+    private Map<String, String> queryParameters(String pattern) {
+        return switch (pattern) {
+            case "/api/event/updates" -> Map.of("ids", String.valueOf(eventIds.get(0)));
+            case "/api/event/search" -> Map.of("organizer", String.valueOf(organizerId));
+            case "/api/event/autocomplete" -> Map.of("q", prefix);
+            case "/api/archive/events" -> Map.of("from", "2000-01-01", "to", "2000-12-31");
+            case "/api/location/{id}/free-slots" -> Map.of("from", "2030-01-01T00:00:00", "to", "2030-01-08T00:00:00");
+            case "/api/queue/{eventId}/status" -> Map.of("token", "none");
+            case "/api/user/id" -> Map.of("userId", String.valueOf(clientId));
+            case "/api/ticket/export/{ticketId}", "/api/ticket/event/{eventId}/export", "/api/ticket/user/{userId}/export" -> Map.of("format", "csv");
+            default -> Map.of();
+        };
+    }
+
+    // Every request of this test goes through here and is held to the budget of the endpoint it was routed to.
+    private int call(MockHttpServletRequestBuilder request, String token) throws Exception {
+        List<String> statements = new ArrayList<>();
+        MvcResult result;
+        CountingInspector.STATEMENTS.set(statements);
+        try {
+            result = mockMvc.perform(request.header("Authorization", token)).andReturn();
+        } finally {
+            CountingInspector.STATEMENTS.remove();
+        }
+        Object pattern = result.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        assertNotNull(pattern, "No endpoint mapped for " + result.getRequest().getRequestURI());
+        String endpoint = result.getRequest().getMethod() + " " + pattern;
+        int budget = BUDGETS.getOrDefault(endpoint, DEFAULT_BUDGET);
+        assertTrue(statements.size() <= budget,
+                endpoint + " ran " + statements.size() + " statements for a budget of " + budget + ":\n" + String.join("\n", statements));
+        return result.getResponse().getStatus();
+    }
+
+    // Only counts the statements of the thread that is recording, so scheduled jobs running meanwhile are left out.
+    public static class CountingInspector implements StatementInspector {
+        static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
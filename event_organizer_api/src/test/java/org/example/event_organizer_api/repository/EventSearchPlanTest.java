@@ -0,0 +1,187 @@
+package org.example.event_organizer_api.repository;
+
+import org.example.event_organizer_api.dto.event.EventPageDTO;
+import org.example.event_organizer_api.dto.event.EventSearchDTO;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.service.EventService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that event searches are served by the composite indexes of migration 006 rather than by scanning the events table.
+ * Seeds a million events, runs each kind of search through the service, and explains the SQL Hibernate generated for it.
+ * Criteria values are inlined so that the captured statements can be explained as they are.
+ * Needs the PostgreSQL database from application.properties, migrated up to 006, run with
+ * {@code EVENT_ORGANIZER_BENCHMARK=true mvn test -Dtest=EventSearchPlanTest}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.event_organizer_api.repository.EventSearchPlanTest$CapturingInspector",
+        "spring.mail.username=benchmark",
+        "spring.mail.password=benchmark"
+})
+@EnabledIfEnvironmentVariable(named = "EVENT_ORGANIZER_BENCHMARK", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventSearchPlanTest {
+    private static final int EVENTS = 1_000_000;
+    private static final int ORGANIZERS = 100;
+    private static final int LOCATIONS = 200;
+    private static final int TYPES = 50;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+
+    @BeforeAll
+    void seed() {
+        prefix = "plan-" + UUID.randomUUID() + "-";
+        jdbcTemplate.update("INSERT INTO users (id, username, name, password, user_type, email) " +
+                "SELECT nextval('users_id_seq'), ? || g, ? || g, 'plan', 'organizer', 'plan@example.org' " +
+                "FROM generate_series(1, ?) g", prefix, prefix, ORGANIZERS);
+        jdbcTemplate.update("INSERT INTO locations (id, name, address, capacity) " +
+                "SELECT nextval('locations_id_seq'), ? || g, 'plan', 1000 FROM generate_series(1, ?) g", prefix, LOCATIONS);
+        // Ten years of events spread over the organizers, locations and types; one event in fifty is on sale.
+        jdbcTemplate.update("WITH organizers AS (SELECT array_agg(id) AS ids FROM users WHERE username LIKE ? || '%'), " +
+                "sites AS (SELECT array_agg(id) AS ids FROM locations WHERE name LIKE ? || '%') " +
+                "INSERT INTO events (id, name, event_type, event_date, event_time, location_id, tickets_available, price, organizer_id, on_sale) " +
+                "SELECT nextval('events_id_seq'), ? || g, 'type-' || (g % ?), DATE '2025-01-01' + (g % 3650), TIME '20:00', " +
+                "sites.ids[1 + g % ?], g % 500, 10 + g % 490, organizers.ids[1 + g % ?], CASE WHEN g % 50 = 0 THEN 20 ELSE 0 END " +
+                "FROM generate_series(1, ?) g, organizers, sites",
+                prefix, prefix, prefix, TYPES, LOCATIONS, ORGANIZERS, EVENTS);
+        jdbcTemplate.execute("ANALYZE events");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        // Events go with their organizers.
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ? || '%'", prefix);
+        jdbcTemplate.update("DELETE FROM locations WHERE name LIKE ? || '%'", prefix);
+    }
+
+    @Test
+    void typeAndDateWindowUseTypeIndex() {
+        EventSearchDTO criteria = new EventSearchDTO();
+        criteria.setEventType("type-7");
+        criteria.setDateFrom(LocalDate.parse("2028-01-01"));
+        criteria.setDateTo(LocalDate.parse("2028-12-31"));
+
+        List<EventSummaryDTO> events = search(criteria, null).getEvents();
+
+        assertEquals(PAGE_SIZE, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals("type-7", events.get(i).getEventType());
+            assertFalse(events.get(i).getEventDate().isBefore(criteria.getDateFrom()));
+            if (i > 0) {
+                assertFalse(events.get(i).getEventDate().isBefore(events.get(i - 1).getEventDate()));
+            }
+        }
+        assertUsesIndex("idx_events_type_date_id");
+    }
+
+    @Test
+    void locationUsesLocationIndex() {
+        EventSearchDTO criteria = new EventSearchDTO();
+        criteria.setLocation(jdbcTemplate.queryForObject("SELECT min(id) FROM locations WHERE name LIKE ? || '%'", Integer.class, prefix));
+        criteria.setAvailable(true);
+
+        search(criteria, null);
+
+        assertUsesIndex("idx_events_location_date_id");
+    }
+
+    @Test
+    void organizerUsesOrganizerIndex() {
+        EventSearchDTO criteria = new EventSearchDTO();
+        criteria.setOrganizer(jdbcTemplate.queryForObject("SELECT min(id) FROM users WHERE username LIKE ? || '%'", Integer.class, prefix));
+        criteria.setMinPrice(new BigDecimal("100"));
+
+        search(criteria, null);
+
+        assertUsesIndex("idx_events_organizer_date_id");
+    }
+
+    @Test
+    void onSaleUsesPartialIndex() {
+        EventSearchDTO criteria = new EventSearchDTO();
+        criteria.setOnSale(true);
+
+        List<EventSummaryDTO> events = search(criteria, null).getEvents();
+
+        assertTrue(events.stream().allMatch(event -> event.getOnSale() > 0));
+        assertUsesIndex("idx_events_on_sale_date_id");
+    }
+
+    @Test
+    void priceAndAvailabilityUseDateIndex() {
+        EventSearchDTO criteria = new EventSearchDTO();
+        criteria.setMinPrice(new BigDecimal("50"));
+        criteria.setMaxPrice(new BigDecimal("60"));
+        criteria.setAvailable(true);
+
+        search(criteria, null);
+
+        assertUsesIndex("idx_events_event_date_id");
+    }
+
+    @Test
+    void deepPageUsesIndex() {
+        // A cursor taken from the last year of events, ninety percent of the way through the table.
+        EventSearchDTO criteria = new EventSearchDTO();
+        criteria.setEventType("type-7");
+        criteria.setDateFrom(LocalDate.parse("2034-01-01"));
+        String cursor = search(criteria, null).getNextCursor();
+        assertNotNull(cursor);
+
+        EventPageDTO page = search(new EventSearchDTO("type-7", null, null, null, null, null, null, false, false), cursor);
+
+        assertEquals(PAGE_SIZE, page.getEvents().size());
+        assertFalse(page.getEvents().get(0).getEventDate().isBefore(LocalDate.parse("2034-01-01")));
+        assertUsesIndex("idx_events_type_date_id");
+    }
+
+    private EventPageDTO search(EventSearchDTO criteria, String cursor) {
+        CapturingInspector.STATEMENTS.clear();
+        return eventService.searchEvents(criteria, cursor, PAGE_SIZE);
+    }
+
+    private void assertUsesIndex(String index) {
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains("from events"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        // Only the row limit is still a parameter.
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql.replace("?", String.valueOf(PAGE_SIZE + 1)), String.class));
+        assertTrue(plan.contains(index), plan);
+        assertFalse(plan.contains("Seq Scan on events"), plan);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
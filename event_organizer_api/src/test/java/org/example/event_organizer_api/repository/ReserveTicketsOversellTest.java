@@ -0,0 +1,143 @@
+package org.example.event_organizer_api.repository;
+
+import org.example.event_organizer_api.dto.ticket.TicketDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
+import org.example.event_organizer_api.entity.User;
+import org.example.event_organizer_api.service.TicketService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Proves that concurrent purchases of the same event never oversell it.
+ * Far more buyers than there are seats call {@code addTickets} at the same moment, each through its own transaction
+ * and the real conditional decrement on the event row, and the tickets stored afterwards never add up to more than the capacity.
+ * Needs the PostgreSQL database from application.properties, run with
+ * {@code EVENT_ORGANIZER_BENCHMARK=true mvn test -Dtest=ReserveTicketsOversellTest}.
+ */
+@SpringBootTest(properties = {
+        "spring.mail.username=benchmark",
+        "spring.mail.password=benchmark"
+})
+@EnabledIfEnvironmentVariable(named = "EVENT_ORGANIZER_BENCHMARK", matches = "true")
+class ReserveTicketsOversellTest {
+    private static final int CAPACITY = 200;
+    private static final int BUYERS = 1_000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Location location;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        user = new User();
+        user.setUsername("benchmark-" + suffix);
+        user.setName("benchmark-" + suffix);
+        user.setPassword("benchmark");
+        user.setUserType("client");
+        user.setEmail("benchmark@example.org");
+        user = userRepository.save(user);
+
+        location = new Location();
+        location.setName("benchmark-" + suffix);
+        location.setAddress("benchmark");
+        location.setCapacity(CAPACITY);
+        location = locationRepository.save(location);
+
+        event = new Event();
+        event.setName("benchmark-" + suffix);
+        event.setEventType("benchmark");
+        event.setEventDate(LocalDate.now().plusYears(1));
+        event.setLocation(location);
+        event.setTicketsAvailable(CAPACITY);
+        event.setPrice(BigDecimal.TEN);
+        event.setOrganizer(user);
+        event.setOnSale(0);
+        event = eventRepository.save(event);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteById(event.getId());
+        locationRepository.deleteById(location.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void concurrentBuyersNeverOversell() throws InterruptedException {
+        AtomicInteger bought = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(BUYERS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < BUYERS; i++) {
+            int quantity = i % 4 + 1;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    ticketService.addTickets(new TicketDTO(null, user.getId(), event.getId(), BigDecimal.TEN), quantity);
+                    bought.addAndGet(quantity);
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(5, TimeUnit.MINUTES));
+        executor.shutdown();
+
+        long sold = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM tickets WHERE event_id = ?", Long.class, event.getId());
+        int available = jdbcTemplate.queryForObject("SELECT tickets_available FROM events WHERE id = ?", Integer.class, event.getId());
+        String outcome = BUYERS + " buyers: " + sold + " tickets sold, " + rejected.get() + " rejected, "
+                + failed.get() + " failed, " + available + " left";
+
+        assertEquals(0, failed.get(), outcome);
+        assertTrue(sold <= CAPACITY, "oversold, " + outcome);
+        assertEquals(bought.get(), sold, outcome);
+        assertTrue(available >= 0, outcome);
+        assertEquals(CAPACITY, available + sold, outcome);
+        assertTrue(rejected.get() > 0, "the buyers should have exhausted the event, " + outcome);
+    }
+}
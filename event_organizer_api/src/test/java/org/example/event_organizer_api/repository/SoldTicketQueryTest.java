@@ -0,0 +1,155 @@
+package org.example.event_organizer_api.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.event_organizer_api.dto.event.EventDTO;
+import org.example.event_organizer_api.dto.event.EventSalesDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
+import org.example.event_organizer_api.entity.Ticket;
+import org.example.event_organizer_api.entity.User;
+import org.example.event_organizer_api.service.EventService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards against sold-ticket figures being computed by loading the tickets of an event.
+ * Seeds an event with thousands of tickets and checks that updating it and reading its sales
+ * fetch a bounded number of rows, whatever the number of tickets.
+ * Needs the PostgreSQL database from application.properties, run with
+ * {@code EVENT_ORGANIZER_BENCHMARK=true mvn test -Dtest=SoldTicketQueryTest}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.mail.username=benchmark",
+        "spring.mail.password=benchmark"
+})
+@EnabledIfEnvironmentVariable(named = "EVENT_ORGANIZER_BENCHMARK", matches = "true")
+class SoldTicketQueryTest {
+    private static final int TICKETS = 5_000;
+    private static final long MAX_ROWS = 5;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Location location;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        user = new User();
+        user.setUsername("benchmark-" + suffix);
+        user.setName("benchmark-" + suffix);
+        user.setPassword("benchmark");
+        user.setUserType("organizer");
+        user.setEmail("benchmark@example.org");
+        user = userRepository.save(user);
+
+        location = new Location();
+        location.setName("benchmark-" + suffix);
+        location.setAddress("benchmark");
+        location.setCapacity(TICKETS * 2);
+        location = locationRepository.save(location);
+
+        event = new Event();
+        event.setName("benchmark-" + suffix);
+        event.setEventType("benchmark");
+        event.setEventDate(LocalDate.now().plusYears(1));
+        event.setEventTime(LocalTime.NOON);
+        event.setLocation(location);
+        event.setTicketsAvailable(location.getCapacity() - TICKETS);
+        event.setPrice(BigDecimal.TEN);
+        event.setOrganizer(user);
+        event.setOnSale(0);
+        event = eventRepository.save(event);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            rows.add(new Object[]{user.getId(), event.getId(), BigDecimal.TEN});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tickets (user_id, event_id, purchase_price, quantity) VALUES (?, ?, ?, 1)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteById(event.getId());
+        locationRepository.deleteById(location.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void updateEventDoesNotLoadTickets() {
+        Statistics statistics = statistics();
+
+        EventDTO eventDTO = new EventDTO(event.getName(), event.getEventType(), event.getEventDate(), event.getEventTime(),
+                location.getId(), event.getPrice(), user.getId(), 0, event.getDurationMinutes());
+        Event updated = eventService.updateEvent(event.getId(), eventDTO);
+
+        assertEquals(location.getCapacity() - TICKETS, updated.getTicketsAvailable());
+        assertEquals(0, ticketLoads(statistics));
+        assertTrue(rowsFetched(statistics) <= MAX_ROWS, "rows fetched: " + rowsFetched(statistics));
+    }
+
+    @Test
+    void eventSalesAreAggregated() {
+        Statistics statistics = statistics();
+
+        EventSalesDTO sales = eventService.getEventSales(event.getId());
+
+        assertEquals(TICKETS, sales.getTicketsSold());
+        assertEquals(0, BigDecimal.TEN.multiply(BigDecimal.valueOf(TICKETS)).compareTo(sales.getRevenue()));
+        assertEquals(1, sales.getBuyers());
+        assertEquals(0, ticketLoads(statistics));
+        assertTrue(rowsFetched(statistics) <= 1, "rows fetched: " + rowsFetched(statistics));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static long rowsFetched(Statistics statistics) {
+        return Arrays.stream(statistics.getQueries())
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionRowCount())
+                .sum();
+    }
+
+    private static long ticketLoads(Statistics statistics) {
+        return statistics.getEntityStatistics(Ticket.class.getName()).getLoadCount();
+    }
+}
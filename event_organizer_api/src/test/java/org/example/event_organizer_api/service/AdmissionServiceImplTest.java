@@ -0,0 +1,200 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.admission.AdmissionStatusDTO;
+import org.example.event_organizer_api.exceptions.AdmissionDeniedException;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdmissionServiceImplTest {
+
+    private static final Integer USER = 7;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdmissionServiceImpl admissionServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        admissionServiceImpl = new AdmissionServiceImpl(eventRepository, 2, 50, 60, clock::get);
+
+        when(eventRepository.existsById(1)).thenReturn(true);
+    }
+
+    @Test
+    void admitWithoutQueue() {
+        assertEquals("done", admissionServiceImpl.admit(1, USER, null, () -> "done"));
+        assertTrue(admissionServiceImpl.joinQueue(1, USER).getAdmitted());
+    }
+
+    @Test
+    void openQueueUnknownEvent() {
+        assertThrows(NoSuchElementException.class, () -> admissionServiceImpl.openQueue(2, 10));
+        assertThrows(IllegalArgumentException.class, () -> admissionServiceImpl.openQueue(1, 0));
+    }
+
+    @Test
+    void queueAdmitsAtConfiguredRate() {
+        admissionServiceImpl.openQueue(1, 2);
+
+        AdmissionStatusDTO first = admissionServiceImpl.joinQueue(1, 1);
+        AdmissionStatusDTO second = admissionServiceImpl.joinQueue(1, 2);
+        AdmissionStatusDTO fifth = null;
+        for (int i = 3; i <= 5; i++) {
+            fifth = admissionServiceImpl.joinQueue(1, i);
+        }
+
+        assertTrue(first.getAdmitted());
+        assertTrue(second.getAdmitted());
+        assertFalse(fifth.getAdmitted());
+        assertEquals(2, fifth.getAhead());
+        assertEquals(2, fifth.getEtaSeconds());
+
+        String fifthToken = fifth.getToken();
+        assertThrows(AdmissionDeniedException.class, () -> admissionServiceImpl.admit(1, 5, fifthToken, () -> "done"));
+        assertThrows(AdmissionDeniedException.class, () -> admissionServiceImpl.admit(1, 5, null, () -> "done"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertTrue(admissionServiceImpl.getStatus(1, fifthToken, 5).getAdmitted());
+        assertEquals("done", admissionServiceImpl.admit(1, 5, fifthToken, () -> "done"));
+    }
+
+    @Test
+    void admitAllNeedsEveryQueue() {
+        when(eventRepository.existsById(2)).thenReturn(true);
+        admissionServiceImpl.openQueue(2, 1);
+        String first = admissionServiceImpl.joinQueue(2, USER).getToken();
+        String second = admissionServiceImpl.joinQueue(2, 8).getToken();
+
+        Map<Integer, String> admitted = new HashMap<>();
+        admitted.put(1, null);
+        admitted.put(2, first);
+        assertEquals("done", admissionServiceImpl.admitAll(USER, admitted, () -> "done"));
+
+        assertThrows(AdmissionDeniedException.class, () -> admissionServiceImpl.admitAll(8, Map.of(2, second), () -> "done"));
+    }
+
+    @Test
+    void tokenOnlyAdmitsItsOwnUser() {
+        admissionServiceImpl.openQueue(1, 2);
+        String token = admissionServiceImpl.joinQueue(1, USER).getToken();
+
+        assertThrows(IllegalArgumentException.class, () -> admissionServiceImpl.admit(1, 8, token, () -> "done"));
+        assertThrows(IllegalArgumentException.class, () -> admissionServiceImpl.getStatus(1, token, 8));
+        assertEquals("done", admissionServiceImpl.admit(1, USER, token, () -> "done"));
+    }
+
+    @Test
+    void tokenIsSpentBySuccessfulPurchase() {
+        admissionServiceImpl.openQueue(1, 2);
+        String token = admissionServiceImpl.joinQueue(1, USER).getToken();
+
+        assertThrows(IllegalStateException.class, () -> admissionServiceImpl.admit(1, USER, token, () -> {
+            throw new IllegalStateException("failed");
+        }));
+        assertEquals("done", admissionServiceImpl.admit(1, USER, token, () -> "done"));
+        assertThrows(AdmissionDeniedException.class, () -> admissionServiceImpl.admit(1, USER, token, () -> "done"));
+    }
+
+    @Test
+    void failedCartLeavesEveryTokenUnspent() {
+        when(eventRepository.existsById(2)).thenReturn(true);
+        admissionServiceImpl.openQueue(1, 2);
+        admissionServiceImpl.openQueue(2, 2);
+        String first = admissionServiceImpl.joinQueue(1, USER).getToken();
+        String second = admissionServiceImpl.joinQueue(2, USER).getToken();
+
+        Map<Integer, String> tampered = new LinkedHashMap<>();
+        tampered.put(1, first);
+        tampered.put(2, second + "x");
+        assertThrows(IllegalArgumentException.class, () -> admissionServiceImpl.admitAll(USER, tampered, () -> "done"));
+        assertEquals("done", admissionServiceImpl.admitAll(USER, Map.of(1, first, 2, second), () -> "done"));
+    }
+
+    @Test
+    void joiningAgainKeepsThePositionUntilItIsSpent() {
+        admissionServiceImpl.openQueue(1, 1);
+        AdmissionStatusDTO first = admissionServiceImpl.joinQueue(1, USER);
+        AdmissionStatusDTO again = admissionServiceImpl.joinQueue(1, USER);
+
+        assertEquals(first.getPosition(), again.getPosition());
+        assertEquals(1, admissionServiceImpl.joinQueue(1, 8).getPosition());
+
+        admissionServiceImpl.admit(1, USER, again.getToken(), () -> "done");
+        assertEquals(2, admissionServiceImpl.joinQueue(1, USER).getPosition());
+    }
+
+    @Test
+    void admissionExpires() {
+        admissionServiceImpl.openQueue(1, 2);
+        String token = admissionServiceImpl.joinQueue(1, USER).getToken();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertThrows(AdmissionDeniedException.class, () -> admissionServiceImpl.admit(1, USER, token, () -> "done"));
+    }
+
+    @Test
+    void reopenedQueueRejectsOldTokens() {
+        admissionServiceImpl.openQueue(1, 2);
+        String token = admissionServiceImpl.joinQueue(1, USER).getToken();
+        admissionServiceImpl.openQueue(1, 2);
+
+        assertThrows(AdmissionDeniedException.class, () -> admissionServiceImpl.admit(1, USER, token, () -> "done"));
+        assertThrows(IllegalArgumentException.class, () -> admissionServiceImpl.admit(1, USER, token + "x", () -> "done"));
+    }
+
+    @Test
+    void concurrentPurchasesAreBounded() throws InterruptedException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                try {
+                    admissionServiceImpl.admit(1, USER, null, () -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(20);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return inFlight.decrementAndGet();
+                    });
+                } catch (AdmissionDeniedException e) {
+                    rejected.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertTrue(maxInFlight.get() <= 2);
+    }
+}
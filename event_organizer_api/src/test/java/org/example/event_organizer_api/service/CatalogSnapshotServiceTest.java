@@ -0,0 +1,129 @@
+package org.example.event_organizer_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogSnapshotService = new CatalogSnapshotService(eventRepository, objectMapper);
+        when(eventRepository.findAllSummaries()).thenReturn(List.of(event(1, 100)));
+    }
+
+    @Test
+    void snapshotIsBuiltOnceOnFirstUse() throws IOException {
+        verifyNoInteractions(eventRepository);
+
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot();
+        assertSame(snapshot, catalogSnapshotService.getSnapshot());
+        verify(eventRepository, times(1)).findAllSummaries();
+
+        assertEquals(objectMapper.writeValueAsString(List.of(event(1, 100))), new String(snapshot.json(), StandardCharsets.UTF_8));
+        assertEquals(1, snapshot.events());
+    }
+
+    @Test
+    void writesWithinAnIntervalAreCoalescedIntoOneRebuild() {
+        CatalogSnapshotService.Snapshot before = catalogSnapshotService.getSnapshot();
+        when(eventRepository.findAllSummaries()).thenReturn(List.of(event(1, 98)));
+
+        catalogSnapshotService.markStale();
+        catalogSnapshotService.markStale();
+        catalogSnapshotService.markStale();
+        catalogSnapshotService.refreshIfStale();
+        catalogSnapshotService.refreshIfStale();
+
+        verify(eventRepository, times(2)).findAllSummaries();
+        assertNotEquals(before.etag(), catalogSnapshotService.getSnapshot().etag());
+    }
+
+    @Test
+    void refreshBeforeFirstUseLeavesTheBuildToTheFirstRequest() {
+        catalogSnapshotService.markStale();
+        catalogSnapshotService.refreshIfStale();
+
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void failedRebuildKeepsSnapshotAndRetries() {
+        CatalogSnapshotService.Snapshot before = catalogSnapshotService.getSnapshot();
+        when(eventRepository.findAllSummaries())
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of(event(1, 98)));
+
+        catalogSnapshotService.markStale();
+        catalogSnapshotService.refreshIfStale();
+        assertSame(before, catalogSnapshotService.getSnapshot());
+
+        catalogSnapshotService.refreshIfStale();
+        assertNotSame(before, catalogSnapshotService.getSnapshot());
+    }
+
+    @Test
+    void gzipBodyDecompressesToTheJson() throws IOException {
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.body(true)))) {
+            assertArrayEquals(snapshot.body(false), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void etagsAreStrongDistinctPerEncodingAndStableForTheSameContent() {
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getSnapshot();
+
+        assertTrue(snapshot.etag(false).matches("\"[0-9a-f]{32}\""));
+        assertTrue(snapshot.etag(true).matches("\"[0-9a-f]{32}-gzip\""));
+
+        catalogSnapshotService.markStale();
+        catalogSnapshotService.refreshIfStale();
+        assertEquals(snapshot.etag(false), catalogSnapshotService.getSnapshot().etag(false));
+    }
+
+    @Test
+    void acceptsGzipHonoursZeroWeight() {
+        assertTrue(CatalogSnapshotService.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CatalogSnapshotService.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertFalse(CatalogSnapshotService.acceptsGzip("gzip;q=0"));
+        assertFalse(CatalogSnapshotService.acceptsGzip("deflate, gzip; q=0.000"));
+        assertFalse(CatalogSnapshotService.acceptsGzip("identity"));
+        assertFalse(CatalogSnapshotService.acceptsGzip(null));
+    }
+
+    private static EventSummaryDTO event(int id, int ticketsAvailable) {
+        return new EventSummaryDTO(id, "Untold Festival", "Festival", LocalDate.parse("2030-08-01"), LocalTime.parse("19:30"),
+                ticketsAvailable, new BigDecimal("249.90"), 0, 3, "Sala Polivalentă", 10_000, 12, "Electric Castle Events");
+    }
+}
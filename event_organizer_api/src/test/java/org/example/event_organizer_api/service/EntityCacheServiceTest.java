@@ -0,0 +1,155 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.cache.CacheStatsDTO;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.entity.Location;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheServiceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<String> changes = new ArrayList<>();
+
+    private EntityCacheService entityCacheService;
+
+    @BeforeEach
+    void setUp() {
+        entityCacheService = new EntityCacheService(2, 60, 10, 600, clock::get, List.of(new EventChangeListener() {
+            @Override
+            public void eventChanged(Integer eventId) {
+                changes.add("event " + eventId);
+            }
+
+            @Override
+            public void allEventsChanged() {
+                changes.add("all");
+            }
+        }));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void eventsExpireAfterTtl() {
+        entityCacheService.getEvent(1, this::loadEvent);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        entityCacheService.getEvent(1, this::loadEvent);
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        entityCacheService.getEvent(1, this::loadEvent);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEventIsEvictedWhenFull() {
+        entityCacheService.getEvent(1, this::loadEvent);
+        entityCacheService.getEvent(2, this::loadEvent);
+        entityCacheService.getEvent(1, this::loadEvent);
+        entityCacheService.getEvent(3, this::loadEvent);
+
+        entityCacheService.getEvent(1, this::loadEvent);
+        assertEquals(3, loads.get());
+        entityCacheService.getEvent(2, this::loadEvent);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void invalidationWaitsForCommit() {
+        entityCacheService.getEvent(1, this::loadEvent);
+        TransactionSynchronizationManager.initSynchronization();
+
+        entityCacheService.evictEvent(1);
+        entityCacheService.getEvent(1, this::loadEvent);
+        assertEquals(1, loads.get());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        entityCacheService.getEvent(1, this::loadEvent);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void valueLoadedDuringInvalidationIsNotStored() {
+        // The event is read while another request changes it, so what was read may be the old row.
+        entityCacheService.getEvent(1, id -> {
+            entityCacheService.evictEvent(id);
+            return loadEvent(id);
+        });
+
+        entityCacheService.getEvent(1, this::loadEvent);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void locationEditDropsLocationListAndEvents() {
+        entityCacheService.getEvent(1, this::loadEvent);
+        entityCacheService.getLocation(1, id -> Optional.of(new Location()));
+        entityCacheService.getAllLocations(() -> List.of(new Location()));
+
+        entityCacheService.evictLocation(1);
+
+        List<CacheStatsDTO> stats = entityCacheService.getStats();
+        assertEquals(List.of(0, 0, 0), stats.stream().map(CacheStatsDTO::getSize).toList());
+        entityCacheService.getEvent(1, this::loadEvent);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void eventWritesNotifyListenersAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        entityCacheService.eventAdded(3);
+        entityCacheService.evictEvent(1);
+        entityCacheService.evictLocation(1);
+        assertEquals(List.of(), changes);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of("event 3", "event 1", "all"), changes);
+    }
+
+    @Test
+    void statsCountHitsAndMisses() {
+        entityCacheService.getEvent(1, this::loadEvent);
+        entityCacheService.getEvent(1, this::loadEvent);
+        entityCacheService.getEvent(1, this::loadEvent);
+        entityCacheService.getEvent(2, id -> Optional.empty());
+
+        CacheStatsDTO events = entityCacheService.getStats().get(0);
+        assertEquals("events", events.getName());
+        assertEquals(2L, events.getHits());
+        assertEquals(2L, events.getMisses());
+        assertEquals(0.5, events.getHitRate());
+        assertEquals(1, events.getSize());
+    }
+
+    private Optional<EventSummaryDTO> loadEvent(Integer id) {
+        loads.incrementAndGet();
+        EventSummaryDTO event = new EventSummaryDTO();
+        event.setId(id);
+        return Optional.of(event);
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.archive.ArchivedEventDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class EventArchiveServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 5, 10);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private VenueScheduleService venueScheduleService;
+
+    @Mock
+    private EventAutocompleteService eventAutocompleteService;
+
+    @Mock
+    private EntityCacheService entityCacheService;
+
+    private EventArchiveServiceImpl eventArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        eventArchiveService = new EventArchiveServiceImpl(jdbcTemplate, transactionManager, venueScheduleService,
+                eventAutocompleteService, entityCacheService, 7, 2, clock);
+    }
+
+    @Test
+    void pastEventsAreMovedInChunksUntilNoneAreLeft() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any(), any()))
+                .thenReturn(List.of(1, 2))
+                .thenReturn(List.of(3));
+
+        int archived = eventArchiveService.archivePastEvents();
+
+        assertEquals(3, archived);
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(Integer.class), eq(TODAY.minusDays(7)), eq(2));
+        verify(jdbcTemplate, times(2)).update(startsWith("INSERT INTO events_archive"), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, times(2)).update(startsWith("INSERT INTO tickets_archive"), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, times(2)).update(startsWith("DELETE FROM events"), any(PreparedStatementSetter.class));
+        verify(transactionManager, times(2)).commit(any());
+        for (int id = 1; id <= 3; id++) {
+            verify(venueScheduleService).cancel(id);
+            verify(eventAutocompleteService).remove(id);
+            verify(entityCacheService).evictEvent(id);
+        }
+    }
+
+    @Test
+    void nothingIsWrittenWithoutPastEvents() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any(), any())).thenReturn(List.of());
+
+        assertEquals(0, eventArchiveService.archivePastEvents());
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+        verifyNoInteractions(entityCacheService);
+    }
+
+    @Test
+    void failedScheduledRunIsLoggedAndRetriedNextTime() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertDoesNotThrow(() -> eventArchiveService.archiveOnSchedule());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void archivedEventsRangeIsValidated() {
+        assertThrows(IllegalArgumentException.class,
+                () -> eventArchiveService.getArchivedEvents(TODAY, TODAY.minusDays(1), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> eventArchiveService.getArchivedEvents(TODAY.minusDays(366), TODAY, null));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archivedTicketsRequireAnArchivedEvent() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyInt())).thenReturn(List.of());
+
+        assertThrows(NoSuchElementException.class, () -> eventArchiveService.getArchivedTicketsByEvent(5));
+        assertThrows(NoSuchElementException.class, () -> eventArchiveService.isOrganizer(5, 1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void organizerOfArchivedEventIsRecognized() {
+        ArchivedEventDTO event = new ArchivedEventDTO(5, "Concert", "Music", TODAY.minusDays(30), null, 1, 0,
+                BigDecimal.TEN, 3, 0, 120, 100L, new BigDecimal("1000.00"), 0L, BigDecimal.ZERO, Instant.EPOCH);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(5))).thenReturn(List.of(event));
+
+        assertTrue(eventArchiveService.isOrganizer(5, 3));
+        assertFalse(eventArchiveService.isOrganizer(5, 4));
+    }
+}
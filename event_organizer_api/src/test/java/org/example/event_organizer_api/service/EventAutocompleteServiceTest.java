@@ -0,0 +1,130 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.event.EventSuggestionDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EventAutocompleteServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EventAutocompleteService eventAutocompleteService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        eventAutocompleteService = new EventAutocompleteService(jdbcTemplate);
+        eventAutocompleteService.index(event(1, "Untold Festival", "Festival"));
+        eventAutocompleteService.index(event(2, "Rock Concert", "Concert"));
+        eventAutocompleteService.index(event(3, "Concerto for Piano", "Classical"));
+        eventAutocompleteService.index(event(4, "Opera Națională", "Opera"));
+    }
+
+    @Test
+    void wordPrefixesAreRankedByLength() {
+        assertEquals(List.of(2, 3), ids(eventAutocompleteService.suggest("conc", 10)));
+        assertEquals(List.of(2), ids(eventAutocompleteService.suggest("conc", 1)));
+        assertEquals(List.of(2), ids(eventAutocompleteService.suggest("rock con", 10)));
+        assertEquals(List.of(1), ids(eventAutocompleteService.suggest("U", 10)));
+    }
+
+    @Test
+    void matchesTypesAccentsAndTypos() {
+        assertEquals(List.of(3), ids(eventAutocompleteService.suggest("classical", 10)));
+        assertEquals(List.of(4), ids(eventAutocompleteService.suggest("nationala", 10)));
+        assertEquals(List.of(4), ids(eventAutocompleteService.suggest("NAȚIONALĂ", 10)));
+        assertEquals(List.of(1), ids(eventAutocompleteService.suggest("festivl", 10)));
+        assertTrue(eventAutocompleteService.suggest("xyz", 10).isEmpty());
+        assertTrue(eventAutocompleteService.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void updatesAndRemovalsAreApplied() {
+        eventAutocompleteService.index(event(2, "Jazz Night", "Concert"));
+        eventAutocompleteService.remove(3);
+
+        assertTrue(eventAutocompleteService.suggest("rock", 10).isEmpty());
+        assertEquals(List.of(2), ids(eventAutocompleteService.suggest("jazz", 10)));
+        assertEquals(List.of(2), ids(eventAutocompleteService.suggest("conc", 10)));
+    }
+
+    @Test
+    void updatesWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            eventAutocompleteService.index(event(5, "Summer Well", "Festival"));
+
+            assertTrue(eventAutocompleteService.suggest("summer", 10).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(5), ids(eventAutocompleteService.suggest("summer", 10)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildReplacesIndex() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
+                .thenReturn(List.of(new EventSuggestionDTO(7, "Electric Castle", "Festival", LocalDate.parse("2030-07-01"))))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        eventAutocompleteService.rebuild();
+
+        assertTrue(eventAutocompleteService.suggest("rock", 10).isEmpty());
+        assertEquals(List.of(7), ids(eventAutocompleteService.suggest("electric", 10)));
+
+        eventAutocompleteService.rebuild();
+
+        assertEquals(List.of(7), ids(eventAutocompleteService.suggest("castle", 10)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changesDuringRebuildAreReplayed() {
+        // The rows were read before event 8 was created and while event 1 still existed.
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+            eventAutocompleteService.index(event(8, "Jazz Night", "Concert"));
+            eventAutocompleteService.remove(1);
+            return List.of(new EventSuggestionDTO(1, "Untold Festival", "Festival", LocalDate.parse("2030-08-01")));
+        });
+
+        eventAutocompleteService.rebuild();
+
+        assertEquals(List.of(8), ids(eventAutocompleteService.suggest("jazz", 10)));
+        assertTrue(eventAutocompleteService.suggest("untold", 10).isEmpty());
+
+        eventAutocompleteService.remove(8);
+        assertTrue(eventAutocompleteService.suggest("jazz", 10).isEmpty());
+    }
+
+    private static Event event(Integer id, String name, String eventType) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName(name);
+        event.setEventType(eventType);
+        event.setEventDate(LocalDate.parse("2030-06-01"));
+        return event;
+    }
+
+    private static List<Integer> ids(List<EventSuggestionDTO> suggestions) {
+        return suggestions.stream().map(EventSuggestionDTO::getId).toList();
+    }
+}
@@ -1,6 +1,11 @@
 package org.example.event_organizer_api.service;
 
 import org.example.event_organizer_api.dto.event.EventDTO;
+import org.example.event_organizer_api.dto.event.EventPageDTO;
+import org.example.event_organizer_api.dto.event.EventSearchDTO;
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
+import org.example.event_organizer_api.dto.event.EventSalesDTO;
+import org.example.event_organizer_api.dto.event.OrganizerStatsDTO;
 import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.entity.Location;
 import org.example.event_organizer_api.entity.User;
@@ -14,16 +19,22 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class EventServiceImplTest {
@@ -46,6 +57,24 @@ class EventServiceImplTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private EventStatsService eventStatsService;
+
+    @Mock
+    private SalesTimelineService salesTimelineService;
+
+    @Mock
+    private EventAutocompleteService eventAutocompleteService;
+
+    @Mock
+    private VenueScheduleService venueScheduleService;
+
+    @Spy
+    private EntityCacheService entityCacheService = new EntityCacheService(100, 60, 100, 60, System::nanoTime, List.of());
+
     @InjectMocks
     private EventServiceImpl eventServiceImpl;
 
@@ -96,12 +125,36 @@ class EventServiceImplTest {
         assertNotNull(result);
         assertEquals(event.getName(), result.getName());
         verify(eventRepository, times(1)).save(any(Event.class));
+        verify(venueScheduleService, times(1)).book(event);
+        verify(eventAutocompleteService, times(1)).index(event);
+        assertEquals(EventServiceImpl.DEFAULT_DURATION_MINUTES, result.getDurationMinutes());
+    }
+
+    @Test
+    void createEventWithInvalidDuration() {
+        when(eventMapper.toEntity(any(EventDTO.class))).thenReturn(event);
+        eventDTO.setDurationMinutes(0);
+
+        assertThrows(IllegalArgumentException.class, () -> eventServiceImpl.createEvent(eventDTO));
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
+    @Test
+    void createEventAtBookedLocation() {
+        when(eventMapper.toEntity(any(EventDTO.class))).thenReturn(event);
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(locationRepository.findById(anyInt())).thenReturn(Optional.of(location));
+        when(eventRepository.save(any(Event.class))).thenReturn(event);
+        doThrow(new IllegalArgumentException("booked")).when(venueScheduleService).book(event);
+
+        assertThrows(IllegalArgumentException.class, () -> eventServiceImpl.createEvent(eventDTO));
+        verifyNoInteractions(eventAutocompleteService);
     }
 
     @Test
     void updateEvent() {
-        when(eventRepository.findById(anyInt())).thenReturn(Optional.of(event));
-        when(ticketRepository.findByEvent(any(Event.class))).thenReturn(List.of());
+        event.setLocation(location);
+        when(eventRepository.findWithLocationById(anyInt())).thenReturn(Optional.of(event));
         when(locationRepository.findById(anyInt())).thenReturn(Optional.of(location));
         when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
         when(eventRepository.save(any(Event.class))).thenReturn(event);
@@ -111,6 +164,109 @@ class EventServiceImplTest {
         assertNotNull(result);
         assertEquals(event.getName(), result.getName());
         verify(eventRepository, times(1)).save(any(Event.class));
+        verify(eventRepository, never()).adjustTicketsAvailable(anyInt(), anyInt());
+        verify(ticketRepository, never()).findByEvent(any(Event.class));
+        verify(venueScheduleService, times(1)).book(event);
+        verify(eventAutocompleteService, times(1)).index(event);
+        verify(entityCacheService, times(1)).evictEvent(1);
+    }
+
+    @Test
+    void updateEventMovesAvailabilityByCapacityDelta() {
+        Location largerLocation = new Location();
+        largerLocation.setId(2);
+        largerLocation.setCapacity(130);
+        event.setLocation(location);
+        event.setTicketsAvailable(40);
+        eventDTO.setLocation(2);
+
+        when(eventRepository.findWithLocationById(anyInt())).thenReturn(Optional.of(event));
+        when(locationRepository.findById(2)).thenReturn(Optional.of(largerLocation));
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(eventRepository.save(any(Event.class))).thenReturn(event);
+        when(eventRepository.adjustTicketsAvailable(1, 30)).thenReturn(1);
+
+        Event result = eventServiceImpl.updateEvent(1, eventDTO);
+
+        assertEquals(70, result.getTicketsAvailable());
+        verify(eventRepository, times(1)).adjustTicketsAvailable(1, 30);
+        verify(ticketRepository, never()).countSoldByEventId(anyInt());
+    }
+
+    @Test
+    void updateEventLocationTooSmall() {
+        Location smallerLocation = new Location();
+        smallerLocation.setId(2);
+        smallerLocation.setCapacity(10);
+        event.setLocation(location);
+        event.setTicketsAvailable(5);
+        eventDTO.setLocation(2);
+
+        when(eventRepository.findWithLocationById(anyInt())).thenReturn(Optional.of(event));
+        when(locationRepository.findById(2)).thenReturn(Optional.of(smallerLocation));
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(eventRepository.save(any(Event.class))).thenReturn(event);
+        when(eventRepository.adjustTicketsAvailable(1, -90)).thenReturn(0);
+
+        assertThrows(IllegalArgumentException.class, () -> eventServiceImpl.updateEvent(1, eventDTO));
+        verifyNoInteractions(venueScheduleService, eventAutocompleteService);
+        verify(entityCacheService, never()).evictEvent(anyInt());
+    }
+
+    @Test
+    void getOrganizerStats() {
+        OrganizerStatsDTO stats = new OrganizerStatsDTO(1, 3L, BigDecimal.TEN, 0L, BigDecimal.ZERO, 2L, List.of());
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(eventStatsService.getOrganizerStats(1)).thenReturn(stats);
+
+        assertSame(stats, eventServiceImpl.getOrganizerStats(1));
+        assertThrows(NoSuchElementException.class, () -> eventServiceImpl.getOrganizerStats(2));
+        verify(ticketRepository, never()).findByEvent(any(Event.class));
+    }
+
+    @Test
+    void getEventSales() {
+        when(eventRepository.existsById(1)).thenReturn(true);
+        when(ticketRepository.getSalesByEventId(1)).thenReturn(Optional.of(new EventSalesDTO(1, 12L, new BigDecimal("600.00"), 5L)));
+
+        EventSalesDTO result = eventServiceImpl.getEventSales(1);
+
+        assertEquals(12L, result.getTicketsSold());
+        assertEquals(new BigDecimal("600.00"), result.getRevenue());
+        assertEquals(5L, result.getBuyers());
+        verify(ticketRepository, never()).findByEvent(any(Event.class));
+    }
+
+    @Test
+    void getEventSalesWithoutTickets() {
+        when(eventRepository.existsById(1)).thenReturn(true);
+        when(ticketRepository.getSalesByEventId(1)).thenReturn(Optional.empty());
+
+        EventSalesDTO result = eventServiceImpl.getEventSales(1);
+
+        assertEquals(0L, result.getTicketsSold());
+        assertEquals(BigDecimal.ZERO, result.getRevenue());
+        assertThrows(NoSuchElementException.class, () -> eventServiceImpl.getEventSales(2));
+    }
+
+    @Test
+    void updateHotEvent() {
+        Location smallerLocation = new Location();
+        smallerLocation.setId(2);
+        smallerLocation.setCapacity(80);
+        event.setLocation(location);
+        eventDTO.setLocation(2);
+
+        when(eventRepository.findWithLocationById(anyInt())).thenReturn(Optional.of(event));
+        when(locationRepository.findById(2)).thenReturn(Optional.of(smallerLocation));
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(inventoryService.isHot(1)).thenReturn(true);
+        when(eventRepository.save(any(Event.class))).thenReturn(event);
+
+        eventServiceImpl.updateEvent(1, eventDTO);
+
+        verify(inventoryService, times(1)).adjustCapacity(1, -20);
+        verify(ticketRepository, never()).findByEvent(any(Event.class));
     }
 
     @Test
@@ -121,35 +277,124 @@ class EventServiceImplTest {
         eventServiceImpl.deleteEvent(1);
 
         verify(eventRepository, times(1)).delete(any(Event.class));
+        verify(venueScheduleService, times(1)).cancel(1);
+        verify(eventAutocompleteService, times(1)).remove(1);
+        verify(entityCacheService, times(1)).evictEvent(1);
     }
 
     @Test
     void getEventById() {
-        when(eventRepository.findById(anyInt())).thenReturn(Optional.of(event));
+        when(eventRepository.findSummaryById(anyInt())).thenReturn(Optional.of(EventSummaryDTO.from(event)));
 
-        Optional<Event> result = eventServiceImpl.getEventById(1);
+        Optional<EventSummaryDTO> result = eventServiceImpl.getEventById(1);
 
         assertTrue(result.isPresent());
         assertEquals(event.getName(), result.get().getName());
     }
 
+    @Test
+    void getEventById_isServedFromCacheUntilEventChanges() {
+        when(eventRepository.findSummaryById(anyInt())).thenReturn(Optional.of(EventSummaryDTO.from(event)));
+        when(eventRepository.findWithLocationAndOrganizerById(anyInt())).thenReturn(Optional.of(event));
+        when(eventRepository.save(any(Event.class))).thenReturn(event);
+
+        eventServiceImpl.getEventById(1);
+        eventServiceImpl.getEventById(1);
+        verify(eventRepository, times(1)).findSummaryById(1);
+
+        eventServiceImpl.setEventOnSale(1, 20);
+        eventServiceImpl.getEventById(1);
+        verify(eventRepository, times(2)).findSummaryById(1);
+        assertEquals(1L, entityCacheService.getStats().get(0).getHits());
+        assertEquals(2L, entityCacheService.getStats().get(0).getMisses());
+    }
+
+    @Test
+    void getEventById_doesNotCacheMissingEvents() {
+        when(eventRepository.findSummaryById(anyInt())).thenReturn(Optional.empty()).thenReturn(Optional.of(EventSummaryDTO.from(event)));
+
+        assertTrue(eventServiceImpl.getEventById(1).isEmpty());
+        assertTrue(eventServiceImpl.getEventById(1).isPresent());
+    }
+
     @Test
     void getAllEvents() {
-        when(eventRepository.findAll()).thenReturn(List.of(event));
+        when(eventRepository.findAllSummaries()).thenReturn(List.of(EventSummaryDTO.from(event)));
 
-        List<Event> result = eventServiceImpl.getAllEvents();
+        List<EventSummaryDTO> result = eventServiceImpl.getAllEvents();
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
     }
 
+    @Test
+    void getEventCatalogPagesByDateThenId() {
+        EventSummaryDTO first = catalogEvent(3, "2030-01-01");
+        EventSummaryDTO second = catalogEvent(7, "2030-01-01");
+        EventSummaryDTO third = catalogEvent(2, "2030-02-01");
+        when(eventRepository.findCatalogPage(Limit.of(3))).thenReturn(List.of(first, second, third));
+        when(eventRepository.findCatalogPageAfter(LocalDate.parse("2030-01-01"), 7, Limit.of(3))).thenReturn(List.of(third));
+
+        EventPageDTO page = eventServiceImpl.getEventCatalog(null, 2);
+
+        assertEquals(List.of(first, second), page.getEvents());
+        assertNotNull(page.getNextCursor());
+
+        EventPageDTO lastPage = eventServiceImpl.getEventCatalog(page.getNextCursor(), 2);
+
+        assertEquals(List.of(third), lastPage.getEvents());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    void getEventCatalogRejectsInvalidRequests() {
+        assertThrows(IllegalArgumentException.class, () -> eventServiceImpl.getEventCatalog("not a cursor", 20));
+        assertThrows(IllegalArgumentException.class, () -> eventServiceImpl.getEventCatalog("MjAzMC0wMS0wMQ", 20));
+        assertThrows(IllegalArgumentException.class, () -> eventServiceImpl.getEventCatalog(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> eventServiceImpl.getEventCatalog(null, EventServiceImpl.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchEventsReturnsPageWithCursor() {
+        EventSummaryDTO first = catalogEvent(3, "2030-01-01");
+        EventSummaryDTO second = catalogEvent(7, "2030-01-01");
+        when(eventRepository.findSummaries(any(Specification.class), any(Sort.class), anyInt())).thenReturn(List.of(first, second));
+        EventSearchDTO criteria = new EventSearchDTO("Concert", LocalDate.parse("2030-01-01"), LocalDate.parse("2030-12-31"),
+                BigDecimal.ONE, BigDecimal.TEN, 1, 1, true, true);
+
+        EventPageDTO page = eventServiceImpl.searchEvents(criteria, null, 1);
+
+        assertEquals(List.of(first), page.getEvents());
+        assertNotNull(page.getNextCursor());
+        assertEquals(List.of(first, second), eventServiceImpl.searchEvents(criteria, page.getNextCursor(), 2).getEvents());
+        verify(eventRepository, times(1)).findSummaries(any(Specification.class), any(Sort.class), eq(2));
+        verify(eventRepository, times(1)).findSummaries(any(Specification.class), any(Sort.class), eq(3));
+    }
+
+    @Test
+    void searchEventsRejectsInvertedRanges() {
+        EventSearchDTO dates = new EventSearchDTO();
+        dates.setDateFrom(LocalDate.parse("2030-02-01"));
+        dates.setDateTo(LocalDate.parse("2030-01-01"));
+        EventSearchDTO prices = new EventSearchDTO();
+        prices.setMinPrice(BigDecimal.TEN);
+        prices.setMaxPrice(BigDecimal.ONE);
+
+        assertThrows(IllegalArgumentException.class, () -> eventServiceImpl.searchEvents(dates, null, 20));
+        assertThrows(IllegalArgumentException.class, () -> eventServiceImpl.searchEvents(prices, null, 20));
+        assertThrows(IllegalArgumentException.class, () -> eventServiceImpl.searchEvents(new EventSearchDTO(), "not a cursor", 20));
+        verifyNoInteractions(eventRepository);
+    }
+
     @Test
     void getEventsByOrganizer() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
-        when(eventRepository.findByOrganizer(any(User.class))).thenReturn(List.of(event));
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(eventRepository.findSummariesByOrganizerId(1)).thenReturn(List.of(EventSummaryDTO.from(event)));
 
-        List<Event> result = eventServiceImpl.getEventsByOrganizer(1);
+        List<EventSummaryDTO> result = eventServiceImpl.getEventsByOrganizer(1);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
@@ -158,7 +403,7 @@ class EventServiceImplTest {
 
     @Test
     void setEventOnSale() {
-        when(eventRepository.findById(anyInt())).thenReturn(Optional.of(event));
+        when(eventRepository.findWithLocationAndOrganizerById(anyInt())).thenReturn(Optional.of(event));
         when(eventRepository.save(any(Event.class))).thenReturn(event);
 
         Event result = eventServiceImpl.setEventOnSale(1, 20);
@@ -166,6 +411,7 @@ class EventServiceImplTest {
         assertNotNull(result);
         assertEquals(20, result.getOnSale());
         verify(eventRepository, times(1)).save(any(Event.class));
+        verify(entityCacheService, times(1)).evictEvent(1);
     }
 
     @Test
@@ -177,4 +423,11 @@ class EventServiceImplTest {
 
         assertTrue(result);
     }
+
+    private static EventSummaryDTO catalogEvent(Integer id, String eventDate) {
+        Event catalogEvent = new Event();
+        catalogEvent.setId(id);
+        catalogEvent.setEventDate(LocalDate.parse(eventDate));
+        return EventSummaryDTO.from(catalogEvent);
+    }
 }
@@ -0,0 +1,99 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.event.EventStatsDTO;
+import org.example.event_organizer_api.dto.event.OrganizerStatsDTO;
+import org.example.event_organizer_api.repository.EventStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EventStatsServiceTest {
+
+    @Mock
+    private EventStatsRepository eventStatsRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EventStatsService eventStatsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        eventStatsService = new EventStatsService(eventStatsRepository, jdbcTemplate);
+
+        when(eventStatsRepository.findStatsByOrganizerId(1)).thenAnswer(invocation -> List.of(
+                new EventStatsDTO(1, "First", LocalDate.parse("2030-01-01"), 100, 90, 10L, new BigDecimal("500.00"), 1L, new BigDecimal("50.00"), 4L),
+                new EventStatsDTO(2, "Second", LocalDate.parse("2030-02-01"), 50, 50, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 1L)));
+    }
+
+    @Test
+    void changesAreRecordedAsDeltaRows() {
+        eventStatsService.recordSale(1, 2, new BigDecimal("100.00"));
+        eventStatsService.recordRefund(1, 1, new BigDecimal("50.00"));
+        eventStatsService.recordWishlist(2, -1);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO event_stats_deltas"), eq(1), eq(2L), eq(new BigDecimal("100.00")), eq(0L), eq(BigDecimal.ZERO), eq(0L));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO event_stats_deltas"), eq(1), eq(0L), eq(BigDecimal.ZERO), eq(1L), eq(new BigDecimal("50.00")), eq(0L));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO event_stats_deltas"), eq(2), eq(0L), eq(BigDecimal.ZERO), eq(0L), eq(BigDecimal.ZERO), eq(-1L));
+    }
+
+    @Test
+    void organizerStatsIncludeDeltasNotFoldedYet() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getInt(1)).thenReturn(1, 2);
+        when(resultSet.getLong(2)).thenReturn(2L, 0L);
+        when(resultSet.getBigDecimal(3)).thenReturn(new BigDecimal("100.00"), BigDecimal.ZERO);
+        when(resultSet.getLong(4)).thenReturn(1L, 0L);
+        when(resultSet.getBigDecimal(5)).thenReturn(new BigDecimal("50.00"), BigDecimal.ZERO);
+        when(resultSet.getLong(6)).thenReturn(0L, 1L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(1));
+
+        OrganizerStatsDTO stats = eventStatsService.getOrganizerStats(1);
+
+        assertEquals(12L, stats.getEvents().get(0).getTicketsSold());
+        assertEquals(2L, stats.getEvents().get(0).getRefunds());
+        assertEquals(2L, stats.getEvents().get(1).getWishlistCount());
+        assertEquals(12L, stats.getTicketsSold());
+        assertEquals(0, new BigDecimal("600.00").compareTo(stats.getGrossRevenue()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(stats.getRefundedAmount()));
+        assertEquals(6L, stats.getWishlistCount());
+    }
+
+    @Test
+    void flushFoldsEveryDeltaInOneStatement() {
+        eventStatsService.flushStats();
+
+        verify(jdbcTemplate, times(1)).update(argThat((String sql) -> sql.startsWith("WITH drained AS (DELETE FROM event_stats_deltas")
+                && sql.contains("INSERT INTO event_stats ")));
+    }
+
+    @Test
+    void failedFlushIsLoggedAndRetriedNextTime() {
+        when(jdbcTemplate.update(anyString())).thenThrow(new DataAccessResourceFailureException("down")).thenReturn(2);
+
+        assertDoesNotThrow(() -> eventStatsService.flushStats());
+        eventStatsService.flushStats();
+
+        verify(jdbcTemplate, times(2)).update(anyString());
+    }
+}
@@ -0,0 +1,252 @@
+package org.example.event_organizer_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.event_organizer_api.dto.event.EventUpdateDTO;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class EventUpdateServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private EventUpdateService eventUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        eventUpdateService = new EventUpdateService(eventRepository, new ObjectMapper(), 60_000, 3, 8, Runnable::run) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        when(eventRepository.findUpdatesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id < 100).map(id -> update(id, 50)).toList();
+        });
+    }
+
+    @Test
+    void subscriptionStartsWithCurrentStateAndReportsUnknownEvents() {
+        eventUpdateService.subscribe(List.of(1, 404));
+
+        List<String> messages = emitters.get(0).messages;
+        assertEquals(2, messages.size());
+        assertTrue(messages.contains("event:update\ndata:{\"id\":1,\"ticketsAvailable\":50,\"price\":10,\"onSale\":0}\n\n"));
+        assertTrue(messages.contains("event:removed\ndata:{\"id\":404}\n\n"));
+    }
+
+    @Test
+    void currentStateIsReadOffTheRequestThread() {
+        List<Runnable> queued = new ArrayList<>();
+        EventUpdateService service = new EventUpdateService(eventRepository, new ObjectMapper(), 60_000, 3, 8, queued::add);
+
+        service.subscribe(List.of(1));
+        verifyNoInteractions(eventRepository);
+
+        queued.forEach(Runnable::run);
+        verify(eventRepository).findUpdatesByIdIn(Set.of(1));
+    }
+
+    @Test
+    void failedReadOfTheCurrentStateClosesTheSubscription() {
+        when(eventRepository.findUpdatesByIdIn(anyCollection())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        eventUpdateService.subscribe(List.of(1));
+
+        assertEquals(0, eventUpdateService.getSubscriptionCount());
+        assertEquals(List.of(), emitters.get(0).messages);
+    }
+
+    @Test
+    void subscriptionToTooManyOrNoEventsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> eventUpdateService.subscribe(List.of(1, 2, 3, 4)));
+        assertThrows(IllegalArgumentException.class, () -> eventUpdateService.subscribe(List.of()));
+        assertEquals(0, eventUpdateService.getSubscriptionCount());
+    }
+
+    @Test
+    void changesAreCoalescedIntoOneQueryAndOneUpdatePerEvent() {
+        eventUpdateService.subscribe(List.of(1, 2));
+        eventUpdateService.subscribe(List.of(1));
+        emitters.forEach(emitter -> emitter.messages.clear());
+        clearInvocations(eventRepository);
+        when(eventRepository.findUpdatesByIdIn(anyCollection())).thenReturn(List.of(update(1, 47)));
+
+        eventUpdateService.eventChanged(1);
+        eventUpdateService.eventChanged(1);
+        eventUpdateService.eventChanged(1);
+        eventUpdateService.eventChanged(7);
+        eventUpdateService.publishChanges();
+
+        verify(eventRepository, times(1)).findUpdatesByIdIn(Set.of(1));
+        assertEquals(List.of("event:update\ndata:{\"id\":1,\"ticketsAvailable\":47,\"price\":10,\"onSale\":0}\n\n"), emitters.get(0).messages);
+        assertEquals(emitters.get(0).messages, emitters.get(1).messages);
+    }
+
+    @Test
+    void unchangedValuesAreNotSentAgain() {
+        eventUpdateService.subscribe(List.of(1));
+        eventUpdateService.eventChanged(1);
+        eventUpdateService.publishChanges();
+        emitters.get(0).messages.clear();
+
+        eventUpdateService.allEventsChanged();
+        eventUpdateService.publishChanges();
+
+        assertEquals(List.of(), emitters.get(0).messages);
+    }
+
+    @Test
+    void failedReadIsRetriedOnTheNextRun() {
+        eventUpdateService.subscribe(List.of(1));
+        emitters.get(0).messages.clear();
+        when(eventRepository.findUpdatesByIdIn(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of(update(1, 40)));
+
+        eventUpdateService.eventChanged(1);
+        eventUpdateService.publishChanges();
+        assertEquals(List.of(), emitters.get(0).messages);
+
+        eventUpdateService.publishChanges();
+        assertEquals(1, emitters.get(0).messages.size());
+    }
+
+    @Test
+    void deletedEventIsReportedOnceAndForgotten() {
+        eventUpdateService.subscribe(List.of(1));
+        emitters.get(0).messages.clear();
+        when(eventRepository.findUpdatesByIdIn(anyCollection())).thenReturn(List.of());
+
+        eventUpdateService.eventChanged(1);
+        eventUpdateService.publishChanges();
+        eventUpdateService.eventChanged(1);
+        eventUpdateService.publishChanges();
+
+        assertEquals(List.of("event:removed\ndata:{\"id\":1}\n\n"), emitters.get(0).messages);
+    }
+
+    @Test
+    void closedConnectionIsReleasedByTheHeartbeat() {
+        eventUpdateService.subscribe(List.of(1));
+        eventUpdateService.subscribe(List.of(1));
+        emitters.get(0).closed = true;
+
+        eventUpdateService.sendHeartbeats();
+
+        assertEquals(1, eventUpdateService.getSubscriptionCount());
+        assertEquals(":\n\n", emitters.get(1).messages.get(emitters.get(1).messages.size() - 1));
+    }
+
+    @Test
+    void stalledClientOnlyHoldsUpItsOwnSubscription() throws InterruptedException {
+        AtomicInteger available = new AtomicInteger(50);
+        when(eventRepository.findUpdatesByIdIn(anyCollection())).thenAnswer(invocation -> List.of(update(1, available.get())));
+        CountDownLatch unblock = new CountDownLatch(1);
+        StalledEmitter stalled = new StalledEmitter(unblock);
+        RecordingEmitter reading = new RecordingEmitter();
+        List<SseEmitter> created = new ArrayList<>(List.of(stalled, reading));
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        EventUpdateService service = new EventUpdateService(eventRepository, new ObjectMapper(), 60_000, 3, 2, pool) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                return created.remove(0);
+            }
+        };
+        try {
+            service.subscribe(List.of(1));
+            assertTrue(stalled.writing.await(5, TimeUnit.SECONDS));
+            service.subscribe(List.of(1));
+            awaitMessage(reading, "\"ticketsAvailable\":50");
+
+            while (available.get() > 45) {
+                available.decrementAndGet();
+                service.eventChanged(1);
+                long start = System.nanoTime();
+                service.publishChanges();
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "publishing waited on the stalled client");
+                awaitMessage(reading, "\"ticketsAvailable\":" + available.get());
+            }
+
+            assertEquals(1, service.getSubscriptionCount(), "the stalled subscription should be closed once its queue is full");
+        } finally {
+            unblock.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitMessage(RecordingEmitter emitter, String content) throws InterruptedException {
+        for (int i = 0; i < 50 && emitter.messages.stream().noneMatch(message -> message.contains(content)); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(emitter.messages.stream().anyMatch(message -> message.contains(content)), content + " not in " + emitter.messages);
+    }
+
+    private static EventUpdateDTO update(int id, int ticketsAvailable) {
+        return new EventUpdateDTO(id, ticketsAvailable, BigDecimal.TEN, 0);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private boolean closed;
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+            if (closed) {
+                throw new IOException("Broken pipe");
+            }
+            messages.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+    }
+
+    // Never returns from a write until unblocked, like a client that stopped reading but keeps its connection open.
+    private static final class StalledEmitter extends SseEmitter {
+        private final CountDownLatch unblock;
+        private final CountDownLatch writing = new CountDownLatch(1);
+
+        private StalledEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+            writing.countDown();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Write timed out", e);
+            }
+        }
+    }
+}
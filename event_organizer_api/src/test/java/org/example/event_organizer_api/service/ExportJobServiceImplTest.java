@@ -0,0 +1,133 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.export.ExportJobDTO;
+import org.example.event_organizer_api.exceptions.AdmissionDeniedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExportJobServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExportJobServiceImpl exportJobServiceImpl;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        exportJobServiceImpl = new ExportJobServiceImpl(jdbcTemplate, transactionManager, 1, 1, 60, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportJobServiceImpl.shutdown();
+    }
+
+    @Test
+    void ticketExportIsSpooledAndTransferred() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getInt(anyInt())).thenReturn(1);
+        when(resultSet.getString(anyInt())).thenReturn("Ana, \"Popescu\"");
+        when(resultSet.getObject(7, LocalDate.class)).thenReturn(LocalDate.parse("2030-06-01"));
+        when(resultSet.getBigDecimal(9)).thenReturn(new BigDecimal("99.9"));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < 10; i++) {
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ExportJobDTO job = awaitFinished(exportJobServiceImpl.submitJob("tickets").getId());
+
+        assertEquals(ExportJobServiceImpl.COMPLETED, job.getStatus());
+        assertEquals(10L, job.getRows());
+        ByteArrayOutputStream download = new ByteArrayOutputStream();
+        assertEquals(job.getSizeBytes(), exportJobServiceImpl.transferResult(job.getId(), Channels.newChannel(download)));
+        String[] lines = download.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(11, lines.length);
+        assertEquals("1,1,\"Ana, \"\"Popescu\"\"\",\"Ana, \"\"Popescu\"\"\",1,\"Ana, \"\"Popescu\"\"\",2030-06-01,1,99.90", lines[10]);
+        assertEquals(job.getSizeBytes(), Files.size(exportJobServiceImpl.getResultFile(job.getId())));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void queueIsBounded() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ExportJobDTO running = exportJobServiceImpl.submitJob("events");
+        ExportJobDTO queued = exportJobServiceImpl.submitJob("events");
+
+        assertThrows(AdmissionDeniedException.class, () -> exportJobServiceImpl.submitJob("events"));
+        assertThrows(IllegalArgumentException.class, () -> exportJobServiceImpl.getResultFile(queued.getId()));
+        release.countDown();
+        assertEquals(ExportJobServiceImpl.COMPLETED, awaitFinished(running.getId()).getStatus());
+        assertEquals(ExportJobServiceImpl.COMPLETED, awaitFinished(queued.getId()).getStatus());
+    }
+
+    @Test
+    void failedJobKeepsNoFile() throws Exception {
+        doThrow(new IllegalStateException("connection lost"))
+                .when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ExportJobDTO job = awaitFinished(exportJobServiceImpl.submitJob("tickets").getId());
+
+        assertEquals(ExportJobServiceImpl.FAILED, job.getStatus());
+        assertEquals("connection lost", job.getError());
+        assertThrows(IllegalArgumentException.class, () -> exportJobServiceImpl.getResultFile(job.getId()));
+    }
+
+    @Test
+    void deleteRemovesFile() throws Exception {
+        ExportJobDTO job = awaitFinished(exportJobServiceImpl.submitJob("events").getId());
+        Path file = exportJobServiceImpl.getResultFile(job.getId());
+
+        exportJobServiceImpl.deleteJob(job.getId());
+
+        assertFalse(Files.exists(file));
+        assertThrows(NoSuchElementException.class, () -> exportJobServiceImpl.getJob(job.getId()));
+        assertThrows(IllegalArgumentException.class, () -> exportJobServiceImpl.submitJob("users"));
+    }
+
+    private ExportJobDTO awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            ExportJobDTO job = exportJobServiceImpl.getJob(jobId);
+            if (job.getCompletedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Export job did not finish");
+        return null;
+    }
+}
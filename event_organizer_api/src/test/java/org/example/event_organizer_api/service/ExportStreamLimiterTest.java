@@ -0,0 +1,90 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.exceptions.AdmissionDeniedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExportStreamLimiterTest {
+
+    @Test
+    void streamsAreBoundedUntilAPermitIsClosed() throws IOException {
+        ExportStreamLimiter limiter = new ExportStreamLimiter(2);
+        Closeable first = limiter.acquire();
+        limiter.acquire();
+
+        assertThrows(AdmissionDeniedException.class, limiter::acquire);
+
+        first.close();
+        assertNotNull(limiter.acquire());
+    }
+
+    @Test
+    void closingTwiceReleasesOnce() throws IOException {
+        ExportStreamLimiter limiter = new ExportStreamLimiter(1);
+        Closeable permit = limiter.acquire();
+        permit.close();
+        permit.close();
+
+        limiter.acquire();
+        assertThrows(AdmissionDeniedException.class, limiter::acquire);
+    }
+
+    @Test
+    void permitIsReturnedWhenTheRequestEndsBeforeTheExportRuns() throws Exception {
+        ExportStreamLimiter limiter = new ExportStreamLimiter(1);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        AsyncTaskExecutor neverRuns = mock(AsyncTaskExecutor.class);
+        doReturn(mock(Future.class)).when(neverRuns).submit(any(Runnable.class));
+
+        startStreaming(limiter, request, neverRuns);
+        assertThrows(AdmissionDeniedException.class, limiter::acquire);
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertNotNull(limiter.acquire());
+    }
+
+    @Test
+    void writtenExportReleasesItsPermitOnce() throws Exception {
+        ExportStreamLimiter limiter = new ExportStreamLimiter(1);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        startStreaming(limiter, request, new TaskExecutorAdapter(Runnable::run));
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        limiter.acquire();
+        assertThrows(AdmissionDeniedException.class, limiter::acquire);
+    }
+
+    // Streams the body the way the StreamingResponseBody handler does, on the given executor.
+    private static void startStreaming(ExportStreamLimiter limiter, MockHttpServletRequest request, AsyncTaskExecutor executor) throws Exception {
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        asyncManager.setTaskExecutor(executor);
+
+        StreamingResponseBody body = limiter.stream(new ServletWebRequest(request, response), outputStream -> outputStream.write(1));
+        asyncManager.startCallableProcessing(() -> {
+            body.writeTo(new ByteArrayOutputStream());
+            return null;
+        });
+    }
+}
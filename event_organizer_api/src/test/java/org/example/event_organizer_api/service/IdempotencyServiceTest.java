@@ -0,0 +1,87 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.exceptions.IdempotencyConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(2, 60, 200, clock::get);
+    }
+
+    @Test
+    void retryReplaysStoredResponse() {
+        IdempotencyService.Claim first = idempotencyService.begin("1:key", "purchase");
+        assertFalse(first.isReplay());
+        first.complete(response("created"));
+
+        IdempotencyService.Claim retry = idempotencyService.begin("1:key", "purchase");
+
+        assertTrue(retry.isReplay());
+        assertEquals(200, retry.getReplay().getStatus());
+        assertEquals("created", new String(retry.getReplay().getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void keyReusedForDifferentRequest() {
+        idempotencyService.begin("1:key", "purchase").complete(response("created"));
+
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.begin("1:key", "refund"));
+    }
+
+    @Test
+    void abandonedKeyRunsAgain() {
+        idempotencyService.begin("1:key", "purchase").abandon();
+
+        assertFalse(idempotencyService.begin("1:key", "purchase").isReplay());
+    }
+
+    @Test
+    void retryWaitsForOriginalRequest() throws Exception {
+        IdempotencyService.Claim first = idempotencyService.begin("1:key", "purchase");
+
+        CompletableFuture<IdempotencyService.Claim> retry = CompletableFuture.supplyAsync(() -> idempotencyService.begin("1:key", "purchase"));
+        Thread.sleep(50);
+        first.complete(response("created"));
+
+        assertTrue(retry.get(1, TimeUnit.SECONDS).isReplay());
+    }
+
+    @Test
+    void retryWhileOriginalIsStuck() {
+        idempotencyService.begin("1:key", "purchase");
+
+        assertThrows(IdempotencyConflictException.class, () -> idempotencyService.begin("1:key", "purchase"));
+    }
+
+    @Test
+    void responsesExpireAndAreBounded() {
+        idempotencyService.begin("1:a", "purchase").complete(response("a"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertFalse(idempotencyService.begin("1:a", "purchase").isReplay());
+
+        idempotencyService.begin("1:b", "purchase").complete(response("b"));
+        idempotencyService.begin("1:c", "purchase").complete(response("c"));
+        idempotencyService.begin("1:d", "purchase").complete(response("d"));
+
+        assertFalse(idempotencyService.begin("1:b", "purchase").isReplay());
+        assertTrue(idempotencyService.begin("1:d", "purchase").isReplay());
+    }
+
+    private static IdempotencyService.StoredResponse response(String body) {
+        return new IdempotencyService.StoredResponse(200, "application/json", body.getBytes(StandardCharsets.UTF_8));
+    }
+}
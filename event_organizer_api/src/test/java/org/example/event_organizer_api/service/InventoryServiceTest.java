@@ -0,0 +1,167 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.example.event_organizer_api.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class InventoryServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityCacheService entityCacheService;
+
+    private InventoryService inventoryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        Location location = new Location();
+        location.setId(1);
+        location.setCapacity(100);
+
+        Event event = new Event();
+        event.setId(1);
+        event.setLocation(location);
+        event.setTicketsAvailable(100);
+
+        when(eventRepository.findWithLocationById(1)).thenReturn(Optional.of(event));
+        when(ticketRepository.countSoldByEventId(1)).thenReturn(10L);
+
+        inventoryService = new InventoryService(eventRepository, ticketRepository, jdbcTemplate, entityCacheService, Set.of(1), 8);
+        inventoryService.rebuildHotEvents();
+    }
+
+    @Test
+    void reserveRegularEvent() {
+        when(eventRepository.reserveTickets(2, 3)).thenReturn(1);
+
+        assertTrue(inventoryService.reserve(2, 3));
+        assertFalse(inventoryService.isHot(2));
+        verify(eventRepository, times(1)).reserveTickets(2, 3);
+        verify(entityCacheService, times(1)).evictEvent(2);
+    }
+
+    @Test
+    void failedReservationKeepsCachedEvent() {
+        when(eventRepository.reserveTickets(2, 3)).thenReturn(0);
+
+        assertFalse(inventoryService.reserve(2, 3));
+        inventoryService.release(3, 1);
+
+        verify(entityCacheService, never()).evictEvent(2);
+        verify(entityCacheService, times(1)).evictEvent(3);
+    }
+
+    @Test
+    void reserveHotEvent() {
+        assertTrue(inventoryService.isHot(1));
+        assertTrue(inventoryService.reserve(1, 90));
+        assertFalse(inventoryService.reserve(1, 1));
+
+        inventoryService.release(1, 2);
+
+        assertTrue(inventoryService.reserve(1, 2));
+        verify(eventRepository, never()).reserveTickets(anyInt(), anyInt());
+    }
+
+    @Test
+    void reserveHotEventConcurrentBuyersNeverOversell() throws InterruptedException {
+        int buyers = 500;
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(buyers);
+        for (int i = 0; i < buyers; i++) {
+            int quantity = i % 4 + 1;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    if (inventoryService.reserve(1, quantity)) {
+                        sold.addAndGet(quantity);
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertTrue(sold.get() <= 90);
+        assertTrue(rejected.get() > 0);
+
+        inventoryService.flushHotEvents();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((List<Object[]> batch) ->
+                batch.size() == 1 && (long) batch.get(0)[0] == 90 - sold.get()));
+    }
+
+    @Test
+    void flushHotEventsSkipsUnchangedCounters() {
+        inventoryService.flushHotEvents();
+        inventoryService.flushHotEvents();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+
+        // Hot events only change in the database, and in the cache, when flushed.
+        assertTrue(inventoryService.reserve(1, 5));
+        verify(entityCacheService, times(1)).evictEvent(1);
+        inventoryService.flushHotEvents();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        verify(entityCacheService, times(2)).evictEvent(1);
+    }
+
+    @Test
+    void adjustCapacityBelowSold() {
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.adjustCapacity(1, -91));
+
+        inventoryService.adjustCapacity(1, -90);
+
+        assertFalse(inventoryService.reserve(1, 1));
+    }
+
+    @Test
+    void rebuildLeavesStoredHoldsOut() {
+        when(ticketRepository.countHeldByEventId(1)).thenReturn(5L);
+        inventoryService.rebuildHotEvents();
+
+        assertFalse(inventoryService.reserve(1, 86));
+        assertTrue(inventoryService.reserve(1, 85));
+    }
+}
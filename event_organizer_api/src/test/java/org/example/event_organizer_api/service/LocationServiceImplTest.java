@@ -17,8 +17,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 class LocationServiceImplTest {
@@ -29,6 +31,12 @@ class LocationServiceImplTest {
     @Mock
     private LocationMapper locationMapper;
 
+    @Mock
+    private VenueScheduleService venueScheduleService;
+
+    @Spy
+    private EntityCacheService entityCacheService = new EntityCacheService(100, 60, 100, 60, System::nanoTime, List.of());
+
     @InjectMocks
     private LocationServiceImpl locationServiceImpl;
 
@@ -190,4 +198,46 @@ class LocationServiceImplTest {
         assertEquals(1, result.size());
         verify(locationRepository, times(1)).findAll();
     }
+
+    @Test
+    void getLocationById_isServedFromCacheUntilLocationChanges() {
+        when(locationRepository.findById(anyInt())).thenReturn(Optional.of(location));
+        when(locationRepository.save(any(Location.class))).thenReturn(location);
+
+        locationServiceImpl.getLocationById(1);
+        locationServiceImpl.getLocationById(1);
+        verify(locationRepository, times(1)).findById(1);
+
+        locationServiceImpl.updateLocation(1, locationDTO);
+        locationServiceImpl.getLocationById(1);
+        verify(locationRepository, times(3)).findById(1);
+        verify(entityCacheService, times(1)).evictLocation(1);
+    }
+
+    @Test
+    void getAllLocations_isReloadedAfterLocationIsAdded() {
+        when(locationRepository.findAll()).thenReturn(Collections.singletonList(location));
+        when(locationMapper.toEntity(any(LocationDTO.class))).thenReturn(location);
+        when(locationRepository.save(any(Location.class))).thenReturn(location);
+
+        locationServiceImpl.getAllLocations();
+        locationServiceImpl.getAllLocations();
+        verify(locationRepository, times(1)).findAll();
+
+        locationServiceImpl.addLocation(locationDTO);
+        locationServiceImpl.getAllLocations();
+        verify(locationRepository, times(2)).findAll();
+    }
+
+    @Test
+    void getFreeSlots_rejectsInvalidRangeAndUnknownLocation() {
+        LocalDateTime from = LocalDateTime.of(2030, 5, 10, 8, 0);
+        when(locationRepository.findById(anyInt())).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> locationServiceImpl.getFreeSlots(1, from, from, 60));
+        assertThrows(IllegalArgumentException.class, () -> locationServiceImpl.getFreeSlots(1, from, from.plusDays(32), 60));
+        assertThrows(IllegalArgumentException.class, () -> locationServiceImpl.getFreeSlots(1, from, from.plusHours(8), 0));
+        assertThrows(NoSuchElementException.class, () -> locationServiceImpl.getFreeSlots(1, from, from.plusHours(8), 60));
+        verifyNoInteractions(venueScheduleService);
+    }
 }
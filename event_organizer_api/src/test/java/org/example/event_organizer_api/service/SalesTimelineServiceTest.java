@@ -0,0 +1,137 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.event.SalesTimelineDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SalesTimelineServiceTest {
+
+    private static final Instant START = Instant.parse("2030-01-01T10:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong clock = new AtomicLong(START.toEpochMilli());
+
+    private SalesTimelineService salesTimelineService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        salesTimelineService = new SalesTimelineService(jdbcTemplate, 120, clock::get);
+    }
+
+    @Test
+    void timelineGroupsSalesByMinute() {
+        salesTimelineService.recordPurchase(1, 2, new BigDecimal("100.00"));
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(30));
+        salesTimelineService.recordPurchase(1, 1, new BigDecimal("50.00"));
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(2));
+        salesTimelineService.recordRefund(1, 1, new BigDecimal("50.00"));
+
+        SalesTimelineDTO timeline = salesTimelineService.getTimeline(1);
+
+        assertEquals(2, timeline.getMinutes().size());
+        assertEquals(START, timeline.getMinutes().get(0).getStart());
+        assertEquals(3L, timeline.getMinutes().get(0).getPurchases());
+        assertEquals(0, new BigDecimal("150.00").compareTo(timeline.getMinutes().get(0).getRevenue()));
+        assertEquals(1L, timeline.getMinutes().get(1).getRefunds());
+        assertEquals(START.plusSeconds(180), timeline.getTo());
+        assertTrue(salesTimelineService.getTimeline(2).getMinutes().isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void compactionWritesCompletedHoursOnce() {
+        salesTimelineService.recordPurchase(1, 2, new BigDecimal("100.00"));
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(59));
+        salesTimelineService.recordPurchase(1, 1, new BigDecimal("50.00"));
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(2));
+        salesTimelineService.recordPurchase(1, 4, new BigDecimal("200.00"));
+
+        salesTimelineService.compactCompletedHours();
+        salesTimelineService.compactCompletedHours();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        Object[] row = batch.getValue().get(0);
+        assertEquals(Timestamp.from(START), row[1]);
+        assertEquals(3L, row[2]);
+        assertEquals(0, new BigDecimal("150.00").compareTo((BigDecimal) row[3]));
+
+        // Compacted minutes are still served until they leave the window.
+        assertEquals(3, salesTimelineService.getTimeline(1).getMinutes().size());
+    }
+
+    @Test
+    void failedCompactionIsRetried() {
+        salesTimelineService.recordPurchase(1, 2, new BigDecimal("100.00"));
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(65));
+        doThrow(new DataAccessResourceFailureException("down")).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        salesTimelineService.compactCompletedHours();
+
+        reset(jdbcTemplate);
+        salesTimelineService.compactCompletedHours();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 1 && rows.get(0)[2].equals(2L)));
+    }
+
+    @Test
+    void oldMinutesLeaveTheWindow() {
+        salesTimelineService.recordPurchase(1, 2, new BigDecimal("100.00"));
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(125));
+
+        assertTrue(salesTimelineService.getTimeline(1).getMinutes().isEmpty());
+
+        salesTimelineService.compactCompletedHours();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void shutdownCompactsCurrentHour() {
+        salesTimelineService.recordPurchase(1, 2, new BigDecimal("100.00"));
+
+        salesTimelineService.compactAll();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 1));
+    }
+
+    @Test
+    void concurrentPurchasesAreAllCounted() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    salesTimelineService.recordPurchase(1, 1, BigDecimal.TEN);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(8000L, salesTimelineService.getTimeline(1).getMinutes().get(0).getPurchases());
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.ticket.TicketDTO;
+import org.example.event_organizer_api.dto.ticket.TicketHoldDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Ticket;
+import org.example.event_organizer_api.entity.User;
+import org.example.event_organizer_api.mapper.TicketMapper;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.example.event_organizer_api.repository.TicketRepository;
+import org.example.event_organizer_api.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TicketHoldServiceImplTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private TicketMapper ticketMapper;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private EventStatsService eventStatsService;
+
+    @Mock
+    private SalesTimelineService salesTimelineService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TicketHoldServiceImpl ticketHoldServiceImpl;
+
+    private TicketDTO ticketDTO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        ticketHoldServiceImpl = new TicketHoldServiceImpl(ticketRepository, userRepository, eventRepository, ticketMapper, inventoryService, eventStatsService,
+                salesTimelineService, jdbcTemplate, transactionManager, 1, 10);
+
+        ticketDTO = new TicketDTO();
+        ticketDTO.setUserId(1);
+        ticketDTO.setEventId(1);
+        ticketDTO.setPurchasePrice(BigDecimal.valueOf(100));
+
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(jdbcTemplate.update(startsWith("DELETE FROM ticket_holds"), any(Object[].class))).thenReturn(1);
+        deletedRows(new int[]{1, 2});
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketHoldServiceImpl.shutdown();
+    }
+
+    @Test
+    void holdTickets() {
+        when(inventoryService.reserve(1, 2)).thenReturn(true);
+
+        TicketHoldDTO hold = ticketHoldServiceImpl.holdTickets(ticketDTO, 2);
+
+        assertNotNull(hold.getId());
+        assertEquals(2, hold.getQuantity());
+        assertNotNull(ticketHoldServiceImpl.getHold(hold.getId()));
+        verify(inventoryService, times(1)).reserve(1, 2);
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT INTO ticket_holds"), any(Object[].class));
+    }
+
+    @Test
+    void holdTicketsSoldOut() {
+        when(inventoryService.reserve(1, 2)).thenReturn(false);
+        when(eventRepository.existsById(1)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> ticketHoldServiceImpl.holdTickets(ticketDTO, 2));
+    }
+
+    @Test
+    void holdExpires() {
+        when(inventoryService.reserve(1, 2)).thenReturn(true);
+
+        TicketHoldDTO hold = ticketHoldServiceImpl.holdTickets(ticketDTO, 2);
+
+        verify(inventoryService, timeout(3000).times(1)).release(1, 2);
+        assertThrows(NoSuchElementException.class, () -> ticketHoldServiceImpl.getHold(hold.getId()));
+        assertThrows(NoSuchElementException.class, () -> ticketHoldServiceImpl.confirmHold(hold.getId()));
+    }
+
+    @Test
+    void confirmHold() throws InterruptedException {
+        User user = new User();
+        user.setId(1);
+        Event event = new Event();
+        event.setId(1);
+
+        when(inventoryService.reserve(1, 2)).thenReturn(true);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(eventRepository.findWithLocationById(1)).thenReturn(Optional.of(event));
+        when(ticketMapper.toEntity(any(TicketDTO.class))).thenAnswer(invocation -> new Ticket());
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TicketHoldDTO hold = ticketHoldServiceImpl.holdTickets(ticketDTO, 2);
+        List<Ticket> tickets = ticketHoldServiceImpl.confirmHold(hold.getId());
+
+        assertEquals(2, tickets.size());
+        verify(ticketRepository, times(1)).save(any(Ticket.class));
+        Thread.sleep(1500);
+        verify(inventoryService, never()).release(anyInt(), anyInt());
+    }
+
+    @Test
+    void releaseHold() {
+        when(inventoryService.reserve(1, 2)).thenReturn(true);
+
+        TicketHoldDTO hold = ticketHoldServiceImpl.holdTickets(ticketDTO, 2);
+        ticketHoldServiceImpl.releaseHold(hold.getId());
+
+        verify(inventoryService, times(1)).release(1, 2);
+        assertThrows(NoSuchElementException.class, () -> ticketHoldServiceImpl.releaseHold(hold.getId()));
+    }
+
+    @Test
+    void holdReleasedElsewhereIsNotReleasedTwice() {
+        when(inventoryService.reserve(1, 2)).thenReturn(true);
+        TicketHoldDTO hold = ticketHoldServiceImpl.holdTickets(ticketDTO, 2);
+        when(jdbcTemplate.update(startsWith("DELETE FROM ticket_holds"), any(Object[].class))).thenReturn(0);
+
+        assertThrows(NoSuchElementException.class, () -> ticketHoldServiceImpl.releaseHold(hold.getId()));
+        verify(inventoryService, never()).release(anyInt(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void storedHoldsAreRecoveredAtStartup() {
+        TicketHoldDTO expired = new TicketHoldDTO("expired", 1, 1, 2, BigDecimal.TEN, Instant.now().minusSeconds(60));
+        TicketHoldDTO pending = new TicketHoldDTO("pending", 1, 2, 3, BigDecimal.TEN, Instant.now().plusSeconds(60));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(expired, pending));
+
+        ticketHoldServiceImpl.recoverHolds();
+
+        verify(inventoryService, timeout(3000).times(1)).release(1, 2);
+        verify(jdbcTemplate, times(1)).query(startsWith("DELETE FROM ticket_holds"), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+        assertThrows(NoSuchElementException.class, () -> ticketHoldServiceImpl.getHold("expired"));
+        assertEquals(3, ticketHoldServiceImpl.getHold("pending").getQuantity());
+
+        ticketHoldServiceImpl.releaseHold("pending");
+        verify(inventoryService, times(1)).release(2, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expiredHoldsAreReleasedInOneStatementPerBatch() throws SQLException {
+        List<TicketHoldDTO> stored = List.of(
+                new TicketHoldDTO("a", 1, 1, 2, BigDecimal.TEN, Instant.now().minusSeconds(60)),
+                new TicketHoldDTO("b", 1, 1, 3, BigDecimal.TEN, Instant.now().minusSeconds(60)),
+                new TicketHoldDTO("c", 1, 2, 1, BigDecimal.TEN, Instant.now().minusSeconds(60)));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(stored);
+        deletedRows(new int[]{1, 2}, new int[]{1, 3}, new int[]{2, 1});
+
+        ticketHoldServiceImpl.recoverHolds();
+
+        verify(inventoryService, timeout(3000).times(1)).release(2, 1);
+        verify(inventoryService, times(1)).release(1, 5);
+        verify(jdbcTemplate, times(1)).query(startsWith("DELETE FROM ticket_holds"), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+        verify(jdbcTemplate, never()).update(startsWith("DELETE FROM ticket_holds"), any(Object[].class));
+    }
+
+    // Answers the batched delete of expired holds with the given (event ID, quantity) rows.
+    private void deletedRows(int[]... rows) throws SQLException {
+        List<ResultSet> resultSets = new ArrayList<>();
+        for (int[] row : rows) {
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getInt(1)).thenReturn(row[0]);
+            when(resultSet.getInt(2)).thenReturn(row[1]);
+            resultSets.add(resultSet);
+        }
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (ResultSet resultSet : resultSets) {
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("DELETE FROM ticket_holds"), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+    }
+}
@@ -1,27 +1,49 @@
 package org.example.event_organizer_api.service;
 
+import org.example.event_organizer_api.dto.ticket.CartDTO;
+import org.example.event_organizer_api.dto.ticket.CartItemDTO;
 import org.example.event_organizer_api.dto.ticket.TicketDTO;
+import org.example.event_organizer_api.dto.ticket.TicketSummaryDTO;
 import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
 import org.example.event_organizer_api.entity.Ticket;
 import org.example.event_organizer_api.entity.User;
 import org.example.event_organizer_api.mapper.TicketMapper;
 import org.example.event_organizer_api.repository.EventRepository;
 import org.example.event_organizer_api.repository.TicketRepository;
 import org.example.event_organizer_api.repository.UserRepository;
+import org.example.event_organizer_api.utilities.CsvExportStrategy;
 import org.example.event_organizer_api.utilities.TicketExportStrategy;
+import org.example.event_organizer_api.utilities.TxtExportStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,6 +63,18 @@ class TicketServiceImplTest {
     @Mock
     private TicketMapper ticketMapper;
 
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private EventStatsService eventStatsService;
+
+    @Mock
+    private SalesTimelineService salesTimelineService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @Mock
     private TicketExportStrategy ticketExportStrategy;
 
@@ -80,22 +114,148 @@ class TicketServiceImplTest {
     @Test
     void addTickets() {
         when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
-        when(eventRepository.findById(anyInt())).thenReturn(Optional.of(event));
+        when(inventoryService.reserve(anyInt(), anyInt())).thenReturn(true);
+        when(eventRepository.findWithLocationById(anyInt())).thenReturn(Optional.of(event));
         when(ticketMapper.toEntity(any(TicketDTO.class))).thenReturn(ticket);
-        when(ticketRepository.saveAll(anyList())).thenReturn(List.of(ticket));
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        List<Ticket> result = ticketServiceImpl.addTickets(ticketDTO, 1);
+        List<Ticket> result = ticketServiceImpl.addTickets(ticketDTO, 3);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(ticketRepository, times(1)).saveAll(anyList());
+        assertEquals(3, result.size());
+        assertEquals(3, ticket.getQuantity());
+        assertTrue(result.stream().allMatch(unit -> unit.getId().equals(ticket.getId()) && unit.getQuantity() == 1));
+        assertEquals(List.of(1, 2, 3), result.stream().map(Ticket::getUnit).toList());
+        verify(inventoryService, times(1)).reserve(1, 3);
+        verify(eventRepository, never()).save(any(Event.class));
+        verify(ticketRepository, times(1)).save(any(Ticket.class));
+        verify(eventStatsService, times(1)).recordSale(1, 3, BigDecimal.valueOf(300));
+        verify(salesTimelineService, times(1)).recordPurchase(1, 3, BigDecimal.valueOf(300));
+    }
+
+    @Test
+    void addTicketsSoldOut() {
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(inventoryService.reserve(anyInt(), anyInt())).thenReturn(false);
+        when(eventRepository.existsById(anyInt())).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> ticketServiceImpl.addTickets(ticketDTO, 11));
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verify(eventStatsService, never()).recordSale(anyInt(), anyLong(), any(BigDecimal.class));
+    }
+
+    @Test
+    void addTicketsConcurrentBuyersNeverOversell() throws InterruptedException {
+        int capacity = 100;
+        int buyers = 300;
+        AtomicInteger stock = new AtomicInteger(capacity);
+        AtomicInteger sold = new AtomicInteger();
+
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(eventRepository.findWithLocationById(anyInt())).thenReturn(Optional.of(event));
+        when(eventRepository.existsById(anyInt())).thenReturn(true);
+        when(ticketMapper.toEntity(any(TicketDTO.class))).thenAnswer(invocation -> toTicket(invocation.getArgument(0)));
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
+            Ticket saved = invocation.getArgument(0);
+            sold.addAndGet(saved.getQuantity());
+            return saved;
+        });
+        // Mirrors "SET tickets_available = tickets_available - :quantity WHERE tickets_available >= :quantity".
+        when(inventoryService.reserve(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int quantity = invocation.getArgument(1);
+            int current;
+            do {
+                current = stock.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!stock.compareAndSet(current, current - quantity));
+            return true;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(buyers);
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        for (int i = 0; i < buyers; i++) {
+            int quantity = i % 3 + 1;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    ticketServiceImpl.addTickets(ticketDTO, quantity);
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertTrue(stock.get() >= 0);
+        assertEquals(capacity, sold.get() + stock.get());
+        assertTrue(rejected.get() > 0);
+        assertEquals(0, failed.get());
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
+    @Test
+    void checkoutCartReservesInEventOrder() {
+        Event second = new Event();
+        second.setId(2);
+        CartDTO cartDTO = new CartDTO(1, List.of(
+                new CartItemDTO(2, 1, BigDecimal.TEN, null),
+                new CartItemDTO(1, 2, BigDecimal.ONE, null),
+                new CartItemDTO(2, 2, BigDecimal.TEN, null)));
+
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(inventoryService.reserve(anyInt(), anyInt())).thenReturn(true);
+        when(eventRepository.findWithLocationByIdIn(any())).thenReturn(List.of(second, event));
+        when(ticketMapper.toEntity(any(TicketDTO.class))).thenAnswer(invocation -> toTicket(invocation.getArgument(0)));
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Ticket> result = ticketServiceImpl.checkoutCart(cartDTO);
+
+        assertEquals(5, result.size());
+        InOrder inOrder = inOrder(inventoryService);
+        inOrder.verify(inventoryService).reserve(1, 2);
+        inOrder.verify(inventoryService).reserve(2, 3);
+        verify(ticketRepository, times(1)).saveAll(argThat(tickets -> ((List<Ticket>) tickets).size() == 3));
+        verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    void checkoutCartSoldOutEvent() {
+        CartDTO cartDTO = new CartDTO(1, List.of(new CartItemDTO(1, 1, BigDecimal.ONE, null), new CartItemDTO(2, 5, BigDecimal.TEN, null)));
+
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(inventoryService.reserve(1, 1)).thenReturn(true);
+        when(inventoryService.reserve(2, 5)).thenReturn(false);
+        when(eventRepository.existsById(2)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> ticketServiceImpl.checkoutCart(cartDTO));
+        verify(ticketRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void checkoutEmptyCart() {
+        assertThrows(IllegalArgumentException.class, () -> ticketServiceImpl.checkoutCart(new CartDTO(1, List.of())));
+        assertThrows(IllegalArgumentException.class, () -> ticketServiceImpl.checkoutCart(new CartDTO(1, List.of(new CartItemDTO(1, 0, BigDecimal.ONE, null)))));
+        verify(inventoryService, never()).reserve(anyInt(), anyInt());
     }
 
     @Test
     void updateTicket() {
         when(ticketRepository.findById(anyInt())).thenReturn(Optional.of(ticket));
         when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
-        when(eventRepository.findById(anyInt())).thenReturn(Optional.of(event));
+        when(eventRepository.findWithLocationById(anyInt())).thenReturn(Optional.of(event));
         when(ticketRepository.save(any(Ticket.class))).thenReturn(ticket);
 
         Ticket result = ticketServiceImpl.updateTicket(1, ticketDTO);
@@ -108,61 +268,82 @@ class TicketServiceImplTest {
     @Test
     void deleteTicket() {
         when(ticketRepository.findById(anyInt())).thenReturn(Optional.of(ticket));
-        when(eventRepository.save(any(Event.class))).thenReturn(event);
+
+        when(ticketRepository.decrementQuantity(1)).thenReturn(0);
+        when(ticketRepository.deleteSingle(1)).thenReturn(1);
 
         ticketServiceImpl.deleteTicket(1);
 
-        verify(ticketRepository, times(1)).delete(any(Ticket.class));
-        verify(eventRepository, times(1)).save(any(Event.class));
+        verify(ticketRepository, times(1)).deleteSingle(1);
+        verify(inventoryService, times(1)).release(1, 1);
+        verify(eventStatsService, times(1)).recordRefund(1, 1, BigDecimal.valueOf(100));
+        verify(salesTimelineService, times(1)).recordRefund(1, 1, BigDecimal.valueOf(100));
+        verify(eventRepository, never()).save(any(Event.class));
     }
 
     @Test
-    void getTicketById() {
+    void deleteTicketFromLineItem() {
         when(ticketRepository.findById(anyInt())).thenReturn(Optional.of(ticket));
+        when(ticketRepository.decrementQuantity(1)).thenReturn(1);
+
+        ticketServiceImpl.deleteTicket(1);
+
+        verify(ticketRepository, never()).deleteSingle(anyInt());
+        verify(inventoryService, times(1)).release(1, 1);
+    }
+
+    @Test
+    void getTicketById() {
+        when(ticketRepository.findWithUserAndEventById(anyInt())).thenReturn(Optional.of(ticket));
 
         Ticket result = ticketServiceImpl.getTicketById(1);
 
         assertNotNull(result);
         assertEquals(ticket.getId(), result.getId());
-        verify(ticketRepository, times(1)).findById(anyInt());
+        verify(ticketRepository, times(1)).findWithUserAndEventById(anyInt());
     }
 
     @Test
     void getAllTickets() {
-        when(ticketRepository.findAll()).thenReturn(List.of(ticket));
+        when(ticketRepository.findAllSummaries()).thenReturn(List.of(TicketSummaryDTO.from(ticket)));
 
-        List<Ticket> result = ticketServiceImpl.getAllTickets();
+        List<TicketSummaryDTO> result = ticketServiceImpl.getAllTickets();
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
-        verify(ticketRepository, times(1)).findAll();
+        verify(ticketRepository, times(1)).findAllSummaries();
     }
 
     @Test
     void getAllTicketsByUser() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
-        when(ticketRepository.findByUser(any(User.class))).thenReturn(List.of(ticket));
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(ticketRepository.findSummariesByUserId(1)).thenReturn(List.of(TicketSummaryDTO.from(ticket)));
 
-        List<Ticket> result = ticketServiceImpl.getAllTicketsByUser(1);
+        List<TicketSummaryDTO> result = ticketServiceImpl.getAllTicketsByUser(1);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
-        verify(ticketRepository, times(1)).findByUser(any(User.class));
+        assertNull(result.get(0).getEvent().getOrganizer());
+        verify(ticketRepository, times(1)).findSummariesByUserId(1);
     }
 
     @Test
     void getAllTicketsByEvent() {
-        when(eventRepository.findById(anyInt())).thenReturn(Optional.of(event));
-        when(ticketRepository.findByEvent(any(Event.class))).thenReturn(List.of(ticket));
+        ticket.setQuantity(2);
+        when(eventRepository.existsById(1)).thenReturn(true);
+        when(ticketRepository.findSummariesByEventId(1)).thenReturn(List.of(TicketSummaryDTO.from(ticket)));
 
-        List<Ticket> result = ticketServiceImpl.getAllTicketsByEvent(1);
+        List<TicketSummaryDTO> result = ticketServiceImpl.getAllTicketsByEvent(1);
 
         assertNotNull(result);
         assertFalse(result.isEmpty());
-        assertEquals(1, result.size());
-        verify(ticketRepository, times(1)).findByEvent(any(Event.class));
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(1).getQuantity());
+        assertEquals(ticket.getId() + "-1", result.get(0).getUnitId());
+        assertEquals(ticket.getId() + "-2", result.get(1).getUnitId());
+        verify(ticketRepository, times(1)).findSummariesByEventId(1);
     }
 
     @Test
@@ -175,4 +356,93 @@ class TicketServiceImplTest {
 
         verify(ticketExportStrategy, times(1)).export(any(Ticket.class), any(OutputStream.class));
     }
+
+    @Test
+    void exportTicketEscapesFields() throws IOException {
+        Location location = new Location();
+        location.setName("Hall \"A\", Cluj");
+        event.setLocation(location);
+        event.setName("Zilele Clujului – ediția 10");
+        event.setEventDate(LocalDate.parse("2030-06-01"));
+        event.setEventTime(LocalTime.parse("19:30"));
+        ticket.setPurchasePrice(new BigDecimal("-1234.5"));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        ticketServiceImpl.exportTicket(ticket, csv, new CsvExportStrategy());
+        ByteArrayOutputStream txt = new ByteArrayOutputStream();
+        event.setEventTime(null);
+        ticketServiceImpl.exportTicket(ticket, txt, new TxtExportStrategy());
+
+        assertEquals("Event Name,Event Date,Event Time,Location,Purchase Price\n" +
+                "Zilele Clujului – ediția 10,2030-06-01,19:30,\"Hall \"\"A\"\", Cluj\",-1234.50\n", csv.toString(StandardCharsets.UTF_8));
+        assertEquals("Event: Zilele Clujului – ediția 10\nDate: 2030-06-01\nTime: N/A\nLocation: Hall \"A\", Cluj\nPurchase Price: -1234.50\n\n",
+                txt.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportEventTicketsStreamsRows() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getInt(1)).thenReturn(7, 8);
+        when(resultSet.getInt(2)).thenReturn(1, 2);
+        when(resultSet.getString(3)).thenReturn("Ana", "Marko");
+        when(resultSet.getString(4)).thenReturn("ana@example.org", "marko@example.org");
+        when(resultSet.getInt(5)).thenReturn(2, 1);
+        when(resultSet.getBigDecimal(6)).thenReturn(BigDecimal.valueOf(100), BigDecimal.valueOf(50));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        ticketServiceImpl.exportEventTickets(1, outputStream, new CsvExportStrategy());
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("Ticket ID,User ID,Name,Email,Quantity,Purchase Price", lines[0]);
+        assertEquals("8,2,Marko,marko@example.org,1,50.00", lines[2]);
+        verify(ticketRepository, never()).findByEvent(any(Event.class));
+    }
+
+    @Test
+    void exportUserTicketsZipsEachUnit() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getInt(1)).thenReturn(7, 8);
+        when(resultSet.getBigDecimal(2)).thenReturn(BigDecimal.valueOf(100), BigDecimal.valueOf(50));
+        when(resultSet.getInt(3)).thenReturn(2, 1);
+        when(resultSet.getInt(4)).thenReturn(1, 2);
+        when(resultSet.getString(5)).thenReturn("Concert", "Theatre");
+        when(resultSet.getObject(6, LocalDate.class)).thenReturn(LocalDate.parse("2030-06-01"), LocalDate.parse("2030-07-01"));
+        when(resultSet.getObject(7, LocalTime.class)).thenReturn(LocalTime.parse("20:00"), (LocalTime) null);
+        when(resultSet.getString(8)).thenReturn("Arena", "Opera");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        ticketServiceImpl.exportUserTickets(1, outputStream, new TxtExportStrategy());
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            for (int unit = 1; unit <= 2; unit++) {
+                ZipEntry first = zip.getNextEntry();
+                assertEquals("ticket-7-" + unit + ".txt", first.getName());
+                assertTrue(new String(zip.readAllBytes(), StandardCharsets.UTF_8).startsWith("Event: Concert\nDate: 2030-06-01\nTime: 20:00\nLocation: Arena"));
+            }
+            ZipEntry second = zip.getNextEntry();
+            assertEquals("ticket-8-1.txt", second.getName());
+            assertTrue(new String(zip.readAllBytes(), StandardCharsets.UTF_8).contains("Time: N/A\nLocation: Opera\nPurchase Price: 50.00"));
+            assertNull(zip.getNextEntry());
+        }
+        verify(ticketRepository, never()).findByUser(any(User.class));
+    }
+
+    private static Ticket toTicket(TicketDTO ticketDTO) {
+        Ticket ticket = new Ticket();
+        ticket.setPurchasePrice(ticketDTO.getPurchasePrice());
+        return ticket;
+    }
 }
@@ -1,5 +1,6 @@
 package org.example.event_organizer_api.service;
 
+import org.example.event_organizer_api.dto.event.EventSummaryDTO;
 import org.example.event_organizer_api.dto.user.*;
 import org.example.event_organizer_api.entity.Event;
 import org.example.event_organizer_api.entity.User;
@@ -15,7 +16,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,6 +35,12 @@ class UserServiceImplTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private EventStatsService eventStatsService;
+
+    @Mock
+    private EntityCacheService entityCacheService;
+
     @InjectMocks
     private UserServiceImpl userServiceImpl;
 
@@ -195,17 +201,19 @@ class UserServiceImplTest {
 
     @Test
     void deleteUser() {
-        when(userRepository.existsById(anyInt())).thenReturn(true);
+        user.getWishlistEvents().add(event);
+        when(userRepository.findWithWishlistEventsById(anyInt())).thenReturn(Optional.of(user));
         doNothing().when(userRepository).deleteById(anyInt());
 
         userServiceImpl.deleteUser(1);
 
         verify(userRepository, times(1)).deleteById(anyInt());
+        verify(eventStatsService, times(1)).recordWishlist(event.getId(), -1);
     }
 
     @Test
     void addEventToWishlist() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.findWithWishlistEventsById(anyInt())).thenReturn(Optional.of(user));
         when(eventRepository.findById(anyInt())).thenReturn(Optional.of(event));
         when(userRepository.save(any(User.class))).thenReturn(user);
 
@@ -214,12 +222,13 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertTrue(result.getWishlistEvents().contains(event));
         verify(userRepository, times(1)).save(any(User.class));
+        verify(eventStatsService, times(1)).recordWishlist(event.getId(), 1);
     }
 
     @Test
     void removeEventFromWishlist() {
         user.getWishlistEvents().add(event);
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.findWithWishlistEventsById(anyInt())).thenReturn(Optional.of(user));
         when(eventRepository.findById(anyInt())).thenReturn(Optional.of(event));
         when(userRepository.save(any(User.class))).thenReturn(user);
 
@@ -228,17 +237,18 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertFalse(result.getWishlistEvents().contains(event));
         verify(userRepository, times(1)).save(any(User.class));
+        verify(eventStatsService, times(1)).recordWishlist(event.getId(), -1);
     }
 
     @Test
     void getUserWishlistEvents() {
-        user.getWishlistEvents().add(event);
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(eventRepository.findWishlistSummaries(1)).thenReturn(List.of(EventSummaryDTO.from(event)));
 
-        Set<Event> result = userServiceImpl.getUserWishlistEvents(1);
+        List<EventSummaryDTO> result = userServiceImpl.getUserWishlistEvents(1);
 
         assertNotNull(result);
-        assertFalse(result.isEmpty());
-        assertTrue(result.contains(event));
+        assertEquals(1, result.size());
+        assertEquals(event.getId(), result.get(0).getId());
     }
 }
@@ -0,0 +1,167 @@
+package org.example.event_organizer_api.service;
+
+import org.example.event_organizer_api.dto.location.TimeSlotDTO;
+import org.example.event_organizer_api.entity.Event;
+import org.example.event_organizer_api.entity.Location;
+import org.example.event_organizer_api.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class VenueScheduleServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 5, 10);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private VenueScheduleService venueScheduleService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(eventRepository.existsByIdAndLocationId(anyInt(), anyInt())).thenReturn(true);
+        venueScheduleService = new VenueScheduleService(jdbcTemplate, eventRepository);
+        venueScheduleService.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void overlappingBookingIsRejected() {
+        venueScheduleService.book(event(1, 1, LocalTime.of(18, 0), 120));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> venueScheduleService.book(event(2, 1, LocalTime.of(19, 30), 60)));
+        venueScheduleService.book(event(3, 2, LocalTime.of(19, 30), 60));
+    }
+
+    @Test
+    void backToBackBookingsAreAllowed() {
+        venueScheduleService.book(event(1, 1, LocalTime.of(18, 0), 120));
+
+        venueScheduleService.book(event(2, 1, LocalTime.of(20, 0), 60));
+        venueScheduleService.book(event(3, 1, LocalTime.of(16, 0), 120));
+    }
+
+    @Test
+    void movedEventFreesItsOldWindow() {
+        venueScheduleService.book(event(1, 1, LocalTime.of(18, 0), 120));
+        venueScheduleService.book(event(1, 1, LocalTime.of(12, 0), 120));
+
+        venueScheduleService.book(event(2, 1, LocalTime.of(18, 0), 120));
+        assertThrows(IllegalArgumentException.class,
+                () -> venueScheduleService.book(event(3, 1, LocalTime.of(13, 0), 30)));
+    }
+
+    @Test
+    void eventWithoutTimeTakesTheWholeDay() {
+        venueScheduleService.book(event(1, 1, null, 120));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> venueScheduleService.book(event(2, 1, LocalTime.of(23, 0), 30)));
+        Event nextDay = event(3, 1, LocalTime.MIDNIGHT, 60);
+        nextDay.setEventDate(DAY.plusDays(1));
+        venueScheduleService.book(nextDay);
+    }
+
+    @Test
+    void bookingOfDeletedEventIsDropped() {
+        venueScheduleService.book(event(1, 1, LocalTime.of(18, 0), 120));
+        when(eventRepository.existsByIdAndLocationId(1, 1)).thenReturn(false);
+
+        venueScheduleService.book(event(2, 1, LocalTime.of(18, 0), 120));
+
+        verify(eventRepository, times(1)).existsByIdAndLocationId(1, 1);
+    }
+
+    @Test
+    void rolledBackBookingIsReleased() {
+        TransactionSynchronizationManager.initSynchronization();
+        venueScheduleService.book(event(1, 1, LocalTime.of(18, 0), 120));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> venueScheduleService.book(event(2, 1, LocalTime.of(18, 0), 120)));
+        verify(eventRepository, never()).existsByIdAndLocationId(anyInt(), anyInt());
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        venueScheduleService.book(event(2, 1, LocalTime.of(18, 0), 120));
+    }
+
+    @Test
+    void cancelledBookingIsReleasedAfterCommit() {
+        venueScheduleService.book(event(1, 1, LocalTime.of(18, 0), 120));
+        TransactionSynchronizationManager.initSynchronization();
+
+        venueScheduleService.cancel(1);
+        assertEquals(2, venueScheduleService.getFreeSlots(1, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), 60).size());
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        List<TimeSlotDTO> slots = venueScheduleService.getFreeSlots(1, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), 60);
+        assertEquals(1, slots.size());
+        assertSlot(slots.get(0), DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay());
+    }
+
+    @Test
+    void freeSlotsSkipBookingsAndShortGaps() {
+        venueScheduleService.book(event(1, 1, LocalTime.of(10, 0), 120));
+        venueScheduleService.book(event(2, 1, LocalTime.of(12, 30), 90));
+        venueScheduleService.book(event(3, 1, LocalTime.of(16, 0), 60));
+
+        List<TimeSlotDTO> slots = venueScheduleService.getFreeSlots(1, DAY.atTime(9, 0), DAY.atTime(20, 0), 60);
+
+        assertEquals(3, slots.size());
+        assertSlot(slots.get(0), DAY.atTime(9, 0), DAY.atTime(10, 0));
+        assertSlot(slots.get(1), DAY.atTime(14, 0), DAY.atTime(16, 0));
+        assertSlot(slots.get(2), DAY.atTime(17, 0), DAY.atTime(20, 0));
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static void assertSlot(TimeSlotDTO slot, LocalDateTime start, LocalDateTime end) {
+        assertEquals(start, slot.getStart());
+        assertEquals(end, slot.getEnd());
+    }
+
+    private static Event event(int id, int locationId, LocalTime time, int durationMinutes) {
+        Event event = new Event();
+        event.setId(id);
+        event.setLocation(location(locationId));
+        event.setEventDate(DAY);
+        event.setEventTime(time);
+        event.setDurationMinutes(durationMinutes);
+        return event;
+    }
+
+    private static Location location(int id) {
+        Location location = new Location();
+        location.setId(id);
+        return location;
+    }
+}
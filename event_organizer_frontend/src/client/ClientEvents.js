@@ -22,9 +22,13 @@ import { useNavigate } from 'react-router-dom';
 import axios from 'axios';
 import UpdateCredentials from '../shared/dialog/UpdateCredentials';
 import BuyTickets from './dialog/BuyTickets';
+import { subscribeToEventUpdates } from '../shared/eventUpdates';
+
+const CATALOG_PAGE_SIZE = 50;
 
 const ClientEvents = () => {
     const [events, setEvents] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
     const [sortField, setSortField] = useState('id');
@@ -42,12 +46,15 @@ const ClientEvents = () => {
     const user = JSON.parse(localStorage.getItem('user'));
     const userId = user.id;
 
-    const fetchEvents = useCallback(async () => {
+    const fetchEvents = useCallback(async (cursor) => {
         try {
-            const response = await axios.get('http://localhost:8081/api/event/all', {
-                headers: { Authorization: `Bearer ${token}` }
+            const response = await axios.get('http://localhost:8081/api/event/catalog', {
+                headers: { Authorization: `Bearer ${token}` },
+                params: { cursor, size: CATALOG_PAGE_SIZE }
             });
-            setEvents(Array.isArray(response.data) ? response.data : []);
+            const page = Array.isArray(response.data.events) ? response.data.events : [];
+            setEvents(previous => (cursor ? [...previous, ...page] : page));
+            setNextCursor(response.data.nextCursor);
         } catch (err) {
             setError(`Failed to fetch events: ${err.response?.data || err.message}`);
         } finally {
@@ -55,6 +62,14 @@ const ClientEvents = () => {
         }
     }, [token]);
 
+    const applyEventUpdate = useCallback((update) => {
+        setEvents(previous => previous.map(event => (event.id === update.id ? { ...event, ...update } : event)));
+    }, []);
+
+    const removeEvent = useCallback((eventId) => {
+        setEvents(previous => previous.filter(event => event.id !== eventId));
+    }, []);
+
     const fetchUserWishlist = useCallback(async () => {
         try {
             const response = await axios.get(`http://localhost:8081/api/user/${userId}/wishlist`, {
@@ -67,10 +82,28 @@ const ClientEvents = () => {
     }, [token, userId]);
 
     useEffect(() => {
-        fetchEvents();
+        fetchEvents(null);
         fetchUserWishlist();
     }, [fetchEvents, fetchUserWishlist]);
 
+    const sortedEvents = events.sort((a, b) => {
+        const aField = a[sortField] || '';
+        const bField = b[sortField] || '';
+
+        return sortDirection === 'asc' ? (aField > bField ? 1 : -1) : (aField < bField ? 1 : -1);
+    });
+    const visibleEvents = sortedEvents.slice(page * rowsPerPage, page * rowsPerPage + rowsPerPage);
+    const visibleEventIds = visibleEvents.map(event => event.id).join(',');
+
+    // Availability and prices of the rows on screen are pushed by the server instead of polled.
+    useEffect(() => {
+        if (!visibleEventIds) {
+            return undefined;
+        }
+        const ids = visibleEventIds.split(',').map(Number);
+        return subscribeToEventUpdates(ids, token, applyEventUpdate, removeEvent);
+    }, [visibleEventIds, token, applyEventUpdate, removeEvent]);
+
     const handleLogout = () => {
         localStorage.removeItem('user');
         localStorage.removeItem('token');
@@ -89,6 +122,9 @@ const ClientEvents = () => {
 
     const handleChangePage = (event, newPage) => {
         setPage(newPage);
+        if ((newPage + 1) * rowsPerPage > events.length && nextCursor) {
+            fetchEvents(nextCursor);
+        }
     };
 
     const handleChangeRowsPerPage = (event) => {
@@ -111,9 +147,6 @@ const ClientEvents = () => {
 
     const handleCloseBuyTickets = (submitSuccessful) => {
         setIsBuyTicketsOpen(false);
-        if (submitSuccessful) {
-            fetchEvents();
-        }
     };
 
     const handleWishlistToggle = async (eventId) => {
@@ -139,13 +172,6 @@ const ClientEvents = () => {
         setSelectedEvent(null);
     };
 
-    const sortedEvents = events.sort((a, b) => {
-        const aField = a[sortField] || '';
-        const bField = b[sortField] || '';
-
-        return sortDirection === 'asc' ? (aField > bField ? 1 : -1) : (aField < bField ? 1 : -1);
-    });
-
     return (
         <Container component="main">
             <Box
@@ -284,7 +310,7 @@ const ClientEvents = () => {
                                 </TableRow>
                             </TableHead>
                             <TableBody>
-                                {sortedEvents.slice(page * rowsPerPage, page * rowsPerPage + rowsPerPage).map(event => (
+                                {visibleEvents.map(event => (
                                     <TableRow
                                         key={event.id}
                                         onClick={() => handleRowClick(event)}
@@ -322,7 +348,7 @@ const ClientEvents = () => {
                         <TablePagination
                             rowsPerPageOptions={[10, 25, 50]}
                             component="div"
-                            count={events.length}
+                            count={nextCursor ? -1 : events.length}
                             rowsPerPage={rowsPerPage}
                             page={page}
                             onPageChange={handleChangePage}
@@ -73,7 +73,7 @@ const ClientTickets = () => {
     };
 
     const handleRowClick = (ticket) => {
-        setSelectedTicket(selectedTicket?.id === ticket.id ? null : ticket);
+        setSelectedTicket(selectedTicket?.unitId === ticket.unitId ? null : ticket);
     };
 
     const handleChangePage = (event, newPage) => {
@@ -285,12 +285,12 @@ const ClientTickets = () => {
                             <TableBody>
                                 {sortedTickets.slice(page * rowsPerPage, page * rowsPerPage + rowsPerPage).map(ticket => (
                                     <TableRow
-                                        key={ticket.id}
+                                        key={ticket.unitId}
                                         onClick={() => handleRowClick(ticket)}
-                                        selected={selectedTicket?.id === ticket.id}
+                                        selected={selectedTicket?.unitId === ticket.unitId}
                                         hover
                                     >
-                                        <TableCell>{ticket.id}</TableCell>
+                                        <TableCell>{ticket.unitId}</TableCell>
                                         <TableCell>{ticket.event.name}</TableCell>
                                         <TableCell>{ticket.event.eventDate}</TableCell>
                                         <TableCell>{ticket.event.eventTime}</TableCell>
@@ -9,6 +9,7 @@ import {
     Alert
 } from '@mui/material';
 import axios from 'axios';
+import { subscribeToEventUpdates } from '../../shared/eventUpdates';
 
 const BuyTickets = ({ open, handleClose, eventId }) => {
     const [eventData, setEventData] = useState({ price: 0 });
@@ -36,6 +37,14 @@ const BuyTickets = ({ open, handleClose, eventId }) => {
         }
     }, [open, eventId, token]);
 
+    // A sale started while the dialog is open changes the price shown before the purchase.
+    useEffect(() => {
+        if (!open || !eventId) {
+            return undefined;
+        }
+        return subscribeToEventUpdates([eventId], token, update => setEventData({ price: update.price }));
+    }, [open, eventId, token]);
+
     const handleInputChange = (e) => {
         setQuantity(e.target.value);
     };
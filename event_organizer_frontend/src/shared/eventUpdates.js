@@ -0,0 +1,74 @@
+const UPDATES_URL = 'http://localhost:8081/api/event/updates';
+const RECONNECT_DELAY_MS = 3000;
+
+// Streams the availability and price of the given events. EventSource cannot send the
+// Authorization header, so the stream is read with fetch. Returns a function that closes it.
+export const subscribeToEventUpdates = (eventIds, token, onUpdate, onRemoved) => {
+    const controller = new AbortController();
+    let reconnectTimer = null;
+
+    const dispatch = (frame) => {
+        let name = 'message';
+        let data = '';
+        frame.split('\n').forEach(line => {
+            if (line.startsWith('event:')) {
+                name = line.slice(6).trim();
+            } else if (line.startsWith('data:')) {
+                data += line.slice(5);
+            }
+        });
+        if (!data) {
+            return;
+        }
+        const payload = JSON.parse(data);
+        if (name === 'update') {
+            onUpdate(payload);
+        } else if (name === 'removed' && onRemoved) {
+            onRemoved(payload.id);
+        }
+    };
+
+    const connect = async () => {
+        try {
+            const response = await fetch(`${UPDATES_URL}?ids=${eventIds.join(',')}`, {
+                headers: { Authorization: `Bearer ${token}`, Accept: 'text/event-stream' },
+                signal: controller.signal
+            });
+            if (!response.ok) {
+                return;
+            }
+            const reader = response.body.getReader();
+            const decoder = new TextDecoder();
+            let buffer = '';
+            for (;;) {
+                const { done, value } = await reader.read();
+                if (done) {
+                    break;
+                }
+                buffer += decoder.decode(value, { stream: true });
+                let end;
+                while ((end = buffer.indexOf('\n\n')) >= 0) {
+                    dispatch(buffer.slice(0, end));
+                    buffer = buffer.slice(end + 2);
+                }
+            }
+        } catch (err) {
+            if (controller.signal.aborted) {
+                return;
+            }
+        }
+        // The server closes idle streams after a while; pick up where we left off.
+        if (!controller.signal.aborted) {
+            reconnectTimer = setTimeout(connect, RECONNECT_DELAY_MS);
+        }
+    };
+
+    if (eventIds.length > 0) {
+        connect();
+    }
+
+    return () => {
+        controller.abort();
+        clearTimeout(reconnectTimer);
+    };
+};